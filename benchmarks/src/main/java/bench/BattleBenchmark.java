@@ -0,0 +1,103 @@
+package bench;
+
+import battle.BattleMetrics;
+import battle.BattleModel;
+import battle.Players;
+import battle.RandomNumberGenerator;
+import battle.SplittableRandomNumberGenerator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a complete battle: setting up the arena, calling and 
+ * preparing the players, and playing turns until the battle is over.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BattleBenchmark {
+
+  private RandomNumberGenerator random;
+  private BattleMetrics metrics;
+
+  /**
+   * Set up a seeded random number generator and the metrics.
+   */
+  @Setup
+  public void setup() {
+    this.random = new SplittableRandomNumberGenerator(42L);
+    this.metrics = new BattleMetrics();
+  }
+
+  /**
+   * Play a full battle without rendering any turn details.
+   * 
+   * @return winner(s) of the battle
+   */
+  @Benchmark
+  public List<Players> fullMatch() {
+    BattleModel battle = new BattleModel(this.random);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+    }
+    return battle.getWinner();
+  }
+
+  /**
+   * Play a full battle recording its metrics, to compare with
+   * {@link #fullMatch()}.
+   * 
+   * @return winner(s) of the battle
+   */
+  @Benchmark
+  public List<Players> fullMatchWithMetrics() {
+    BattleModel battle = new BattleModel(this.random);
+    battle.setMetrics(this.metrics);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+    }
+    return battle.getWinner();
+  }
+
+  /**
+   * Play a full battle and render the turn details after every turn, as 
+   * the console driver does.
+   * 
+   * @return length of the rendered details
+   */
+  @Benchmark
+  public int fullMatchWithTurnDetails() {
+    BattleModel battle = new BattleModel(this.random);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    int length = battle.getTurnDetails().length();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+      length += battle.getTurnDetails().length();
+    }
+    return length;
+  }
+}
@@ -0,0 +1,36 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Runs the benchmarks selected on the 
+ * command line (all of them by default) with the GC profiler attached, 
+ * so every result reports the allocation rate next to the throughput.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BenchmarkMain {
+
+  /**
+   * Run the benchmarks.
+   * 
+   * @param args standard JMH command line options
+   * @throws RunnerException if a benchmark fails
+   * @throws CommandLineOptionException if the options cannot be parsed
+   */
+  public static void main(String[] args) throws RunnerException, 
+      CommandLineOptionException {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+}
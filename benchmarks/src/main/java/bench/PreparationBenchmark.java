@@ -0,0 +1,209 @@
+package bench;
+
+import battle.Armory;
+import battle.BattlePlayer;
+import battle.EquipmentBag;
+import battle.Gears;
+import battle.LoadoutObjective;
+import battle.LoadoutOptimizer;
+import battle.Players;
+import battle.RandomNumberGenerator;
+import battle.SplittableRandomNumberGenerator;
+import battle.Weapons;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of preparing the players for a battle: building the 
+ * equipment bag, dealing gears from it, equipping a player and handing 
+ * out weapons from the armory.
+ * 
+ * <p>Dealing, equipping and handing out weapons consume the bag, the 
+ * player or the armory, so those are rebuilt before every invocation. 
+ * The rebuild is not part of the measured time, but it does show up in 
+ * the allocation rate reported by the GC profiler.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreparationBenchmark {
+
+  /**
+   * Random number generator shared by a benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Generator {
+    RandomNumberGenerator random;
+
+    /**
+     * Set up a seeded random number generator.
+     */
+    @Setup
+    public void setup() {
+      this.random = new SplittableRandomNumberGenerator(42L);
+    }
+  }
+
+  /**
+   * A full equipment bag and a fresh player for every invocation.
+   */
+  @State(Scope.Thread)
+  public static class FreshBag {
+    EquipmentBag bag;
+    Players player;
+
+    /**
+     * Build the bag and the player.
+     * 
+     * @param generator random number generator
+     */
+    @Setup(Level.Invocation)
+    public void setup(Generator generator) {
+      this.bag = new EquipmentBag(generator.random);
+      this.player = new BattlePlayer(1, generator.random);
+    }
+  }
+
+  /**
+   * A full equipment bag and a fresh smart player for every invocation.
+   */
+  @State(Scope.Thread)
+  public static class FreshSmartBag {
+    EquipmentBag bag;
+    BattlePlayer player;
+
+    /**
+     * Build the bag and the player, choosing gears for the win rate.
+     * 
+     * @param generator random number generator
+     */
+    @Setup(Level.Invocation)
+    public void setup(Generator generator) {
+      this.bag = new EquipmentBag(generator.random);
+      this.player = new BattlePlayer(1, generator.random);
+      this.player.setLoadoutObjective(LoadoutObjective.WIN_RATE);
+    }
+  }
+
+  /**
+   * Gears dealt once, and an optimizer choosing from them.
+   */
+  @State(Scope.Thread)
+  public static class Dealt {
+    List<Gears> gears;
+    LoadoutOptimizer optimizer;
+
+    /**
+     * Deal the gears and build the optimizer.
+     * 
+     * @param generator random number generator
+     */
+    @Setup
+    public void setup(Generator generator) {
+      this.gears = new EquipmentBag(generator.random).getGears();
+      this.optimizer = new LoadoutOptimizer(LoadoutObjective.WIN_RATE);
+    }
+  }
+
+  /**
+   * A full armory for every invocation.
+   */
+  @State(Scope.Thread)
+  public static class FreshArmory {
+    Armory armory;
+
+    /**
+     * Build the armory.
+     * 
+     * @param generator random number generator
+     */
+    @Setup(Level.Invocation)
+    public void setup(Generator generator) {
+      this.armory = new Armory(generator.random);
+    }
+  }
+
+  /**
+   * Build an equipment bag.
+   * 
+   * @param generator random number generator
+   * @return the bag
+   */
+  @Benchmark
+  public EquipmentBag buildEquipmentBag(Generator generator) {
+    return new EquipmentBag(generator.random);
+  }
+
+  /**
+   * Deal 20 gears from a full bag.
+   * 
+   * @param state full bag
+   * @return dealt gears
+   */
+  @Benchmark
+  public List<Gears> dealGears(FreshBag state) {
+    return state.bag.getGears();
+  }
+
+  /**
+   * Equip a fresh player from a full bag.
+   * 
+   * @param state full bag and fresh player
+   * @return the equipped player
+   */
+  @Benchmark
+  public Players equipGears(FreshBag state) {
+    state.player.equipGears(state.bag);
+    return state.player;
+  }
+
+  /**
+   * Equip a fresh smart player from a full bag.
+   * 
+   * @param state full bag and fresh smart player
+   * @return the equipped player
+   */
+  @Benchmark
+  public Players equipGearsSmart(FreshSmartBag state) {
+    state.player.equipGears(state.bag);
+    return state.player;
+  }
+
+  /**
+   * Choose the best gears out of 20 dealt gears.
+   * 
+   * @param state dealt gears and optimizer
+   * @return chosen gears
+   */
+  @Benchmark
+  public List<Gears> selectLoadout(Dealt state) {
+    return state.optimizer.selectGears(state.gears);
+  }
+
+  /**
+   * Hand out a weapon from a full armory.
+   * 
+   * @param state full armory
+   * @return handed out weapon(s)
+   */
+  @Benchmark
+  public List<Weapons> getWeapon(FreshArmory state) {
+    return state.armory.getWeapon();
+  }
+}
@@ -0,0 +1,81 @@
+package bench;
+
+import battle.RandomNumberGenerator;
+import battle.RandomNumberGeneratorDev;
+import battle.SplittableRandomNumberGenerator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the random number generators, for the single draws made 
+ * on every strike and for the samples drawn when dealing gears.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomNumberGeneratorBenchmark {
+
+  @Param({"dev", "splittable"})
+  private String generator;
+
+  private RandomNumberGenerator random;
+
+  /**
+   * Set up the generator under test.
+   */
+  @Setup
+  public void setup() {
+    if ("dev".equals(this.generator)) {
+      this.random = new RandomNumberGeneratorDev(42L);
+    } else {
+      this.random = new SplittableRandomNumberGenerator(42L);
+    }
+  }
+
+  /**
+   * Draw a single number, as for the striking power.
+   * 
+   * @return random number
+   */
+  @Benchmark
+  public int getRandomNumber() {
+    return this.random.getRandomNumber(1, 10);
+  }
+
+  /**
+   * Draw 20 unique indices into a bag of 60 gears as an array.
+   * 
+   * @return random numbers
+   */
+  @Benchmark
+  public int[] getUniqueRandomNumbers() {
+    return this.random.getUniqueRandomNumbers(20, 0, 60);
+  }
+
+  /**
+   * Draw 20 unique indices into a bag of 60 gears as a list.
+   * 
+   * @return random numbers
+   */
+  @Benchmark
+  public List<Integer> getUniqueRandomNumbersList() {
+    return this.random.getUniqueRandomNumbersList(20, 0, 60);
+  }
+}
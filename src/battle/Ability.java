@@ -0,0 +1,30 @@
+package battle;
+
+/**
+ * The abilities of a player: strength, constitution, dexterity and 
+ * charisma. The gears affect the player through these abilities.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public enum Ability {
+  STRENGTH("Strength"), 
+  CONSTITUTION("Constitution"), 
+  DEXTERITY("Dexterity"), 
+  CHARISMA("Charisma");
+  
+  private final String abilityName;
+  
+  Ability(String name) {
+    this.abilityName = name;
+  }
+  
+  /**
+   * Get the display name of the ability.
+   * 
+   * @return ability name
+   */
+  public String getAbilityName() {
+    return this.abilityName;
+  }
+}
@@ -28,6 +28,9 @@ public abstract class AbstractGears implements Gears {
   @Override
   public abstract String getGearId();
 
+  @Override
+  public abstract GearKind getGearKind();
+
   @Override
   public void setIsPlayerAbilitiesUpdated(Boolean update) 
       throws IllegalArgumentException {
@@ -69,5 +72,17 @@ public abstract class AbstractGears implements Gears {
   }
 
   @Override
-  public abstract Map<String, Integer> checkEffectOfGear();
+  public Map<String, Integer> checkEffectOfGear() {
+    return this.getEffect().toMap();
+  }
+
+  @Override
+  public abstract GearEffect getEffect();
+
+  @Override
+  public void reset() {
+    this.isUsedByPlayer = false;
+    this.isAddedToEquipmentBag = false;
+    this.isPlayerAbilitiesUpdated = false;
+  }
 }
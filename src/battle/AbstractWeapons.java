@@ -42,13 +42,34 @@ public abstract class AbstractWeapons implements Weapons {
   public abstract String getWeaponId();
 
   @Override
-  public int getStrikePower(Players player) {
-    if (this.weaponSize == WeaponWeightCategory.LIGHT) {
-      return rand.getRandomNumber(0, 2) + 4;
-    } else if (this.weaponSize == WeaponWeightCategory.MEDIUM) {
-      return rand.getRandomNumber(0, 4) + 6;
-    }
-    return 0;
+  public abstract WeaponKind getWeaponKind();
+
+  /**
+   * Roll the damage of the weapon from the damage range of its kind, 
+   * which for the heavy weapons depends on whether the player can wield 
+   * them fully. The range is kept in {@link WeaponKind} alone, so the 
+   * damage tables of the players always agree with the weapons.
+   * 
+   * @param player player using the weapon
+   * @return damage of the strike
+   */
+  @Override
+  public final int getStrikePower(Players player) {
+    WeaponKind kind = this.getWeaponKind();
+    boolean wieldedFully = kind.canWieldFully(player.getStrength(), 
+        player.getDexterity());
+    return rand.getRandomNumber(0, kind.getDamageSpan(wieldedFully)) 
+        + kind.getMinimumDamage(wieldedFully);
+  }
+
+  /**
+   * Get the random number generator the damage of the weapon is rolled 
+   * with.
+   * 
+   * @return Random Number Generator
+   */
+  RandomNumberGenerator getRandom() {
+    return this.rand;
   }
 
   @Override
@@ -81,4 +102,10 @@ public abstract class AbstractWeapons implements Weapons {
     }
     this.isAddedToArmory = update;
   }
+
+  @Override
+  public void reset() {
+    this.isUsedByPlayer = false;
+    this.isAddedToArmory = false;
+  }
 }
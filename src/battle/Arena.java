@@ -91,7 +91,8 @@ public interface Arena {
   
   /**
    * Get the final result of the battle, along with the details of the players 
-   * winning and loosing, and their health. 
+   * winning and loosing, and their health. Before the battle starts, a 
+   * note asking to start it is returned instead.
    * 
    * @return battle result string
    */
@@ -113,4 +114,20 @@ public interface Arena {
    * @return list of players
    */
   public List<Players> getPlayers();
+  
+  /**
+   * Register a listener to be notified of every turn played on the arena. 
+   * Listeners stay registered across rematches.
+   * 
+   * @param listener turn listener
+   * @throws IllegalArgumentException if the listener is null
+   */
+  public void addTurnListener(TurnListener listener) throws IllegalArgumentException;
+  
+  /**
+   * Stop notifying a registered listener.
+   * 
+   * @param listener turn listener
+   */
+  public void removeTurnListener(TurnListener listener);
 }
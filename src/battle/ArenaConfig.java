@@ -0,0 +1,118 @@
+package battle;
+
+/**
+ * Class representing the setup of a large arena, where any number of
+ * players battle either every player for themselves or in teams. The
+ * players are assigned to the teams in turn, so the teams differ in size
+ * by at most one player. The equipment bag and the armory of the arena
+ * are sized from the number of players.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class ArenaConfig {
+
+  private final int numberOfPlayers;
+  private final int numberOfTeams;
+
+  /**
+   * Construct the setup of a free-for-all arena, where every player
+   * fights for themselves.
+   *
+   * @param numberOfPlayers number of players in the arena
+   * @throws IllegalArgumentException if there are less than 2 players
+   */
+  public ArenaConfig(int numberOfPlayers) throws IllegalArgumentException {
+    this(numberOfPlayers, numberOfPlayers);
+  }
+
+  /**
+   * Construct the setup of a team arena.
+   *
+   * @param numberOfPlayers number of players in the arena
+   * @param numberOfTeams number of teams the players are split into
+   * @throws IllegalArgumentException if there are less than 2 players,
+   *                                  less than 2 teams or more teams
+   *                                  than players
+   */
+  public ArenaConfig(int numberOfPlayers, int numberOfTeams) throws
+      IllegalArgumentException {
+    if (numberOfPlayers < 2) {
+      throw new IllegalArgumentException("The arena needs at least 2 players.");
+    }
+    if (numberOfTeams < 2 || numberOfTeams > numberOfPlayers) {
+      throw new IllegalArgumentException("The arena needs at least 2 teams "
+          + "and at most one team per player.");
+    }
+    this.numberOfPlayers = numberOfPlayers;
+    this.numberOfTeams = numberOfTeams;
+  }
+
+  /**
+   * Get the number of players in the arena.
+   *
+   * @return number of players
+   */
+  public int getNumberOfPlayers() {
+    return this.numberOfPlayers;
+  }
+
+  /**
+   * Get the number of teams in the arena.
+   *
+   * @return number of teams
+   */
+  public int getNumberOfTeams() {
+    return this.numberOfTeams;
+  }
+
+  /**
+   * Check if every player fights for themselves.
+   *
+   * @return true if every team has a single player
+   */
+  public boolean isFreeForAll() {
+    return this.numberOfTeams == this.numberOfPlayers;
+  }
+
+  /**
+   * Get the team of a player.
+   *
+   * @param playerIndex index of the player in the order they were called
+   * @return team index
+   * @throws IllegalArgumentException if there is no player at the index
+   */
+  public int getTeam(int playerIndex) throws IllegalArgumentException {
+    if (playerIndex < 0 || playerIndex >= this.numberOfPlayers) {
+      throw new IllegalArgumentException("There is no player at index "
+          + playerIndex + ".");
+    }
+    return playerIndex % this.numberOfTeams;
+  }
+
+  /**
+   * Get the scale of the equipment bag. A regular bag holds at least 40
+   * gears and every player takes 20, so each regular bag serves 2 players.
+   *
+   * @return multiple of a regular equipment bag
+   */
+  public int getEquipmentBagScale() {
+    return (this.numberOfPlayers + 1) / 2;
+  }
+
+  /**
+   * Get the scale of the armory. A regular armory holds at least 5
+   * weapons, a player takes at most 2 and the armory hands out weapons
+   * only while it holds 2 or more, so each regular armory serves 1 player.
+   *
+   * @return multiple of a regular armory
+   */
+  public int getArmoryScale() {
+    return this.numberOfPlayers;
+  }
+
+  @Override
+  public String toString() {
+    return "Players: " + this.numberOfPlayers + "; Teams: " + this.numberOfTeams;
+  }
+}
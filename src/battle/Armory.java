@@ -15,7 +15,12 @@ import java.util.List;
  */
 public class Armory {
   
+  private static final int MAX_WEAPONS_OF_KIND = 3;
+  
   private RandomNumberGenerator random;
+  private int scale;
+  private Weapons[][] weaponPool;
+  private int[] weaponCounts;
   private List<Weapons> weaponsInArmory;
   private List<Weapons> katanasInArmory;
   
@@ -25,45 +30,127 @@ public class Armory {
    * @param rand Random Numbers Generator
    */
   public Armory(RandomNumberGenerator rand) {
+    this(rand, 1);
+  }
+  
+  /**
+   * Construct an Armory for a larger arena. The number of weapons of each 
+   * type drawn for a regular armory is multiplied by the scale.
+   * 
+   * @param rand Random Numbers Generator
+   * @param scale multiple of a regular armory
+   * @throws IllegalArgumentException if the random number generator is 
+   *                                  null or the scale is less than 1
+   */
+  public Armory(RandomNumberGenerator rand, int scale) throws 
+      IllegalArgumentException {
     if (rand == null) {
       throw new IllegalArgumentException("The random number generator cannot "
           + "be null.");
     }
-    this.weaponsInArmory = new ArrayList<>();
-    this.katanasInArmory = new ArrayList<>();
-    
-    this.random = rand;
-    int i;
-    
-    int numberOfAxes = this.random.getRandomNumber(0, 3) + 1;
-    for (i = 0; i < numberOfAxes; i++) {
-      Weapons axe = new Axes(i + 1, this.random);
-      this.weaponsInArmory.add(axe);
-    }
-    
-    int numberOfFlails = this.random.getRandomNumber(0, 3) + 1;
-    for (i = 0; i < numberOfFlails; i++) {
-      Weapons flail = new Flails(i + 1, this.random);
-      this.weaponsInArmory.add(flail);
-    }
-    
-    int numberOfBroadSwords = this.random.getRandomNumber(0, 3) + 1;
-    for (i = 0; i < numberOfBroadSwords; i++) {
-      Weapons bs = new BroadSwords(i + 1, this.random);
-      this.weaponsInArmory.add(bs);
+    if (scale < 1) {
+      throw new IllegalArgumentException("The scale of the armory must be "
+          + "at least 1.");
     }
+    this.random = rand;
+    this.scale = scale;
+    this.weaponsInArmory = new ArrayList<>(MAX_WEAPONS_OF_KIND * scale 
+        * WeaponKind.values().length);
+    this.katanasInArmory = new ArrayList<>(MAX_WEAPONS_OF_KIND * scale);
+    this.weaponPool = new Weapons[WeaponKind.values().length]
+        [MAX_WEAPONS_OF_KIND * scale];
+    this.weaponCounts = new int[WeaponKind.values().length];
+    this.fill();
+  }
+  
+  /**
+   * Take back the weapons handed out and refill the armory as a new 
+   * armory. The armory draws its weapons exactly like a newly constructed 
+   * armory of the same scale, but the weapons of the previous armory are 
+   * reset and reused rather than constructed again.
+   */
+  public void reset() {
+    this.fill();
+  }
+  
+  /**
+   * Fill the armory with a number of weapons of each type drawn at random.
+   */
+  private void fill() {
+    this.weaponsInArmory.clear();
+    this.katanasInArmory.clear();
     
-    int numberOfKatanas = this.random.getRandomNumber(0, 3) + 1;
-    for (i = 0; i < numberOfKatanas; i++) {
-      Weapons katana = new Katanas(i + 1, this.random);
-      this.weaponsInArmory.add(katana);
-      this.katanasInArmory.add(katana);
+    this.addWeapons(WeaponKind.AXE);
+    this.addWeapons(WeaponKind.FLAIL);
+    this.addWeapons(WeaponKind.BROAD_SWORD);
+    this.addWeapons(WeaponKind.KATANA);
+    this.addWeapons(WeaponKind.TWO_HANDED_SWORD);
+  }
+  
+  /**
+   * Add a random number of weapons of a kind to the armory, at least 1 
+   * for every multiple of a regular armory.
+   * 
+   * @param kind weapon kind
+   */
+  private void addWeapons(WeaponKind kind) {
+    Weapons[] pool = this.weaponPool[kind.ordinal()];
+    int numberOfWeapons = (this.random.getRandomNumber(0, 3) + 1) * this.scale;
+    this.weaponCounts[kind.ordinal()] = numberOfWeapons;
+    for (int i = 0; i < numberOfWeapons; i++) {
+      if (pool[i] == null) {
+        pool[i] = this.createWeapon(kind, i + 1);
+      } else {
+        pool[i].reset();
+      }
+      this.weaponsInArmory.add(pool[i]);
+      if (kind == WeaponKind.KATANA) {
+        this.katanasInArmory.add(pool[i]);
+      }
     }
-    
-    int numberOfTwoHandedSwords = this.random.getRandomNumber(0, 3) + 1;
-    for (i = 0; i < numberOfTwoHandedSwords; i++) {
-      Weapons ths = new TwoHandedSwords(i + 1, this.random);
-      this.weaponsInArmory.add(ths);
+  }
+  
+  /**
+   * Get the number of weapons of a kind the armory was filled with.
+   * 
+   * @param kind weapon kind
+   * @return number of weapons of the kind
+   */
+  int getWeaponCount(WeaponKind kind) {
+    return this.weaponCounts[kind.ordinal()];
+  }
+  
+  /**
+   * Get a weapon of a kind the armory was filled with.
+   * 
+   * @param kind weapon kind
+   * @param index index of the weapon, less than the number of weapons of 
+   *              the kind
+   * @return weapon
+   */
+  Weapons getWeapon(WeaponKind kind, int index) {
+    return this.weaponPool[kind.ordinal()][index];
+  }
+  
+  /**
+   * Create a new weapon of a kind.
+   * 
+   * @param kind weapon kind
+   * @param id weapon identifier
+   * @return new weapon
+   */
+  private Weapons createWeapon(WeaponKind kind, int id) {
+    switch (kind) {
+      case AXE:
+        return new Axes(id, this.random);
+      case FLAIL:
+        return new Flails(id, this.random);
+      case BROAD_SWORD:
+        return new BroadSwords(id, this.random);
+      case KATANA:
+        return new Katanas(id, this.random);
+      default:
+        return new TwoHandedSwords(id, this.random);
     }
   }
   
@@ -74,13 +161,26 @@ public class Armory {
    * @return list of assigned weapon(s)
    */
   public List<Weapons> getWeapon() throws IllegalStateException {
+    List<Weapons> weaponAssignedToPlayer = new ArrayList<>(2);
+    this.handOutWeapon(weaponAssignedToPlayer);
+    return weaponAssignedToPlayer;
+  }
+  
+  /**
+   * Hand out a weapon into a list of the player, so a player can keep 
+   * using the same list from one battle to the next. If the weapon is a 
+   * Katana, a pair of the light-weight katana swords are handed out.
+   * 
+   * @param weaponAssignedToPlayer list the weapon(s) are added to
+   * @throws IllegalStateException if less than 2 weapons are left
+   */
+  void handOutWeapon(List<Weapons> weaponAssignedToPlayer) throws 
+      IllegalStateException {
     if (this.weaponsInArmory.size() < 2) {
       throw new IllegalStateException("Weapons unavailable in armory. "
           + "Please refresh arena.");
     }
     
-    List<Weapons> weaponAssignedToPlayer = new ArrayList<>();
-    
     Weapons playerWeaponOne = this.weaponsInArmory.get(this.random
                                                   .getRandomNumber(0, this.weaponsInArmory.size()));
     
@@ -89,16 +189,14 @@ public class Armory {
       // If number of Katanas in the armory is just 1, then choose 
       // another weapon or choose another Katana
       if (this.katanasInArmory.size() < 2) {
-        weaponAssignedToPlayer = this.removeKatanaAddOther(playerWeaponOne);
+        this.removeKatanaAddOther(playerWeaponOne, weaponAssignedToPlayer);
       } else {
-        weaponAssignedToPlayer = this.getMoreKatanas(playerWeaponOne);
+        this.getMoreKatanas(playerWeaponOne, weaponAssignedToPlayer);
       }
     } else {
       weaponAssignedToPlayer.add(playerWeaponOne);
       this.weaponsInArmory.remove(playerWeaponOne);
     }
-    
-    return weaponAssignedToPlayer;
   }
   
   /**
@@ -108,22 +206,16 @@ public class Armory {
    * @return true if the weapon is a katana sword
    */
   private boolean checkIfWeaponIsKatana(Weapons w) {
-    if ('K' == w.getWeaponId().charAt(0)) {
-      return true;
-    }
-    return false;
+    return w.getWeaponKind() == WeaponKind.KATANA;
   }
   
   /**
    * Get another Katana for the player.
    * 
    * @param w1 first assigned katana sword
-   * @param r random number generator
-   * @return a list of katanas
+   * @param katanaList list the katanas are added to
    */
-  private List<Weapons> getMoreKatanas(Weapons w1) {
-    List<Weapons> katanaList = new ArrayList<>();
-    
+  private void getMoreKatanas(Weapons w1, List<Weapons> katanaList) {
     katanaList.add(w1);
     this.weaponsInArmory.remove(w1);
     this.katanasInArmory.remove(w1);
@@ -133,18 +225,13 @@ public class Armory {
     katanaList.add(w2);
     this.weaponsInArmory.remove(w2);
     this.katanasInArmory.remove(w2);
-
-    return katanaList;
   }
   
-  private List<Weapons> removeKatanaAddOther(Weapons w1) {
-    List<Weapons> weaponList = new ArrayList<>();
-    
+  private void removeKatanaAddOther(Weapons w1, List<Weapons> weaponList) {
     this.weaponsInArmory.remove(w1);
     w1 = this.weaponsInArmory.get(this.random
                              .getRandomNumber(0, this.weaponsInArmory.size()));
     weaponList.add(w1);
     this.weaponsInArmory.remove(w1);
-    return weaponList;
   }
 }
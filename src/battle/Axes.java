@@ -29,4 +29,9 @@ public class Axes extends AbstractWeapons {
   public String getWeaponId() {
     return this.axeId;
   }
+
+  @Override
+  public WeaponKind getWeaponKind() {
+    return WeaponKind.AXE;
+  }
 }
@@ -0,0 +1,357 @@
+package battle;
+
+import java.util.Arrays;
+
+/**
+ * A batch kernel plays many battles side by side, with the state of every
+ * battle kept in plain integer arrays rather than in players, gears and
+ * weapons. Each call to {@link #playTurn()} plays one turn in every battle
+ * still ongoing, in a single loop over the arrays, so the cost of a turn
+ * is a few array reads and writes with no objects allocated.
+ *
+ * <p>The battles are loaded from prepared and started
+ * {@link BattleModel}s. A turn follows the same rules as
+ * {@link BattleModel#playTurn()}: the temporary effect of the attacker
+ * wears off at the start of their strike, the strike hits if the striking
+ * power is greater than the avoidance ability, and the damage is the
+ * strength of the attacker plus the damage of their weapons minus the
+ * constitution of the defender. The random numbers of a turn are drawn
+ * for all battles at once, including the weapon damage of strikes that
+ * miss, so the battles have the same outcome distribution as played on a
+ * battle model but not the same sequence of random numbers.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BatchBattleKernel {
+
+  /** Outcome of a battle still ongoing. */
+  public static final int ONGOING = -1;
+  /** Outcome of a battle won by the first player. */
+  public static final int PLAYER_ONE_WINS = 0;
+  /** Outcome of a battle won by the second player. */
+  public static final int PLAYER_TWO_WINS = 1;
+  /** Outcome of a drawn battle. */
+  public static final int DRAW = 2;
+
+  // Every weapon damage is drawn from 0 to this bound, and reduced to the
+  // damage span of the weapon with a mask. All damage spans divide it.
+  private static final int WEAPON_ROLL_BOUND = 4;
+  private static final int MAX_WEAPONS = 2;
+  private static final int NOT_LOADED = -2;
+
+  private final int matches;
+  private final RandomNumberGenerator random;
+
+  // Player state, indexed by 2 * battle + side.
+  private final int[] health;
+  private final int[] strength;
+  private final int[] constitution;
+  private final int[] dexterity;
+  private final int[] temporaryStrength;
+  private final int[] temporaryConstitution;
+  private final int[] temporaryDexterity;
+  private final int[] temporaryEffectStrikes;
+  private final int[] boostedWeaponMinimum;
+  private final int[] boostedWeaponMaskOne;
+  private final int[] boostedWeaponMaskTwo;
+  private final int[] weaponMinimum;
+  private final int[] weaponMaskOne;
+  private final int[] weaponMaskTwo;
+
+  // Battle state, indexed by battle.
+  private final int[] attackerSide;
+  private final int[] unsuccessfulStrikes;
+  private final int[] turnCount;
+  private final int[] outcome;
+  private int ongoingMatches;
+  private long elapsedNanos;
+
+  // Random numbers of the turn, indexed by battle.
+  private final int[] strikeRolls;
+  private final int[] avoidanceRolls;
+  private final int[] weaponRollsOne;
+  private final int[] weaponRollsTwo;
+
+  /**
+   * Construct a batch kernel for a number of battles. Every battle must be
+   * loaded before the first turn is played.
+   *
+   * @param matches number of battles
+   * @param rand Random Number Generator
+   * @throws IllegalArgumentException if the number of battles is not
+   *                                  positive or the random number
+   *                                  generator is null
+   */
+  public BatchBattleKernel(int matches, RandomNumberGenerator rand) throws
+      IllegalArgumentException {
+    if (matches < 1) {
+      throw new IllegalArgumentException("The batch needs at least one match.");
+    }
+    if (rand == null) {
+      throw new IllegalArgumentException("Random Number Generator cannot be null.");
+    }
+    this.matches = matches;
+    this.random = rand;
+
+    int players = 2 * matches;
+    this.health = new int[players];
+    this.strength = new int[players];
+    this.constitution = new int[players];
+    this.dexterity = new int[players];
+    this.temporaryStrength = new int[players];
+    this.temporaryConstitution = new int[players];
+    this.temporaryDexterity = new int[players];
+    this.temporaryEffectStrikes = new int[players];
+    this.boostedWeaponMinimum = new int[players];
+    this.boostedWeaponMaskOne = new int[players];
+    this.boostedWeaponMaskTwo = new int[players];
+    this.weaponMinimum = new int[players];
+    this.weaponMaskOne = new int[players];
+    this.weaponMaskTwo = new int[players];
+
+    this.attackerSide = new int[matches];
+    this.unsuccessfulStrikes = new int[matches];
+    this.turnCount = new int[matches];
+    this.outcome = new int[matches];
+    Arrays.fill(this.outcome, NOT_LOADED);
+
+    this.strikeRolls = new int[matches];
+    this.avoidanceRolls = new int[matches];
+    this.weaponRollsOne = new int[matches];
+    this.weaponRollsTwo = new int[matches];
+  }
+
+  /**
+   * Load a battle into the batch. The battle must have been started and
+   * no turn played yet; it is only read, not played.
+   *
+   * @param match index of the battle in the batch
+   * @param battle started battle
+   * @throws IllegalArgumentException if the index is out of the batch or
+   *                                  the battle is null
+   * @throws IllegalStateException if the battle has not started, a turn
+   *                               has been played or a player is not a
+   *                               {@link BattlePlayer}
+   */
+  public void load(int match, BattleModel battle) throws IllegalArgumentException,
+      IllegalStateException {
+    if (match < 0 || match >= this.matches) {
+      throw new IllegalArgumentException("There is no match at index "
+          + match + " in the batch.");
+    }
+    if (battle == null) {
+      throw new IllegalArgumentException("The battle cannot be null.");
+    }
+    Players first = battle.getNextAttacker();
+    if (first == null || battle.getTurnCount() != 0) {
+      throw new IllegalStateException("The battle must be started and no "
+          + "turn played to load it.");
+    }
+    if (this.outcome[match] == ONGOING) {
+      this.ongoingMatches--;
+    }
+
+    for (int side = 0; side < 2; side++) {
+      Players p = battle.getPlayers().get(side);
+      if (!(p instanceof BattlePlayer)) {
+        throw new IllegalStateException("Only battle players can be loaded.");
+      }
+      this.loadPlayer(2 * match + side, (BattlePlayer) p);
+    }
+    this.attackerSide[match] = first == battle.getPlayers().get(0) ? 0 : 1;
+    this.unsuccessfulStrikes[match] = 0;
+    this.turnCount[match] = 0;
+    this.outcome[match] = ONGOING;
+    this.ongoingMatches++;
+  }
+
+  /**
+   * Copy the state of a player into the arrays. The weapon damage is
+   * kept both for the abilities with the temporary effect and for the
+   * abilities after the effect wore off, since the heavy weapons may only
+   * be wielded fully with the effect.
+   *
+   * @param index index of the player in the arrays
+   * @param player player to copy
+   * @throws IllegalStateException if the player carries more than two
+   *                               weapons
+   */
+  private void loadPlayer(int index, BattlePlayer player) throws
+      IllegalStateException {
+    if (player.getWeaponsUsed().size() > MAX_WEAPONS) {
+      throw new IllegalStateException("Players with more than "
+          + MAX_WEAPONS + " weapons cannot be loaded.");
+    }
+    this.temporaryStrength[index] = player.getTemporaryStrength();
+    this.temporaryConstitution[index] = player.getTemporaryConstitution();
+    this.temporaryDexterity[index] = player.getTemporaryDexterity();
+    this.temporaryEffectStrikes[index] = player.getTemporaryEffectStrikes();
+    this.strength[index] = player.getStrength() - this.temporaryStrength[index];
+    this.constitution[index] = player.getConstitution()
+        - this.temporaryConstitution[index];
+    this.dexterity[index] = player.getDexterity() - this.temporaryDexterity[index];
+    this.health[index] = player.getCurrentHealth();
+
+    int boostedMinimum = 0;
+    int baseMinimum = 0;
+    int[] boostedMasks = new int[MAX_WEAPONS];
+    int[] baseMasks = new int[MAX_WEAPONS];
+    for (int i = 0; i < player.getWeaponsUsed().size(); i++) {
+      WeaponKind kind = player.getWeaponsUsed().get(i).getWeaponKind();
+      boolean boosted = kind.canWieldFully(player.getStrength(),
+          player.getDexterity());
+      boolean base = kind.canWieldFully(this.strength[index], this.dexterity[index]);
+      boostedMinimum += kind.getMinimumDamage(boosted);
+      baseMinimum += kind.getMinimumDamage(base);
+      boostedMasks[i] = kind.getDamageSpan(boosted) - 1;
+      baseMasks[i] = kind.getDamageSpan(base) - 1;
+    }
+    this.boostedWeaponMinimum[index] = boostedMinimum;
+    this.boostedWeaponMaskOne[index] = boostedMasks[0];
+    this.boostedWeaponMaskTwo[index] = boostedMasks[1];
+    this.weaponMinimum[index] = baseMinimum;
+    this.weaponMaskOne[index] = baseMasks[0];
+    this.weaponMaskTwo[index] = baseMasks[1];
+  }
+
+  /**
+   * Play one turn in every battle still ongoing.
+   *
+   * @return number of battles still ongoing after the turn
+   */
+  public int playTurn() {
+    long start = System.nanoTime();
+    this.random.fillRandom(this.strikeRolls, 1, 10);
+    this.random.fillRandom(this.avoidanceRolls, 1, 6);
+    this.random.fillRandom(this.weaponRollsOne, 0, WEAPON_ROLL_BOUND);
+    this.random.fillRandom(this.weaponRollsTwo, 0, WEAPON_ROLL_BOUND);
+
+    int ongoing = 0;
+    for (int m = 0; m < this.matches; m++) {
+      if (this.outcome[m] != ONGOING) {
+        continue;
+      }
+      int a = 2 * m + this.attackerSide[m];
+      int d = a ^ 1;
+
+      // The temporary effect of the attacker wears off at the start of
+      // their strike.
+      boolean boosted = this.temporaryEffectStrikes[a] > 1;
+      this.temporaryEffectStrikes[a] = boosted ? this.temporaryEffectStrikes[a] - 1 : 0;
+      this.temporaryStrength[a] = boosted ? this.temporaryStrength[a] : 0;
+      this.temporaryConstitution[a] = boosted ? this.temporaryConstitution[a] : 0;
+      this.temporaryDexterity[a] = boosted ? this.temporaryDexterity[a] : 0;
+
+      int attackerStrength = this.strength[a] + this.temporaryStrength[a];
+      int strikingPower = attackerStrength + this.strikeRolls[m];
+      int avoidanceAbility = this.dexterity[d] + this.temporaryDexterity[d]
+          + this.avoidanceRolls[m];
+      int weaponDamage = boosted
+          ? this.boostedWeaponMinimum[a]
+              + (this.weaponRollsOne[m] & this.boostedWeaponMaskOne[a])
+              + (this.weaponRollsTwo[m] & this.boostedWeaponMaskTwo[a])
+          : this.weaponMinimum[a]
+              + (this.weaponRollsOne[m] & this.weaponMaskOne[a])
+              + (this.weaponRollsTwo[m] & this.weaponMaskTwo[a]);
+      int damage = attackerStrength + weaponDamage
+          - this.constitution[d] - this.temporaryConstitution[d];
+      boolean hit = strikingPower > avoidanceAbility && damage > 0;
+
+      this.health[d] -= hit ? damage : 0;
+      this.unsuccessfulStrikes[m] = hit ? 0 : this.unsuccessfulStrikes[m] + 1;
+      this.turnCount[m]++;
+      this.attackerSide[m] ^= 1;
+
+      if (this.health[d] <= 0) {
+        this.outcome[m] = a & 1;
+      } else if (this.unsuccessfulStrikes[m] > 20) {
+        this.outcome[m] = DRAW;
+      } else {
+        ongoing++;
+      }
+    }
+    this.ongoingMatches = ongoing;
+    this.elapsedNanos += System.nanoTime() - start;
+    return ongoing;
+  }
+
+  /**
+   * Play turns until every battle is over.
+   */
+  public void playAll() {
+    while (this.ongoingMatches > 0) {
+      this.playTurn();
+    }
+  }
+
+  /**
+   * Get the outcome of a battle.
+   *
+   * @param match index of the battle in the batch
+   * @return {@link #ONGOING}, {@link #PLAYER_ONE_WINS},
+   *         {@link #PLAYER_TWO_WINS} or {@link #DRAW}; battles not loaded
+   *         yet are ongoing
+   */
+  public int getOutcome(int match) {
+    return this.outcome[match] == NOT_LOADED ? ONGOING : this.outcome[match];
+  }
+
+  /**
+   * Get the number of turns played in a battle.
+   *
+   * @param match index of the battle in the batch
+   * @return turn count
+   */
+  public int getTurnCount(int match) {
+    return this.turnCount[match];
+  }
+
+  /**
+   * Get the current health of a player.
+   *
+   * @param match index of the battle in the batch
+   * @param side 0 for the first player and 1 for the second
+   * @return current health
+   */
+  public int getHealth(int match, int side) {
+    return this.health[2 * match + side];
+  }
+
+  /**
+   * Get the number of battles still ongoing.
+   *
+   * @return ongoing battles
+   */
+  public int getOngoingMatches() {
+    return this.ongoingMatches;
+  }
+
+  /**
+   * Aggregate the outcomes of the battles that are over. The elapsed time
+   * is the time spent playing turns.
+   *
+   * @return result of the batch
+   */
+  public SimulationResult getResult() {
+    long playerOneWins = 0;
+    long playerTwoWins = 0;
+    long draws = 0;
+    long totalTurns = 0;
+    for (int m = 0; m < this.matches; m++) {
+      if (this.outcome[m] == ONGOING || this.outcome[m] == NOT_LOADED) {
+        continue;
+      }
+      if (this.outcome[m] == PLAYER_ONE_WINS) {
+        playerOneWins++;
+      } else if (this.outcome[m] == PLAYER_TWO_WINS) {
+        playerTwoWins++;
+      } else {
+        draws++;
+      }
+      totalTurns += this.turnCount[m];
+    }
+    return new SimulationResult(playerOneWins, playerTwoWins, draws, totalTurns,
+        this.elapsedNanos);
+  }
+}
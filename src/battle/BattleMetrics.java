@@ -0,0 +1,247 @@
+package battle;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the battles played on any number of {@link BattleModel}s:
+ * the turns played, how many strikes succeed and the damage they do, how
+ * many battles end in a draw after too many unsuccessful strikes, and the
+ * time spent preparing and equipping the players. The counters are
+ * {@link LongAdder}s and the distributions are {@link LogHistogram}s, so
+ * battles played in many threads record into the same metrics without
+ * contending.
+ *
+ * <p>A battle only records metrics once it is given them with
+ * {@link BattleModel#setMetrics(BattleMetrics)}; without metrics a turn
+ * costs a single null check more. The metrics are read with
+ * {@link #snapshot()}, or through JMX once {@link #register(String)}ed.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BattleMetrics implements BattleMetricsMXBean {
+
+  private final LongAdder turns;
+  private final LongAdder successfulStrikes;
+  private final LongAdder battles;
+  private final LongAdder redundancyDraws;
+  private final LogHistogram damage;
+  private final LogHistogram preparationNanos;
+  private final LogHistogram equipNanos;
+  private volatile long startNanos;
+
+  /**
+   * Construct empty metrics, starting the clock of the turn rate.
+   */
+  public BattleMetrics() {
+    this.turns = new LongAdder();
+    this.successfulStrikes = new LongAdder();
+    this.battles = new LongAdder();
+    this.redundancyDraws = new LongAdder();
+    this.damage = new LogHistogram();
+    this.preparationNanos = new LogHistogram();
+    this.equipNanos = new LogHistogram();
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * Record a turn played. A strike is successful if the striking power
+   * beat the avoidance ability, even if the constitution of the defender
+   * took all of its damage away.
+   *
+   * @param strikeSuccess true if the strike was successful
+   * @param strikeDamage damage of the strike, 0 if it was unsuccessful
+   */
+  void recordTurn(boolean strikeSuccess, int strikeDamage) {
+    this.turns.increment();
+    if (strikeSuccess) {
+      this.successfulStrikes.increment();
+      this.damage.record(strikeDamage);
+    }
+  }
+
+  /**
+   * Record a battle played to its end.
+   *
+   * @param redundancyDraw true if the battle was drawn after too many
+   *                       unsuccessful strikes
+   */
+  void recordBattle(boolean redundancyDraw) {
+    this.battles.increment();
+    if (redundancyDraw) {
+      this.redundancyDraws.increment();
+    }
+  }
+
+  /**
+   * Record the time spent preparing the players of a battle.
+   *
+   * @param nanos elapsed time in nanoseconds
+   */
+  void recordPreparation(long nanos) {
+    this.preparationNanos.record(nanos);
+  }
+
+  /**
+   * Record the time spent equipping a player with gears.
+   *
+   * @param nanos elapsed time in nanoseconds
+   */
+  void recordEquip(long nanos) {
+    this.equipNanos.record(nanos);
+  }
+
+  @Override
+  public long getTurns() {
+    return this.turns.sum();
+  }
+
+  @Override
+  public double getTurnsPerSecond() {
+    long elapsed = System.nanoTime() - this.startNanos;
+    return elapsed <= 0 ? 0 : this.turns.sum() * 1e9 / elapsed;
+  }
+
+  @Override
+  public double getStrikeSuccessRatio() {
+    long played = this.turns.sum();
+    return played == 0 ? 0 : (double) this.successfulStrikes.sum() / played;
+  }
+
+  @Override
+  public double getMeanDamage() {
+    return this.damage.getMean();
+  }
+
+  @Override
+  public long getDamage99thPercentile() {
+    return this.damage.getPercentile(99);
+  }
+
+  @Override
+  public long getBattles() {
+    return this.battles.sum();
+  }
+
+  @Override
+  public double getRedundancyDrawRate() {
+    long played = this.battles.sum();
+    return played == 0 ? 0 : (double) this.redundancyDraws.sum() / played;
+  }
+
+  @Override
+  public double getMeanPreparationNanos() {
+    return this.preparationNanos.getMean();
+  }
+
+  @Override
+  public double getMeanEquipNanos() {
+    return this.equipNanos.getMean();
+  }
+
+  /**
+   * Get the distribution of the damage of the successful strikes.
+   *
+   * @return damage histogram
+   */
+  public LogHistogram getDamageHistogram() {
+    return this.damage;
+  }
+
+  /**
+   * Get the distribution of the time spent preparing the players of a
+   * battle, in nanoseconds.
+   *
+   * @return preparation time histogram
+   */
+  public LogHistogram getPreparationHistogram() {
+    return this.preparationNanos;
+  }
+
+  /**
+   * Get the distribution of the time spent equipping a player with gears,
+   * in nanoseconds.
+   *
+   * @return equipping time histogram
+   */
+  public LogHistogram getEquipHistogram() {
+    return this.equipNanos;
+  }
+
+  /**
+   * Take a snapshot of the metrics. The metrics go on being recorded while
+   * the snapshot is taken, so its values may be a few turns apart.
+   *
+   * @return snapshot of the metrics
+   */
+  public MetricsSnapshot snapshot() {
+    return new MetricsSnapshot(this.getTurns(), this.getTurnsPerSecond(),
+        this.getStrikeSuccessRatio(), this.getMeanDamage(),
+        this.damage.getPercentile(50), this.getDamage99thPercentile(),
+        this.damage.getMax(), this.getBattles(), this.getRedundancyDrawRate(),
+        this.getMeanPreparationNanos(), this.preparationNanos.getPercentile(99),
+        this.getMeanEquipNanos());
+  }
+
+  @Override
+  public void reset() {
+    this.turns.reset();
+    this.successfulStrikes.reset();
+    this.battles.reset();
+    this.redundancyDraws.reset();
+    this.damage.reset();
+    this.preparationNanos.reset();
+    this.equipNanos.reset();
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * Register the metrics with the platform MBean server, under the name
+   * {@code battle:type=BattleMetrics,name=<name>}.
+   *
+   * @param name name of the metrics
+   * @return object name the metrics are registered under
+   * @throws IllegalArgumentException if the name is null or not a valid
+   *                                  object name
+   * @throws IllegalStateException if metrics are already registered under
+   *                               the name
+   */
+  public ObjectName register(String name) throws IllegalArgumentException,
+      IllegalStateException {
+    if (name == null) {
+      throw new IllegalArgumentException("The metrics name cannot be null.");
+    }
+    ObjectName objectName;
+    try {
+      objectName = new ObjectName("battle:type=BattleMetrics,name="
+          + ObjectName.quote(name));
+    } catch (JMException e) {
+      throw new IllegalArgumentException("The metrics name is not valid.", e);
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("The metrics cannot be registered as "
+          + objectName + ".", e);
+    }
+    return objectName;
+  }
+
+  /**
+   * Unregister the metrics from the platform MBean server.
+   *
+   * @param objectName object name the metrics are registered under
+   * @throws IllegalStateException if nothing is registered under the name
+   */
+  public static void unregister(ObjectName objectName) throws IllegalStateException {
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("Nothing is registered as " + objectName
+          + ".", e);
+    }
+  }
+}
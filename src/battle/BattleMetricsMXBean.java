@@ -0,0 +1,81 @@
+package battle;
+
+/**
+ * The management interface of {@link BattleMetrics}, through which JMX
+ * clients such as JConsole read the metrics of running battles.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public interface BattleMetricsMXBean {
+
+  /**
+   * Get the number of turns played.
+   *
+   * @return turns
+   */
+  public long getTurns();
+
+  /**
+   * Get the number of turns played per second since the metrics were
+   * started or reset.
+   *
+   * @return turns per second
+   */
+  public double getTurnsPerSecond();
+
+  /**
+   * Get the share of strikes whose striking power beat the avoidance
+   * ability of the defender, whether or not they took health away.
+   *
+   * @return strike success ratio
+   */
+  public double getStrikeSuccessRatio();
+
+  /**
+   * Get the mean damage of the successful strikes.
+   *
+   * @return mean damage
+   */
+  public double getMeanDamage();
+
+  /**
+   * Get the damage that 99% of the successful strikes do not exceed.
+   *
+   * @return 99th percentile of the damage
+   */
+  public long getDamage99thPercentile();
+
+  /**
+   * Get the number of battles played to their end.
+   *
+   * @return battles
+   */
+  public long getBattles();
+
+  /**
+   * Get the share of battles drawn after too many unsuccessful strikes.
+   *
+   * @return redundancy draw rate
+   */
+  public double getRedundancyDrawRate();
+
+  /**
+   * Get the mean time spent preparing the players of a battle.
+   *
+   * @return mean preparation time in nanoseconds
+   */
+  public double getMeanPreparationNanos();
+
+  /**
+   * Get the mean time spent equipping a player with gears.
+   *
+   * @return mean equipping time in nanoseconds
+   */
+  public double getMeanEquipNanos();
+
+  /**
+   * Forget everything recorded and restart the clock.
+   */
+  public void reset();
+}
@@ -29,9 +29,15 @@ public class BattleModel implements Arena {
   private boolean isGameOver;
   private int turnCount;
   private boolean strikeSuccess;
-  private List<Boolean> strikeRate;
+  private int unsuccessfulStrikes;
   private int strikeDamage;
+  private int potentialDamage;
+  private int strikingPower;
+  private int avoidanceAbility;
+  private StringBuilder details;
+  private List<TurnListener> turnListeners;
   private RandomNumberGenerator random;
+  private BattleMetrics metrics;
   
   /**
    * Construct a battle model. You may call players and let them 
@@ -50,29 +56,39 @@ public class BattleModel implements Arena {
     this.random = rand;
     this.battleName = "Win Over Luck!";
     this.currentPlayers = new ArrayList<>();
+    this.details = new StringBuilder(256);
+    this.turnListeners = new ArrayList<>();
     this.arePlayersHere = false;
     this.prepareArena();
   }
   
   /**
    * Prepare arena by setting up new equipment bag and new armory, 
-   * and refreshing the players.
+   * and refreshing the players. The equipment bag and armory of the 
+   * arena are reset for a rematch, so the same gears and weapons are 
+   * used from one battle to the next. The winner of the last battle is 
+   * replaced rather than cleared, so a list of winners handed out 
+   * earlier keeps holding the winners of its own battle.
    */
   private void prepareArena() {
-    this.eqBag = null;
-    this.armory = null;
-    EquipmentBag eq = new EquipmentBag(this.random);
-    this.eqBag = eq;
-    Armory arms = new Armory(this.random);
-    this.armory = arms;
+    if (this.eqBag == null) {
+      this.eqBag = new EquipmentBag(this.random);
+      this.armory = new Armory(this.random);
+    } else {
+      this.eqBag.reset();
+      this.armory.reset();
+    }
+    this.winner = List.of();
     this.attacker = null;
     this.defender = null;
-    this.winner = new ArrayList<>();
     this.arePlayersPrepared = false;
     this.hasGameStarted = false;
     this.strikeSuccess = false;
     this.strikeDamage = 0;
-    this.strikeRate = new ArrayList<>();
+    this.potentialDamage = 0;
+    this.strikingPower = 0;
+    this.avoidanceAbility = 0;
+    this.unsuccessfulStrikes = 0;
     this.isGameOver = false;
     this.turnCount = 0;
   }
@@ -116,9 +132,20 @@ public class BattleModel implements Arena {
           + "them.");
     }
     
-    for (Players p : this.currentPlayers) {
-      p.equipGears(this.eqBag);
-      p.requestWeapon(this.armory);
+    if (this.metrics == null) {
+      for (Players p : this.currentPlayers) {
+        p.equipGears(this.eqBag);
+        p.requestWeapon(this.armory);
+      }
+    } else {
+      long start = System.nanoTime();
+      for (Players p : this.currentPlayers) {
+        long equipStart = System.nanoTime();
+        p.equipGears(this.eqBag);
+        this.metrics.recordEquip(System.nanoTime() - equipStart);
+        p.requestWeapon(this.armory);
+      }
+      this.metrics.recordPreparation(System.nanoTime() - start);
     }
     this.arePlayersPrepared = true;
   }
@@ -129,15 +156,15 @@ public class BattleModel implements Arena {
       throw new IllegalStateException("Please call the players to get their "
           + "details.");
     }
-    String basicInfo = "The players are in the arena, they look fine "
-        + "without the gears! \n";
+    this.details.setLength(0);
+    this.details.append("The players are in the arena, they look fine "
+        + "without the gears! \n");
     
     for (Players p : this.currentPlayers) {
-      basicInfo += p.getPlayerBasicInfo() + "\n\n";
+      this.details.append(p.getPlayerBasicInfo()).append("\n\n");
     }
-    basicInfo = basicInfo.trim();
     
-    return basicInfo;
+    return this.trimDetails();
   }
   
   @Override
@@ -147,15 +174,15 @@ public class BattleModel implements Arena {
           + "complete description.");
     }
     
-    String description = "The complete description of players on "
-        + "the arena: \n";
+    this.details.setLength(0);
+    this.details.append("The complete description of players on "
+        + "the arena: \n");
     
     for (Players p : this.currentPlayers) {
-      description += p.getPlayerDescription() + "\n\n";
+      this.details.append(p.getPlayerDescription()).append("\n\n");
     }
-    description = description.trim();
     
-    return description;
+    return this.trimDetails();
   }
 
   @Override
@@ -188,24 +215,15 @@ public class BattleModel implements Arena {
   /**
    * Check for turn redundancy. If both players are either defending 
    * or are taking 0 damage, the strike is considered unsuccessful. 
-   * This method checks if the last 20 strikes were unsuccessful, and 
-   * hence helps end the game.
+   * This method checks if the last 21 strikes were unsuccessful, and 
+   * hence helps end the game. Only the number of consecutive unsuccessful 
+   * strikes is kept, so the check takes constant time and memory however 
+   * long the battle runs.
    * 
-   * @return true if last 20 strikes were unsuccessful
+   * @return true if last 21 strikes were unsuccessful
    */
   private boolean testTurnRedundancy() {
-    boolean flag = false;
-    if (turnCount > 20) {
-      for (int i = turnCount - 1; i >= turnCount - 21; i--) {
-        if (!this.strikeRate.get(i)) {
-          flag = true;
-        } else {
-          flag = false;
-          break;
-        }
-      }
-    }
-    return flag;
+    return this.unsuccessfulStrikes > 20;
   }
   
   @Override
@@ -233,41 +251,101 @@ public class BattleModel implements Arena {
     this.move();
     this.turnCount++;
     this.isGameOver();
+    
+    if (this.metrics != null) {
+      this.metrics.recordTurn(this.strikeSuccess, this.strikeDamage);
+      if (this.isGameOver) {
+        this.metrics.recordBattle(this.winner.size() > 1);
+      }
+    }
+    if (!this.turnListeners.isEmpty()) {
+      this.publishTurn();
+    }
+  }
+  
+  @Override
+  public void addTurnListener(TurnListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("The turn listener cannot be null.");
+    }
+    this.turnListeners.add(listener);
+  }
+  
+  @Override
+  public void removeTurnListener(TurnListener listener) {
+    this.turnListeners.remove(listener);
+  }
+  
+  /**
+   * Record the metrics of this battle: its turns, its strikes and the 
+   * time spent preparing its players. The same metrics may be given to 
+   * many battles, played in any threads.
+   * 
+   * @param metrics metrics to record into, null to stop recording
+   */
+  public void setMetrics(BattleMetrics metrics) {
+    this.metrics = metrics;
+  }
+  
+  /**
+   * Notify the registered listeners of the turn just played.
+   */
+  private void publishTurn() {
+    TurnEvent event = new TurnEvent(this.turnCount, 
+        this.currentPlayers.indexOf(this.attacker), 
+        this.currentPlayers.indexOf(this.defender), 
+        this.strikingPower, this.avoidanceAbility, this.potentialDamage, 
+        this.strikeDamage, this.attacker.getCurrentHealth(), 
+        this.defender.getCurrentHealth());
+    for (int i = 0; i < this.turnListeners.size(); i++) {
+      this.turnListeners.get(i).turnPlayed(event);
+    }
   }
 
   @Override
   public String getTurnDetails() {
-    String strikingPower = "Striking power: " 
-        + this.attacker.getStrikingPower() + "\n";
-    String avoidanceAb = "Avoidance ability: "
-        + this.defender.getAvoidanceAbility() + "\n";
-    String success;
+    // The details are only rendered when asked for. The striking power and 
+    // avoidance ability shown are the ones used in the last move.
+    this.details.setLength(0);
+    this.details.append("Round ").append(this.turnCount).append("\n")
+        .append("Turn details:\n")
+        .append("Attacker: ").append(this.getAttacker()).append("; Health: ")
+        .append(this.attacker.getCurrentHealth()).append("\n");
+    if (this.turnCount != 0) {
+      this.details.append("Striking power: ").append(this.strikingPower)
+          .append("\n");
+    }
+    this.details.append("Defender: ").append(this.getDefender()).append("; Health: ")
+        .append(this.defender.getCurrentHealth()).append("\n");
     if (this.turnCount == 0) {
-      success = "";
-      strikingPower = "";
-      avoidanceAb = "";
-    } else if (this.strikeSuccess) {
-      success = "Whoa, that was a great move. " 
-                + this.getAttacker() + " strikes!\n"
-                + "Damage caused to " + this.getDefender() 
-                + "'s health is " + this.strikeDamage;
+      return this.trimDetails();
+    }
+    this.details.append("Avoidance ability: ").append(this.avoidanceAbility)
+        .append("\n");
+    if (this.strikeSuccess) {
+      this.details.append("Whoa, that was a great move. ")
+          .append(this.getAttacker()).append(" strikes!\n")
+          .append("Damage caused to ").append(this.getDefender())
+          .append("'s health is ").append(this.strikeDamage);
     } else {
-      success = "That was amazingly defended. " 
-                + this.getDefender() + " is safe.";
+      this.details.append("That was amazingly defended. ")
+          .append(this.getDefender()).append(" is safe.");
     }
-    String turnDetails = "Round " + this.turnCount + "\n"
-        + "Turn details:\n"
-        + "Attacker: " + this.getAttacker() + "; Health: " 
-        + this.attacker.getCurrentHealth() + "\n"
-        + strikingPower
-        + "Defender: " + this.getDefender() + "; Health: " 
-        + this.defender.getCurrentHealth() + "\n"
-        + avoidanceAb
-        + success;
-    
-    turnDetails = turnDetails.trim();
     
-    return turnDetails;
+    return this.trimDetails();
+  }
+  
+  /**
+   * Get the rendered details without trailing white space.
+   * 
+   * @return rendered details
+   */
+  private String trimDetails() {
+    int length = this.details.length();
+    while (length > 0 && this.details.charAt(length - 1) <= ' ') {
+      length--;
+    }
+    return this.details.substring(0, length);
   }
 
   @Override
@@ -277,6 +355,9 @@ public class BattleModel implements Arena {
 
   @Override
   public String getFinalResult() {
+    if (!this.hasGameStarted) {
+      return "Game has not started yet, please start the game!";
+    }
     if (this.isGameOver()) {
       if (this.winner.size() == 1) {
         return this.getWinner().get(0).getPlayerId() + " wins!!!!!!";
@@ -320,6 +401,25 @@ public class BattleModel implements Arena {
   public String getDefender() {
     return this.defender.getPlayerId();
   }
+  
+  /**
+   * Get the player striking in the next turn. Turns are switched before 
+   * every strike, so it is the current defender.
+   * 
+   * @return next attacker, null if the battle has not started
+   */
+  Players getNextAttacker() {
+    return this.defender;
+  }
+  
+  /**
+   * Get the number of turns played in the current battle.
+   * 
+   * @return turn count
+   */
+  public int getTurnCount() {
+    return this.turnCount;
+  }
     
   /**
    * Refresh the players, by letting them take off the gears/weapon 
@@ -364,23 +464,26 @@ public class BattleModel implements Arena {
    * the player's health.
    */
   private void move() {
-    int attackerStrikingPower = this.attacker.getStrikingPower();
-    int defenderAvoidanceAbility = this.defender.getAvoidanceAbility();
+    this.strikingPower = this.attacker.getStrikingPower();
+    this.avoidanceAbility = this.defender.getAvoidanceAbility();
     
-    if (attackerStrikingPower > defenderAvoidanceAbility) {
+    if (this.strikingPower > this.avoidanceAbility) {
       this.strikeSuccess = true;
-      int damage = this.calculateActualDamage();
+      this.potentialDamage = this.calculatePotentialStrikingDamage();
+      int damage = this.calculateActualDamage(this.potentialDamage);
       if (damage > 0) {
         this.defender.applyDamage(damage);
         this.strikeDamage = damage;
-        this.strikeRate.add(this.strikeSuccess);
+        this.unsuccessfulStrikes = 0;
       } else {
         this.strikeDamage = 0;
-        this.strikeRate.add(!this.strikeSuccess);
+        this.unsuccessfulStrikes++;
       }
     } else {
       this.strikeSuccess = false;
-      this.strikeRate.add(this.strikeSuccess);
+      this.strikeDamage = 0;
+      this.potentialDamage = 0;
+      this.unsuccessfulStrikes++;
     }
   }
   
@@ -388,10 +491,11 @@ public class BattleModel implements Arena {
    * The actual damage is the potential striking damage minus the constitution 
    * of their opponent.
    * 
+   * @param potential potential striking damage
    * @return actual damage
    */
-  private int calculateActualDamage() {
-    return this.calculatePotentialStrikingDamage() - this.defender.getConstitution();
+  private int calculateActualDamage(int potential) {
+    return potential - this.defender.getConstitution();
   }
   
   /**
@@ -402,11 +506,7 @@ public class BattleModel implements Arena {
    * @return potential striking damage
    */
   private int calculatePotentialStrikingDamage() {
-    int weaponDamage = 0;
-    for (Weapons w : this.attacker.getWeaponsUsed()) {
-      weaponDamage += w.getStrikePower(this.attacker);
-    }
-    return this.attacker.getStrength() + weaponDamage;
+    return this.attacker.getStrength() + this.attacker.getWeaponDamage();
   }
   
   /**
@@ -421,12 +521,11 @@ public class BattleModel implements Arena {
     if (this.defender.getCurrentHealth() <= 0 
         && this.winner.size() == 0) {
       this.isGameOver = true;
-      this.winner.add(this.attacker);
+      this.winner = List.of(this.attacker);
     } else if (this.testTurnRedundancy()
         && this.winner.size() == 0) {
       this.isGameOver = true;
-      this.winner.add(this.attacker);
-      this.winner.add(this.defender);
+      this.winner = List.of(this.attacker, this.defender);
     }
     return this.isGameOver;
   }
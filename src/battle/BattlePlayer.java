@@ -2,10 +2,7 @@ package battle;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A BattlePlayer takes part and competes with other players on the 
@@ -36,6 +33,11 @@ public class BattlePlayer implements Players {
   private int footwearUnits;
   private int beltUnits;
   private int temporaryEffectStrikes;
+  private int effectiveStrength;
+  private int effectiveConstitution;
+  private int effectiveDexterity;
+  private int effectiveCharisma;
+  private boolean isReadyToFight;
   private List<Gears> equipments;
   private List<Gears> headGearUsed;
   private List<Gears> footWearUsed;
@@ -43,6 +45,14 @@ public class BattlePlayer implements Players {
   private List<Gears> potionsUsed;
   private List<Weapons> weapon;
   private RandomNumberGenerator random;
+  private String basicInfo;
+  private List<String> sortedGears;
+  private List<String> weaponIds;
+  private List<Weapons> weaponsUsed;
+  private List<Gears> usedBelts;
+  private int[] weaponDamageTable;
+  private RandomNumberGenerator[] weaponRandom;
+  private LoadoutOptimizer loadoutOptimizer;
   
   /**
    * Construct a battle player with an identifier. The battle player starts 
@@ -81,19 +91,22 @@ public class BattlePlayer implements Players {
   
   @Override
   public String getPlayerBasicInfo() {
-    return this.playerId + "\n" + "Player basic "
-      + "abilities for the entire game: \n" 
-      + "Strength - " + this.initialStrength + "\n"
-      + "Constitution - " + this.initialConstitution + "\n"
-      + "Dexterity - " + this.initialDexterity + "\n"
-      + "Charisma - " + this.initialCharisma;
+    // The basic abilities never change, so the text is built only once.
+    if (this.basicInfo == null) {
+      this.basicInfo = this.playerId + "\n" + "Player basic "
+        + "abilities for the entire game: \n" 
+        + "Strength - " + this.initialStrength + "\n"
+        + "Constitution - " + this.initialConstitution + "\n"
+        + "Dexterity - " + this.initialDexterity + "\n"
+        + "Charisma - " + this.initialCharisma;
+    }
+    return this.basicInfo;
   }
 
   @Override
   public String getPlayerDescription() {
-    String gears = "";
-    String weap = "";
-    String gearsAndWeapon = "";
+    List<String> gears = this.getSortedGears();
+    List<String> weapons = this.getWeaponIdUsed();
     int effect = 0;
     
     // Temporary effect for description
@@ -101,40 +114,42 @@ public class BattlePlayer implements Players {
       effect = this.temporaryEffectStrikes - 1;
     }
     
+    StringBuilder description = new StringBuilder(640);
+    description.append(this.playerId).append("\n")
+        .append("Player abilities for the entire game: \n")
+        .append("Strength - ").append(this.strength).append("\n")
+        .append("Constitution - ").append(this.constitution).append("\n")
+        .append("Dexterity - ").append(this.dexterity).append("\n")
+        .append("Charisma - ").append(this.charisma).append("\n")
+        .append("\n")
+        .append("The player may temporarily take advangtage of the following "
+            + "abilities gained through the effect of potion! \n")
+        .append("Strength - ").append(this.temporaryStrength).append("\n")
+        .append("Constitution - ").append(this.temporaryConstitution).append("\n")
+        .append("Dexterity - ").append(this.temporaryDexterity).append("\n")
+        .append("Charisma - ").append(this.temporaryCharisma).append("\n")
+        .append("The temporary effect remains for ").append(effect)
+        .append(" strikes. \n")
+        .append("Player is equipped with following gears: \n").append(gears)
+        .append("\n");
+    
     // Adding comments depending on whether the player is equipped with 
     // gears and/or weapon.
-    if (this.getSortedGears().size() == 0 && this.getWeaponIdUsed().size() > 0) {
-      gears = "Player needs to equip gears! \n";
+    if (gears.size() == 0 && weapons.size() > 0) {
+      description.append("Player needs to equip gears! \n");
     }
-    if (this.getWeaponIdUsed().size() == 0 && this.getSortedGears().size() > 0) {
-      weap = "Player needs to request a weapon!";
+    description.append("Player is using the following weapon: \n").append(weapons)
+        .append("\n");
+    if (weapons.size() == 0 && gears.size() > 0) {
+      description.append("Player needs to request a weapon!");
     }
-    if (this.getSortedGears().size() == 0 && this.getWeaponIdUsed().size() == 0) {
-      gearsAndWeapon = "Player needs to equip gears and weapons to start the match!";
+    if (gears.size() == 0 && weapons.size() == 0) {
+      description.append("Player needs to equip gears and weapons to start the match!");
     }
-    if (this.getWeaponIdUsed().size() > 0 && this.getSortedGears().size() > 0) {
-      gearsAndWeapon = "Wohoo!! You look ready, let's start the game!";
+    if (weapons.size() > 0 && gears.size() > 0) {
+      description.append("Wohoo!! You look ready, let's start the game!");
     }
-    
-    return this.playerId + "\n" + "Player abilities for the entire game: \n" 
-           + "Strength - " + this.strength + "\n"
-           + "Constitution - " + this.constitution + "\n"
-           + "Dexterity - " + this.dexterity + "\n"
-           + "Charisma - " + this.charisma + "\n"
-           + "\n" 
-           + "The player may temporarily take advangtage of the following "
-           + "abilities gained through the effect of potion! \n"
-           + "Strength - " + this.temporaryStrength + "\n"
-           + "Constitution - " + this.temporaryConstitution + "\n"
-           + "Dexterity - " + this.temporaryDexterity + "\n"
-           + "Charisma - " + this.temporaryCharisma + "\n"
-           + "The temporary effect remains for " + effect + " strikes. \n"
-           + "Player is equipped with following gears: \n" + this.getSortedGears()
-           + "\n" 
-           + gears
-           + "Player is using the following weapon: \n" + this.getWeaponIdUsed()
-           + "\n" 
-           + weap + gearsAndWeapon;
+    return description.toString();
   }
   
   @Override
@@ -151,7 +166,11 @@ public class BattlePlayer implements Players {
       throw new IllegalStateException("Player has already received weapon. No "
           + "more weapons are allowed/necessary.");
     }
-    this.weapon = arm.getWeapon();
+    arm.handOutWeapon(this.weapon);
+    this.weaponIds = null;
+    this.weaponsUsed = null;
+    this.weaponDamageTable = null;
+    this.updateReadiness();
   }
   
   @Override
@@ -164,74 +183,108 @@ public class BattlePlayer implements Players {
           + "more gears are allowed/necessary.");
     }
     
-    this.equipments = eq.getGears();
-    Map<String, Integer> effect = new HashMap<>();
-    for (Gears gear : equipments) {
-      
-      effect = gear.checkEffectOfGear();
-      Iterator<Map.Entry<String, Integer>> itr = effect.entrySet().iterator();
+    eq.dealGears(this.equipments);
+    // A smart player only uses the gears chosen by the optimizer, all of 
+    // which fit together.
+    long selected = this.loadoutOptimizer == null ? -1L 
+        : this.loadoutOptimizer.select(this.equipments);
+    for (int i = 0; i < this.equipments.size(); i++) {
+      if ((selected & (1L << i)) == 0) {
+        continue;
+      }
+      Gears gear = this.equipments.get(i);
+      GearEffect effect = gear.getEffect();
       
       // Check if gear is a potion, get it's temporary effect
-      if (gear.getGearId().charAt(0) == 'P') {
+      if (gear.getGearKind() == GearKind.POTION) {
         this.potionsUsed.add(gear);
         gear.setIfGearUsedByPlayer(true);
-        while (itr.hasNext()) {
-          Map.Entry<String, Integer> entry = itr.next();
-          String ability = entry.getKey();
-          Integer points = entry.getValue();
-          this.updateTemporaryAbilityPoints(ability, points);
-        }
+        this.updateTemporaryAbilityPoints(effect);
       } else { 
         if (this.checkIfGearUseful(gear)) {
           this.useGear(gear);
-          while (itr.hasNext()) {
-            Map.Entry<String, Integer> entry = itr.next();
-            String ability = entry.getKey();
-            Integer points = entry.getValue();
-            this.updateMatchAbilityPoints(ability, points);
-          }
+          this.updateMatchAbilityPoints(effect);
         }
       } 
     }
     this.temporaryEffectStrikes = getInitialTemporaryEffectStrikes();
+    this.sortedGears = null;
+    this.weaponDamageTable = null;
+    this.updateReadiness();
   }
     
+  /**
+   * Make the player a smart player, choosing the gears that make the most 
+   * of an objective when equipping them, rather than using every gear 
+   * that still fits in the order it was dealt. The choice applies from 
+   * the next time the player equips gears, and stays for rematches.
+   * 
+   * @param objective objective of the gears, null to go back to using 
+   *                  the gears in the order they were dealt
+   */
+  public void setLoadoutObjective(LoadoutObjective objective) {
+    this.loadoutOptimizer = objective == null ? null 
+        : new LoadoutOptimizer(objective);
+  }
+  
+  /**
+   * Get the objective the player chooses gears for.
+   * 
+   * @return loadout objective, null if the player uses the gears in the 
+   *         order they were dealt
+   */
+  public LoadoutObjective getLoadoutObjective() {
+    return this.loadoutOptimizer == null ? null 
+        : this.loadoutOptimizer.getObjective();
+  }
+  
   /**
    * Update the abilities staying for the entire battle according to the 
    * effect of the gear.
    * 
-   * @param ability ability name
-   * @param points the positive/negative effect on the ability
+   * @param effect the positive/negative effect on every ability
    */
-  private void updateMatchAbilityPoints(String ability, Integer points) {
-    if ("Strength".equals(ability)) {
-      this.strength += points;
-    } else if ("Constitution".equals(ability)) {
-      this.constitution += points;
-    } else if ("Dexterity".equals(ability)) {
-      this.dexterity += points;
-    } else if ("Charisma".equals(ability)) {
-      this.charisma += points;
-    }
+  private void updateMatchAbilityPoints(GearEffect effect) {
+    this.strength += effect.getPoints(Ability.STRENGTH);
+    this.constitution += effect.getPoints(Ability.CONSTITUTION);
+    this.dexterity += effect.getPoints(Ability.DEXTERITY);
+    this.charisma += effect.getPoints(Ability.CHARISMA);
+    this.updateEffectiveAbilities();
   }
   
   /**
    * Update the temporary abilities to the temporary 
    * effect of the gear.
    * 
-   * @param ability ability name
-   * @param points the positive/negative effect on the ability
+   * @param effect the positive/negative effect on every ability
    */
-  private void updateTemporaryAbilityPoints(String ability, Integer points) {
-    if ("Strength".equals(ability)) {
-      this.temporaryStrength += points;
-    } else if ("Constitution".equals(ability)) {
-      this.temporaryConstitution += points;
-    } else if ("Dexterity".equals(ability)) {
-      this.temporaryDexterity += points;
-    } else if ("Charisma".equals(ability)) {
-      this.temporaryCharisma += points;
-    }
+  private void updateTemporaryAbilityPoints(GearEffect effect) {
+    this.temporaryStrength += effect.getPoints(Ability.STRENGTH);
+    this.temporaryConstitution += effect.getPoints(Ability.CONSTITUTION);
+    this.temporaryDexterity += effect.getPoints(Ability.DEXTERITY);
+    this.temporaryCharisma += effect.getPoints(Ability.CHARISMA);
+    this.updateEffectiveAbilities();
+  }
+  
+  /**
+   * Work out the abilities with the temporary effect again. The abilities 
+   * are kept rather than added up on every call, and only change when the 
+   * gears are equipped, the temporary effect wears off or the player is 
+   * set up for a rematch.
+   */
+  private void updateEffectiveAbilities() {
+    this.effectiveStrength = this.strength + this.temporaryStrength;
+    this.effectiveConstitution = this.constitution + this.temporaryConstitution;
+    this.effectiveDexterity = this.dexterity + this.temporaryDexterity;
+    this.effectiveCharisma = this.charisma + this.temporaryCharisma;
+  }
+  
+  /**
+   * Check once whether the player has gears and a weapon to fight with, 
+   * whenever either changes, rather than on every strike.
+   */
+  private void updateReadiness() {
+    this.isReadyToFight = this.equipments.size() > 0 && this.weapon.size() > 0;
   }
   
   /**
@@ -242,22 +295,16 @@ public class BattlePlayer implements Players {
    * @return true if the player can use the gear
    */
   private boolean checkIfGearUseful(Gears gear) {
-    char gearType = gear.getGearId().charAt(0);
-    if (gearType == 'H') {
-      if (this.checkHeadGearAllowance()) {
-        return true;
-      }
-    } else if (gearType == 'F') {
-      if (this.checkFootwearAllowance()) {
-        return true;
-      } 
-    } else if (gearType == 'B') {
-      BeltSizes size = ((Belts) gear).getBeltSize();
-      if (this.checkBeltAllowance(size)) {
-        return true;
-      }
+    switch (gear.getGearKind()) {
+      case HEADGEAR:
+        return this.checkHeadGearAllowance();
+      case FOOTWEAR:
+        return this.checkFootwearAllowance();
+      case BELT:
+        return this.checkBeltAllowance(((Belts) gear).getBeltSize());
+      default:
+        return false;
     }
-    return false;
   }
   
   /**
@@ -305,13 +352,7 @@ public class BattlePlayer implements Players {
    *         and 4 if the belt is large
    */
   public int getBeltUnitsRequirement(BeltSizes size) {
-    if (size == BeltSizes.SMALL) {
-      return 1;
-    } else if (size == BeltSizes.MEDIUM) {
-      return 2;
-    } else {
-      return 4;
-    }
+    return size.getUnits();
   }
   
   /**
@@ -344,6 +385,7 @@ public class BattlePlayer implements Players {
    */
   private void useBelt(Gears gear, BeltSizes size) {
     this.beltsUsed.add(gear);
+    this.usedBelts = null;
     gear.setIfGearUsedByPlayer(true);
     this.beltUnits -= this.getBeltUnitsRequirement(size);
   }
@@ -354,14 +396,18 @@ public class BattlePlayer implements Players {
    * @param gear received gear from armory
    */
   private void useGear(Gears gear) {
-    char gearType = gear.getGearId().charAt(0);
-    if (gearType == 'H') {
-      this.useHeadGear(gear);
-    } else if (gearType == 'F') {
-      this.useFootwear(gear);
-    } else if (gearType == 'B') {
-      BeltSizes size = ((Belts) gear).getBeltSize();
-      this.useBelt(gear, size);
+    switch (gear.getGearKind()) {
+      case HEADGEAR:
+        this.useHeadGear(gear);
+        break;
+      case FOOTWEAR:
+        this.useFootwear(gear);
+        break;
+      case BELT:
+        this.useBelt(gear, ((Belts) gear).getBeltSize());
+        break;
+      default:
+        break;
     }
   }
   
@@ -407,12 +453,73 @@ public class BattlePlayer implements Players {
       this.temporaryConstitution = 0;
       this.temporaryDexterity = 0;
       this.temporaryCharisma = 0;
+      this.updateEffectiveAbilities();
       return 0;
     }
     this.temporaryEffectStrikes -= 1;
     return this.temporaryEffectStrikes;
   }
 
+  /**
+   * Get an ability of the player as it was when the player was called, 
+   * before any gear.
+   * 
+   * @param ability ability
+   * @return initial ability
+   */
+  int getInitialAbility(Ability ability) {
+    switch (ability) {
+      case STRENGTH:
+        return this.initialStrength;
+      case CONSTITUTION:
+        return this.initialConstitution;
+      case DEXTERITY:
+        return this.initialDexterity;
+      default:
+        return this.initialCharisma;
+    }
+  }
+  
+  /**
+   * Get the strength gained from the potions, until their effect wears 
+   * off.
+   * 
+   * @return temporary strength
+   */
+  int getTemporaryStrength() {
+    return this.temporaryStrength;
+  }
+  
+  /**
+   * Get the constitution gained from the potions, until their effect 
+   * wears off.
+   * 
+   * @return temporary constitution
+   */
+  int getTemporaryConstitution() {
+    return this.temporaryConstitution;
+  }
+  
+  /**
+   * Get the dexterity gained from the potions, until their effect wears 
+   * off.
+   * 
+   * @return temporary dexterity
+   */
+  int getTemporaryDexterity() {
+    return this.temporaryDexterity;
+  }
+  
+  /**
+   * Get the count of strikes left on the temporary effect, as checked at 
+   * the start of every strike of the player.
+   * 
+   * @return temporary effect strikes
+   */
+  int getTemporaryEffectStrikes() {
+    return this.temporaryEffectStrikes;
+  }
+
   @Override
   public int getInitialHealth() {
     return this.initialPlayerHealth;
@@ -430,42 +537,42 @@ public class BattlePlayer implements Players {
 
   @Override
   public int getStrikingPower() throws IllegalStateException {
-    if (this.equipments.size() == 0 || this.weapon.size() == 0) {
+    if (!this.isReadyToFight) {
       throw new IllegalStateException("Player must be equipped with gears "
           + "and weapon before striking!");
     }
     int randomPower = this.random.getRandomNumber(1, 10);
-    return this.strength + this.temporaryStrength + randomPower;
+    return this.effectiveStrength + randomPower;
   }
 
   @Override
   public int getAvoidanceAbility() throws IllegalStateException {
-    if (this.equipments.size() == 0 || this.weapon.size() == 0) {
+    if (!this.isReadyToFight) {
       throw new IllegalStateException("Player must be equipped with gears "
           + "and weapon before avoiding!");
     }
     int randomPower = this.random.getRandomNumber(1, 6);
-    return this.dexterity + this.temporaryDexterity + randomPower;
+    return this.effectiveDexterity + randomPower;
   }
     
   @Override
   public int getStrength() {
-    return this.strength + this.temporaryStrength;
+    return this.effectiveStrength;
   }
 
   @Override
   public int getConstitution() {
-    return this.constitution + this.temporaryConstitution;
+    return this.effectiveConstitution;
   }
 
   @Override
   public int getDexterity() {
-    return this.dexterity + this.temporaryDexterity;
+    return this.effectiveDexterity;
   }
 
   @Override
   public int getCharisma() {
-    return this.charisma + this.temporaryCharisma;
+    return this.effectiveCharisma;
   }
 
   @Override
@@ -476,26 +583,112 @@ public class BattlePlayer implements Players {
     this.constitution = this.initialConstitution;
     this.dexterity = this.initialDexterity;
     this.charisma = this.initialCharisma;
+    this.updateEffectiveAbilities();
   }
 
+  /**
+   * Get the weapons used by the player. The list cannot be changed, and 
+   * keeps holding the weapons of its own battle after a rematch.
+   * 
+   * @return list of weapons used by the player
+   */
   @Override
   public List<Weapons> getWeaponsUsed() {
-    return this.weapon;
+    if (this.weaponsUsed == null) {
+      this.weaponsUsed = List.copyOf(this.weapon);
+    }
+    return this.weaponsUsed;
   }
 
   
+  /**
+   * Get the damage the weapons of the player do in a strike. The least 
+   * damage and the span of every weapon are looked up in a table, built 
+   * once the player has their gears and weapons, holding both the values 
+   * with the temporary effect and the values after it wore off; only the 
+   * damage roll is left to do. The rolls are made with the generator of 
+   * every weapon, exactly as the weapons roll them.
+   * 
+   * @return weapon damage
+   */
+  @Override
+  public int getWeaponDamage() {
+    if (this.weaponDamageTable == null) {
+      this.buildWeaponDamageTable();
+    }
+    int[] table = this.weaponDamageTable;
+    // The heavy weapons only depend on strength and dexterity.
+    int column = this.temporaryStrength != 0 || this.temporaryDexterity != 0 ? 0 : 2;
+    int weaponDamage = 0;
+    for (int i = 0; i < this.weaponRandom.length; i++) {
+      RandomNumberGenerator rand = this.weaponRandom[i];
+      if (rand == null) {
+        weaponDamage += this.weapon.get(i).getStrikePower(this);
+      } else {
+        weaponDamage += rand.getRandomNumber(0, table[4 * i + column + 1]) 
+            + table[4 * i + column];
+      }
+    }
+    return weaponDamage;
+  }
+  
+  /**
+   * Build the table of the least damage and the damage span of every 
+   * weapon, with and without the temporary effect. The ranges are those 
+   * {@link AbstractWeapons#getStrikePower(Players)} rolls from, which 
+   * subclasses cannot change. Other weapons roll their own damage.
+   */
+  private void buildWeaponDamageTable() {
+    int weapons = this.weapon.size();
+    int[] table = new int[4 * weapons];
+    this.weaponRandom = new RandomNumberGenerator[weapons];
+    for (int i = 0; i < weapons; i++) {
+      Weapons w = this.weapon.get(i);
+      if (w instanceof AbstractWeapons) {
+        this.weaponRandom[i] = ((AbstractWeapons) w).getRandom();
+      }
+      WeaponKind kind = w.getWeaponKind();
+      boolean boosted = kind.canWieldFully(this.getStrength(), this.getDexterity());
+      boolean base = kind.canWieldFully(this.strength, this.dexterity);
+      table[4 * i] = kind.getMinimumDamage(boosted);
+      table[4 * i + 1] = kind.getDamageSpan(boosted);
+      table[4 * i + 2] = kind.getMinimumDamage(base);
+      table[4 * i + 3] = kind.getDamageSpan(base);
+    }
+    this.weaponDamageTable = table;
+  }
+
   @Override
   public List<String> getWeaponIdUsed() {
-    List<String> weapons = new ArrayList<>();
-    
-    for (Weapons w : this.weapon) {
-      weapons.add(w.getWeaponId());
+    // The weapons do not change until the next rematch, so the list is 
+    // built once after receiving them.
+    if (this.weaponIds == null) {
+      List<String> weapons = new ArrayList<>();
+      
+      for (Weapons w : this.weapon) {
+        weapons.add(w.getWeaponId());
+      }
+      this.weaponIds = Collections.unmodifiableList(weapons);
     }
-    return weapons;
+    return this.weaponIds;
   }
   
   @Override
   public List<String> getSortedGears() {
+    // The gears do not change until the next rematch, so they are sorted 
+    // once after equipping them.
+    if (this.sortedGears == null) {
+      this.sortedGears = Collections.unmodifiableList(this.sortGears());
+    }
+    return this.sortedGears;
+  }
+  
+  /**
+   * Sort the ids of the gears used by the player.
+   * 
+   * @return sorted list of gear id
+   */
+  private List<String> sortGears() {
     List<String> sortedHeadGears = new ArrayList<>();
     
     for (Gears hg : this.headGearUsed) {
@@ -533,13 +726,25 @@ public class BattlePlayer implements Players {
     return sortedGears;
   }
 
+  /**
+   * Get the belts used by the player. The list cannot be changed, and 
+   * keeps holding the belts of its own battle after a rematch.
+   * 
+   * @return list of used belts
+   */
   @Override
   public List<Gears> getUsedBelts() {
-    return this.beltsUsed;
+    if (this.usedBelts == null) {
+      this.usedBelts = List.copyOf(this.beltsUsed);
+    }
+    return this.usedBelts;
   }
   
   /**
-   * Setting up place for a new set of equipments/gears and weapons.
+   * Setting up place for a new set of equipments/gears and weapons. The 
+   * lists are created once and cleared in place for every rematch, 
+   * while the lists handed out by {@link #getWeaponsUsed()} and 
+   * {@link #getUsedBelts()} are copies, left as they were.
    */
   private void refreshPlayer() {
     this.temporaryStrength = 0;
@@ -550,11 +755,27 @@ public class BattlePlayer implements Players {
     this.headgearUnits = 1;
     this.footwearUnits = 1;
     this.beltUnits = 10;
-    this.equipments = new ArrayList<>();
-    this.headGearUsed = new ArrayList<>();
-    this.footWearUsed = new ArrayList<>();
-    this.beltsUsed = new ArrayList<>();
-    this.potionsUsed = new ArrayList<>();
-    this.weapon = new ArrayList<>();
+    if (this.equipments == null) {
+      this.equipments = new ArrayList<>(20);
+      this.headGearUsed = new ArrayList<>(1);
+      this.footWearUsed = new ArrayList<>(1);
+      this.beltsUsed = new ArrayList<>();
+      this.potionsUsed = new ArrayList<>();
+      this.weapon = new ArrayList<>(2);
+    } else {
+      this.equipments.clear();
+      this.headGearUsed.clear();
+      this.footWearUsed.clear();
+      this.beltsUsed.clear();
+      this.potionsUsed.clear();
+      this.weapon.clear();
+    }
+    this.sortedGears = null;
+    this.weaponIds = null;
+    this.weaponsUsed = null;
+    this.usedBelts = null;
+    this.weaponDamageTable = null;
+    this.updateEffectiveAbilities();
+    this.updateReadiness();
   }
 }
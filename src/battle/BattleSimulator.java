@@ -0,0 +1,108 @@
+package battle;
+
+import java.util.List;
+
+/**
+ * A headless simulator that plays batches of battles between the same pair
+ * of player identifiers without any console interaction. Each battle is set
+ * up on a fresh {@link BattleModel} and played turn by turn until a winner
+ * is declared or the turns turn redundant. No turn details are rendered, so
+ * the cost of a battle is only the cost of playing it.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BattleSimulator {
+
+  private final int playerOneId;
+  private final int playerTwoId;
+  private final RandomNumberGenerator random;
+
+  /**
+   * Construct a battle simulator for a pair of players.
+   *
+   * @param playerOneId Player 1 identifier
+   * @param playerTwoId Player 2 identifier
+   * @param rand Random Number Generator shared by every simulated battle
+   * @throws IllegalArgumentException if the random number generator
+   *                                  is null
+   */
+  public BattleSimulator(int playerOneId, int playerTwoId,
+      RandomNumberGenerator rand) throws IllegalArgumentException {
+    if (rand == null) {
+      throw new IllegalArgumentException("Random Number Generator cannot be null.");
+    }
+    this.playerOneId = playerOneId;
+    this.playerTwoId = playerTwoId;
+    this.random = rand;
+  }
+
+  /**
+   * Construct a battle simulator for a pair of players, seeded so that
+   * the simulated battles can be reproduced. The battles draw their numbers
+   * from a {@link SplittableRandomNumberGenerator}.
+   *
+   * @param playerOneId Player 1 identifier
+   * @param playerTwoId Player 2 identifier
+   * @param seed seed of the random number generator
+   */
+  public BattleSimulator(int playerOneId, int playerTwoId, long seed) {
+    this(playerOneId, playerTwoId, new SplittableRandomNumberGenerator(seed));
+  }
+
+  /**
+   * Play the given number of battles and aggregate their results.
+   *
+   * @param matches number of battles to play
+   * @return aggregate result of the battles
+   * @throws IllegalArgumentException if the number of battles is negative
+   */
+  public SimulationResult runMatches(long matches) throws IllegalArgumentException {
+    if (matches < 0) {
+      throw new IllegalArgumentException("The number of matches cannot "
+          + "be negative.");
+    }
+
+    long playerOneWins = 0;
+    long playerTwoWins = 0;
+    long draws = 0;
+    long totalTurns = 0;
+    long start = System.nanoTime();
+
+    for (long i = 0; i < matches; i++) {
+      BattleModel battle = this.playMatch();
+      List<Players> winner = battle.getWinner();
+
+      if (winner.size() > 1) {
+        draws++;
+      } else if (winner.get(0) == battle.getPlayers().get(0)) {
+        playerOneWins++;
+      } else {
+        playerTwoWins++;
+      }
+      totalTurns += battle.getTurnCount();
+    }
+
+    return new SimulationResult(playerOneWins, playerTwoWins, draws,
+        totalTurns, System.nanoTime() - start);
+  }
+
+  /**
+   * Play a single battle from calling the players until the battle is over.
+   *
+   * @return the finished battle
+   */
+  private BattleModel playMatch() {
+    BattleModel battle = new BattleModel(this.random);
+    battle.callPlayers(this.playerOneId, this.playerTwoId);
+    battle.preparePlayers();
+    battle.startGame();
+
+    // The winner list is filled as soon as the battle is over, either by
+    // a defeat or by redundant turns.
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+    }
+    return battle;
+  }
+}
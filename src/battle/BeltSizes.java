@@ -1,11 +1,41 @@
 package battle;
 
 /**
- * The belts come in three sizes: small, medium, and large.
+ * The belts come in three sizes: small, medium, and large. The larger 
+ * the belt, the more it protects and the more it restricts movement.
  * 
  * @author Ashwini Shaktivel Kumar
  *
  */
 public enum BeltSizes {
-  SMALL, MEDIUM, LARGE
+  SMALL(1, new GearEffect(0, 1, -1, 0)), 
+  MEDIUM(2, new GearEffect(0, 2, -2, 0)), 
+  LARGE(4, new GearEffect(0, 3, -2, 0));
+  
+  private final int units;
+  private final GearEffect effect;
+  
+  BeltSizes(int units, GearEffect effect) {
+    this.units = units;
+    this.effect = effect;
+  }
+  
+  /**
+   * Get the number of belt units a belt of this size takes up.
+   * 
+   * @return 1 if the belt is small, 2 if it is medium sized and 4 if it 
+   *         is large
+   */
+  public int getUnits() {
+    return this.units;
+  }
+  
+  /**
+   * Get the effect of a belt of this size on the player abilities.
+   * 
+   * @return belt effect
+   */
+  public GearEffect getEffect() {
+    return this.effect;
+  }
 }
@@ -1,8 +1,5 @@
 package battle;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Class representing belt gears. Belts come in three sizes ({@link BeltSizes}) 
  * and are worn around the player's torso affecting the constitution 
@@ -45,28 +42,13 @@ public class Belts extends AbstractGears {
   }
 
   @Override
-  public Map<String, Integer> checkEffectOfGear() {
-    int effectConstitution = 0;
-    int effectDexterity = 0;
-    
-    if (this.beltSize == BeltSizes.SMALL) {
-      effectConstitution = 1;
-      effectDexterity = -1;
-    } else if (this.beltSize == BeltSizes.MEDIUM) {
-      effectConstitution = 2;
-      effectDexterity = -2;
-    } else {
-      effectConstitution = 3;
-      effectDexterity = -2;
-    }
-    
-    Map<String, Integer> map = new HashMap();
-    map.put("Strength", 0);
-    map.put("Constitution",  effectConstitution);
-    map.put("Dexterity", effectDexterity);
-    map.put("Charisma", 0);
-    
-    return map;
+  public GearKind getGearKind() {
+    return GearKind.BELT;
+  }
+
+  @Override
+  public GearEffect getEffect() {
+    return this.beltSize.getEffect();
   }
   
   /**
@@ -29,4 +29,9 @@ public class BroadSwords extends AbstractWeapons {
   public String getWeaponId() {
     return this.broadSwordId;
   }
+
+  @Override
+  public WeaponKind getWeaponKind() {
+    return WeaponKind.BROAD_SWORD;
+  }
 }
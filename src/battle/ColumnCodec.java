@@ -0,0 +1,429 @@
+package battle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The encodings of the columns of a match results file, as written by a
+ * {@link MatchResultExporter} and read by a {@link MatchResultReader}.
+ * Every column of a batch is written as a 4-byte length followed by the
+ * encoded values, so a reader may skip the columns it does not need.
+ *
+ * <p>A column of numbers is written in whichever of three encodings is
+ * the smallest for the batch: plain variable-length integers, runs of
+ * equal values, or a sorted dictionary of the distinct values followed
+ * by the indexes of the values in the dictionary, packed in as few bits
+ * as the dictionary needs. A column of text is written as a dictionary of
+ * the distinct texts followed by their indexes as a column of numbers. A
+ * column of lists of ids, such as the gears of a player, is written as a
+ * dictionary of the distinct ids followed by the lengths of the lists and
+ * the indexes of all their ids as two columns of numbers, so an id takes
+ * a few bits whatever the combination of ids it appears in.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+final class ColumnCodec {
+
+  /** Magic number at the start of every results file, "BTLX". */
+  static final int MAGIC = 0x42544C58;
+  /** Version of the format. */
+  static final byte VERSION = 1;
+  /** Separator of the ids of a list when read as a single text. */
+  static final String LIST_SEPARATOR = ";";
+
+  private static final byte PLAIN = 0;
+  private static final byte RUN_LENGTH = 1;
+  private static final byte DICTIONARY = 2;
+  private static final int LENGTH_BYTES = 4;
+
+  private ColumnCodec() {
+  }
+
+  /**
+   * Make sure a buffer has room for a number of bytes, moving its content
+   * to a larger buffer if needed.
+   *
+   * @param buffer buffer being written
+   * @param bytes bytes about to be written
+   * @return buffer with room for the bytes
+   */
+  static ByteBuffer ensureRemaining(ByteBuffer buffer, int bytes) {
+    if (buffer.remaining() >= bytes) {
+      return buffer;
+    }
+    int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+    ByteBuffer larger = ByteBuffer.allocate(capacity);
+    buffer.flip();
+    larger.put(buffer);
+    return larger;
+  }
+
+  /**
+   * Get the number of bytes of an int written as a variable-length
+   * integer.
+   *
+   * @param value number
+   * @return bytes
+   */
+  private static int getIntSize(int value) {
+    int bits = (value << 1) ^ (value >> 31);
+    return bits == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(bits)) / 7;
+  }
+
+  /**
+   * Write a string with its length.
+   *
+   * @param buffer buffer being written
+   * @param value string
+   * @return buffer written to
+   */
+  static ByteBuffer putString(ByteBuffer buffer, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer out = ensureRemaining(buffer, ReplayFormat.MAX_INT_BYTES + bytes.length);
+    ReplayFormat.putInt(out, bytes.length);
+    out.put(bytes);
+    return out;
+  }
+
+  /**
+   * Read a string written with its length.
+   *
+   * @param buffer buffer positioned at the string
+   * @return string
+   */
+  static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[ReplayFormat.getInt(buffer)];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Write a column of numbers in its smallest encoding, after its length.
+   *
+   * @param buffer buffer being written
+   * @param values values of the column
+   * @param count number of values
+   * @param scratch array of at least as many values, overwritten
+   * @return buffer written to
+   */
+  static ByteBuffer putInts(ByteBuffer buffer, int[] values, int count, int[] scratch) {
+    int plainSize = 0;
+    int runs = 0;
+    int runSize = 0;
+    for (int i = 0; i < count; i++) {
+      plainSize += getIntSize(values[i]);
+      if (i == 0 || values[i] != values[i - 1]) {
+        int length = 1;
+        while (i + length < count && values[i + length] == values[i]) {
+          length++;
+        }
+        runs++;
+        runSize += getIntSize(values[i]) + getIntSize(length);
+      }
+    }
+    runSize += getIntSize(runs);
+
+    System.arraycopy(values, 0, scratch, 0, count);
+    Arrays.sort(scratch, 0, count);
+    int distinct = 0;
+    int dictionarySize = 0;
+    for (int i = 0; i < count; i++) {
+      if (i == 0 || scratch[i] != scratch[i - 1]) {
+        scratch[distinct++] = scratch[i];
+        dictionarySize += getIntSize(scratch[i]);
+      }
+    }
+    int width = getBitWidth(distinct);
+    dictionarySize += getIntSize(distinct) + 1 + (int) (((long) count * width + 7) / 8);
+
+    int size = Math.min(plainSize, Math.min(runSize, dictionarySize));
+    ByteBuffer out = ensureRemaining(buffer, LENGTH_BYTES + 1 + size);
+    out.putInt(1 + size);
+    if (size == runSize) {
+      out.put(RUN_LENGTH);
+      ReplayFormat.putInt(out, runs);
+      for (int i = 0; i < count; i++) {
+        int length = 1;
+        while (i + length < count && values[i + length] == values[i]) {
+          length++;
+        }
+        ReplayFormat.putInt(out, values[i]);
+        ReplayFormat.putInt(out, length);
+        i += length - 1;
+      }
+    } else if (size == dictionarySize) {
+      out.put(DICTIONARY);
+      ReplayFormat.putInt(out, distinct);
+      for (int i = 0; i < distinct; i++) {
+        ReplayFormat.putInt(out, scratch[i]);
+      }
+      out.put((byte) width);
+      long bits = 0;
+      int used = 0;
+      for (int i = 0; i < count; i++) {
+        bits |= (long) Arrays.binarySearch(scratch, 0, distinct, values[i]) << used;
+        used += width;
+        while (used >= 8) {
+          out.put((byte) bits);
+          bits >>>= 8;
+          used -= 8;
+        }
+      }
+      if (used > 0) {
+        out.put((byte) bits);
+      }
+    } else {
+      out.put(PLAIN);
+      for (int i = 0; i < count; i++) {
+        ReplayFormat.putInt(out, values[i]);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Get the number of bits needed to tell apart a number of values.
+   *
+   * @param distinct number of values
+   * @return bits, 0 for a single value
+   */
+  private static int getBitWidth(int distinct) {
+    return distinct <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(distinct - 1);
+  }
+
+  /**
+   * Read a column of numbers written after its length.
+   *
+   * @param buffer buffer positioned at the length of the column
+   * @param values array the values are read into
+   * @param count number of values
+   * @throws IllegalStateException if the column is malformed
+   */
+  static void getInts(ByteBuffer buffer, int[] values, int count) throws
+      IllegalStateException {
+    buffer.getInt();
+    byte encoding = buffer.get();
+    if (encoding == PLAIN) {
+      for (int i = 0; i < count; i++) {
+        values[i] = ReplayFormat.getInt(buffer);
+      }
+    } else if (encoding == RUN_LENGTH) {
+      int runs = ReplayFormat.getInt(buffer);
+      int i = 0;
+      for (int r = 0; r < runs; r++) {
+        int value = ReplayFormat.getInt(buffer);
+        int length = ReplayFormat.getInt(buffer);
+        if (length < 1 || i + length > count) {
+          throw new IllegalStateException("The results file holds a malformed run.");
+        }
+        Arrays.fill(values, i, i + length, value);
+        i += length;
+      }
+    } else if (encoding == DICTIONARY) {
+      int[] dictionary = new int[ReplayFormat.getInt(buffer)];
+      for (int d = 0; d < dictionary.length; d++) {
+        dictionary[d] = ReplayFormat.getInt(buffer);
+      }
+      int width = buffer.get();
+      long mask = (1L << width) - 1;
+      long bits = 0;
+      int available = 0;
+      for (int i = 0; i < count; i++) {
+        while (available < width) {
+          bits |= (long) (buffer.get() & 0xFF) << available;
+          available += 8;
+        }
+        values[i] = dictionary[(int) (bits & mask)];
+        bits >>>= width;
+        available -= width;
+      }
+    } else {
+      throw new IllegalStateException("The results file holds an unknown "
+          + "encoding " + encoding + ".");
+    }
+  }
+
+  /**
+   * Write a column of text as a dictionary and the indexes of the values,
+   * after its length.
+   *
+   * @param buffer buffer being written
+   * @param values values of the column
+   * @param count number of values
+   * @param indexes array of at least as many values, overwritten
+   * @param scratch array of at least as many values, overwritten
+   * @return buffer written to
+   */
+  static ByteBuffer putStrings(ByteBuffer buffer, String[] values, int count,
+      int[] indexes, int[] scratch) {
+    ByteBuffer out = ensureRemaining(buffer, LENGTH_BYTES);
+    int start = out.position();
+    out.putInt(0);
+    Map<String, Integer> dictionary = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      indexes[i] = getIndex(dictionary, values[i]);
+    }
+    out = putDictionary(out, dictionary);
+    out = putInts(out, indexes, count, scratch);
+    out.putInt(start, out.position() - start - LENGTH_BYTES);
+    return out;
+  }
+
+  /**
+   * Write a column of lists of ids as a dictionary, the lengths of the
+   * lists and the indexes of their ids, after its length.
+   *
+   * @param buffer buffer being written
+   * @param values values of the column
+   * @param count number of values
+   * @param lengths array of at least as many values, overwritten
+   * @param scratch array of at least as many values, overwritten
+   * @return buffer written to
+   */
+  static ByteBuffer putLists(ByteBuffer buffer, List<String>[] values, int count,
+      int[] lengths, int[] scratch) {
+    ByteBuffer out = ensureRemaining(buffer, LENGTH_BYTES);
+    int start = out.position();
+    out.putInt(0);
+    int total = 0;
+    for (int i = 0; i < count; i++) {
+      lengths[i] = values[i].size();
+      total += lengths[i];
+    }
+    Map<String, Integer> dictionary = new HashMap<>();
+    int[] indexes = new int[total];
+    int next = 0;
+    for (int i = 0; i < count; i++) {
+      for (String id : values[i]) {
+        indexes[next++] = getIndex(dictionary, id);
+      }
+    }
+    out = putDictionary(out, dictionary);
+    out = putInts(out, lengths, count, scratch);
+    out = putInts(out, indexes, total, new int[total]);
+    out.putInt(start, out.position() - start - LENGTH_BYTES);
+    return out;
+  }
+
+  /**
+   * Get the index of a text in a dictionary, adding it if needed.
+   *
+   * @param dictionary indexes of the texts by text
+   * @param value text
+   * @return index
+   */
+  private static int getIndex(Map<String, Integer> dictionary, String value) {
+    Integer index = dictionary.get(value);
+    if (index == null) {
+      index = dictionary.size();
+      dictionary.put(value, index);
+    }
+    return index;
+  }
+
+  /**
+   * Write the texts of a dictionary in the order of their indexes.
+   *
+   * @param buffer buffer being written
+   * @param dictionary indexes of the texts by text
+   * @return buffer written to
+   */
+  private static ByteBuffer putDictionary(ByteBuffer buffer,
+      Map<String, Integer> dictionary) {
+    String[] entries = new String[dictionary.size()];
+    for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+      entries[entry.getValue()] = entry.getKey();
+    }
+    ByteBuffer out = ensureRemaining(buffer, ReplayFormat.MAX_INT_BYTES);
+    ReplayFormat.putInt(out, entries.length);
+    for (String entry : entries) {
+      out = putString(out, entry);
+    }
+    return out;
+  }
+
+  /**
+   * Read the texts of a dictionary.
+   *
+   * @param buffer buffer positioned at the dictionary
+   * @return texts in the order of their indexes
+   */
+  private static String[] getDictionary(ByteBuffer buffer) {
+    String[] entries = new String[ReplayFormat.getInt(buffer)];
+    for (int d = 0; d < entries.length; d++) {
+      entries[d] = getString(buffer);
+    }
+    return entries;
+  }
+
+  /**
+   * Read a column of text written after its length.
+   *
+   * @param buffer buffer positioned at the length of the column
+   * @param values array the values are read into
+   * @param count number of values
+   * @param indexes array of at least as many values, overwritten
+   * @throws IllegalStateException if the column is malformed
+   */
+  static void getStrings(ByteBuffer buffer, String[] values, int count,
+      int[] indexes) throws IllegalStateException {
+    buffer.getInt();
+    String[] entries = getDictionary(buffer);
+    getInts(buffer, indexes, count);
+    for (int i = 0; i < count; i++) {
+      if (indexes[i] < 0 || indexes[i] >= entries.length) {
+        throw new IllegalStateException("The results file holds a malformed "
+            + "text column.");
+      }
+      values[i] = entries[indexes[i]];
+    }
+  }
+
+  /**
+   * Read a column of lists of ids written after its length, every list
+   * as its ids separated by {@link #LIST_SEPARATOR}.
+   *
+   * @param buffer buffer positioned at the length of the column
+   * @param values array the values are read into
+   * @param count number of values
+   * @param lengths array of at least as many values, overwritten
+   * @throws IllegalStateException if the column is malformed
+   */
+  static void getLists(ByteBuffer buffer, String[] values, int count,
+      int[] lengths) throws IllegalStateException {
+    buffer.getInt();
+    String[] entries = getDictionary(buffer);
+    getInts(buffer, lengths, count);
+    int total = 0;
+    for (int i = 0; i < count; i++) {
+      if (lengths[i] < 0) {
+        throw new IllegalStateException("The results file holds a malformed "
+            + "list column.");
+      }
+      total += lengths[i];
+    }
+    int[] indexes = new int[total];
+    getInts(buffer, indexes, total);
+    StringBuilder list = new StringBuilder();
+    int next = 0;
+    for (int i = 0; i < count; i++) {
+      list.setLength(0);
+      for (int j = 0; j < lengths[i]; j++, next++) {
+        if (indexes[next] < 0 || indexes[next] >= entries.length) {
+          throw new IllegalStateException("The results file holds a malformed "
+              + "list column.");
+        }
+        if (j > 0) {
+          list.append(LIST_SEPARATOR);
+        }
+        list.append(entries[indexes[next]]);
+      }
+      values[i] = list.toString();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package battle;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * An armory that any number of threads may request weapons from at once,
+ * as when the players of a large arena are prepared in parallel. The
+ * weapons of each kind form a stack, and a weapon is claimed by moving
+ * the top of its stack down with a compare-and-set, so no lock is taken
+ * and no weapon is ever handed out twice. A request that loses a race
+ * for the last weapons of a kind draws again from what is left.
+ *
+ * <p>Weapons are handed out with the same rules as the {@link Armory}: a
+ * weapon is drawn at random among all the weapons left, a Katana is
+ * handed out with a second Katana, and a lone Katana is put aside for
+ * another weapon. Both Katanas of a pair are claimed in one step.
+ *
+ * <p>The draws are made from the generator of the armory, so the weapons
+ * handed out are reproducible from its seed and can be recorded. A
+ * {@link SplittableRandomNumberGenerator} is not safe to share, so every
+ * requesting thread draws from its own generator split from it on its
+ * first request; the weapons each thread gets are then reproducible as
+ * long as the threads make their first requests in the same order, and
+ * a single thread always gets the same weapons. Any other generator is
+ * drawn from by all the threads, so it must be safe to share, as
+ * {@link RandomNumberGeneratorDev} is. The generator of the armory is
+ * also used by the weapons to roll their damage, so it must be safe to
+ * share if the players strike in several threads.
+ *
+ * <p>Filling the armory again with {@link #reset()} must not overlap with
+ * weapon requests.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class ConcurrentArmory extends Armory {
+
+  private static final WeaponKind[] KINDS = WeaponKind.values();
+  private static final int KATANA = WeaponKind.KATANA.ordinal();
+
+  private final AtomicIntegerArray weaponsLeft;
+  private final RandomNumberGenerator random;
+  private final ThreadLocal<RandomNumberGenerator> threadRandom;
+
+  /**
+   * Construct a concurrent armory with atleast 1 unit of each type of
+   * weapon.
+   *
+   * @param rand Random Numbers Generator
+   */
+  public ConcurrentArmory(RandomNumberGenerator rand) {
+    this(rand, 1);
+  }
+
+  /**
+   * Construct a concurrent armory for a larger arena. The number of
+   * weapons of each type drawn for a regular armory is multiplied by the
+   * scale.
+   *
+   * @param rand Random Numbers Generator
+   * @param scale multiple of a regular armory
+   * @throws IllegalArgumentException if the random number generator is
+   *                                  null or the scale is less than 1
+   */
+  public ConcurrentArmory(RandomNumberGenerator rand, int scale) throws
+      IllegalArgumentException {
+    super(rand, scale);
+    this.weaponsLeft = new AtomicIntegerArray(KINDS.length);
+    this.random = rand;
+    this.threadRandom = ThreadLocal.withInitial(this::splitRandom);
+    this.restock();
+  }
+
+  /**
+   * Get the generator a thread draws from on its first request: a
+   * generator split from the generator of the armory if it can be split,
+   * the generator of the armory itself otherwise.
+   *
+   * @return generator of the requesting thread
+   */
+  private RandomNumberGenerator splitRandom() {
+    if (!(this.random instanceof SplittableRandomNumberGenerator)) {
+      return this.random;
+    }
+    // Splitting advances the generator of the armory.
+    synchronized (this.random) {
+      return ((SplittableRandomNumberGenerator) this.random).split();
+    }
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    this.restock();
+  }
+
+  /**
+   * Put every weapon of the armory back on its stack.
+   */
+  private void restock() {
+    for (WeaponKind kind : KINDS) {
+      this.weaponsLeft.set(kind.ordinal(), this.getWeaponCount(kind));
+    }
+  }
+
+  /**
+   * Get the number of weapons of a kind left in the armory.
+   *
+   * @param kind weapon kind
+   * @return weapons left
+   */
+  public int getWeaponsLeft(WeaponKind kind) {
+    return this.weaponsLeft.get(kind.ordinal());
+  }
+
+  @Override
+  void handOutWeapon(List<Weapons> weaponAssignedToPlayer) throws
+      IllegalStateException {
+    RandomNumberGenerator random = this.threadRandom.get();
+    while (true) {
+      int total = 0;
+      for (int k = 0; k < KINDS.length; k++) {
+        total += this.weaponsLeft.get(k);
+      }
+      if (total < 2) {
+        throw new IllegalStateException("Weapons unavailable in armory. "
+            + "Please refresh arena.");
+      }
+      int kind = this.drawKind(random.getRandomNumber(0, total), -1);
+      if (kind < 0) {
+        // The weapons drawn from were claimed meanwhile.
+        continue;
+      }
+      int left = this.weaponsLeft.get(kind);
+      if (kind != KATANA) {
+        if (left > 0 && this.weaponsLeft.compareAndSet(kind, left, left - 1)) {
+          weaponAssignedToPlayer.add(this.getWeapon(KINDS[kind], left - 1));
+          return;
+        }
+      } else if (left >= 2) {
+        if (this.weaponsLeft.compareAndSet(kind, left, left - 2)) {
+          weaponAssignedToPlayer.add(this.getWeapon(WeaponKind.KATANA, left - 1));
+          weaponAssignedToPlayer.add(this.getWeapon(WeaponKind.KATANA, left - 2));
+          return;
+        }
+      } else if (left == 1 && this.weaponsLeft.compareAndSet(kind, 1, 0)) {
+        // A lone Katana is put aside and another weapon handed out.
+        this.handOutOtherWeapon(weaponAssignedToPlayer, random);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Hand out a weapon other than a Katana, drawn among the weapons left.
+   *
+   * @param weaponAssignedToPlayer list the weapon is added to
+   * @param random random numbers of the requesting thread
+   * @throws IllegalStateException if no weapon other than a Katana is left
+   */
+  private void handOutOtherWeapon(List<Weapons> weaponAssignedToPlayer,
+      RandomNumberGenerator random) throws IllegalStateException {
+    while (true) {
+      int total = 0;
+      for (int k = 0; k < KINDS.length; k++) {
+        total += k == KATANA ? 0 : this.weaponsLeft.get(k);
+      }
+      if (total < 1) {
+        throw new IllegalStateException("Weapons unavailable in armory. "
+            + "Please refresh arena.");
+      }
+      int kind = this.drawKind(random.getRandomNumber(0, total), KATANA);
+      if (kind < 0) {
+        continue;
+      }
+      int left = this.weaponsLeft.get(kind);
+      if (left > 0 && this.weaponsLeft.compareAndSet(kind, left, left - 1)) {
+        weaponAssignedToPlayer.add(this.getWeapon(KINDS[kind], left - 1));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Find the kind of the weapon at a position among the weapons left,
+   * counted kind by kind.
+   *
+   * @param position position of the weapon
+   * @param skipped kind left out of the count, -1 for none
+   * @return kind of the weapon, -1 if fewer weapons are left now
+   */
+  private int drawKind(int position, int skipped) {
+    int remaining = position;
+    for (int k = 0; k < KINDS.length; k++) {
+      if (k == skipped) {
+        continue;
+      }
+      remaining -= this.weaponsLeft.get(k);
+      if (remaining < 0) {
+        return k;
+      }
+    }
+    return -1;
+  }
+}
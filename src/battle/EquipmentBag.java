@@ -3,7 +3,6 @@ package battle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A class representing the equipment bag containing a variety 
@@ -16,13 +15,25 @@ import java.util.Map;
  */
 public class EquipmentBag {
   
+  private static final int MAX_HEADGEARS = 9;
+  private static final int MAX_FOOTWEARS = 9;
+  private static final int MAX_POTIONS = 29;
+  private static final int MAX_BELTS = 29;
+  
   private RandomNumberGenerator random;
-  private List<Gears> gearsInEquipmentBag;
+  private int scale;
+  private Headgear[] headgearPool;
+  private Footwear[] footwearPool;
+  private Potions[] potionPool;
+  private Belts[][] beltPool;
+  private int[] randBeltSize;
+  private Gears[] gearsInEquipmentBag;
+  private int[] gearsLeftTree;
+  private final int[] dealtPositions = new int[20];
+  private int numberOfGearsAdded;
+  private int numberOfGearsInBag;
+  private int[] numberOfGearsOfKind;
   private boolean checkMinimumOfAllGearTypes;
-  private List<Gears> headgearsInBag;
-  private List<Gears> potionsInBag;
-  private List<Gears> beltsInBag;
-  private List<Gears> footwearInBag;
   
   /**
    * Construct an equipment bag with a number gears of each type 
@@ -39,49 +50,119 @@ public class EquipmentBag {
    *                               abilities.
    */
   public EquipmentBag(RandomNumberGenerator rand) throws IllegalStateException {
-    this.checkMinimumOfAllGearTypes = false;
-    this.gearsInEquipmentBag = new ArrayList<>();
-    this.headgearsInBag = new ArrayList<>();
-    this.footwearInBag = new ArrayList<>();
-    this.potionsInBag = new ArrayList<>();
-    this.beltsInBag = new ArrayList<>();
-    
+    this(rand, 1);
+  }
+  
+  /**
+   * Construct an equipment bag for a larger arena. The number of gears 
+   * of each type drawn for a regular bag is multiplied by the scale, so 
+   * a bag of scale n can equip n times as many players as a regular bag 
+   * and still holds the same mix of gears.
+   * 
+   * @param rand Random Numbers Generator
+   * @param scale multiple of a regular bag
+   * @throws IllegalArgumentException if the scale is less than 1
+   * @throws IllegalStateException if the number gears generate in each 
+   *                               type are not greater than or equal 
+   *                               to the minimum requirement or if
+   *                               25% of items in the bag do not have 
+   *                               a negative effect on the players' 
+   *                               abilities.
+   */
+  public EquipmentBag(RandomNumberGenerator rand, int scale) throws 
+      IllegalArgumentException, IllegalStateException {
+    if (scale < 1) {
+      throw new IllegalArgumentException("The scale of the equipment bag "
+          + "must be at least 1.");
+    }
     this.random = rand;
+    this.numberOfGearsOfKind = new int[GearKind.values().length];
+    
+    // The pools and the gear array are sized for the largest bag that can 
+    // be drawn, so refilling the bag never needs to grow them.
+    this.headgearPool = new Headgear[MAX_HEADGEARS * scale];
+    this.footwearPool = new Footwear[MAX_FOOTWEARS * scale];
+    this.potionPool = new Potions[MAX_POTIONS * scale];
+    this.beltPool = new Belts[BeltSizes.values().length][MAX_BELTS * scale];
+    this.gearsInEquipmentBag = new Gears[this.headgearPool.length 
+        + this.footwearPool.length + this.potionPool.length 
+        + this.beltPool[0].length];
+    this.gearsLeftTree = new int[this.gearsInEquipmentBag.length + 1];
+    this.scale = scale;
+    this.fill();
+  }
+  
+  /**
+   * Put the gears dealt back and refill the bag as a new bag. The bag 
+   * draws its gears exactly like a newly constructed bag of the same 
+   * scale, but the gears of the previous bag are reset and reused rather 
+   * than constructed again.
+   * 
+   * @throws IllegalStateException if the number gears generate in each 
+   *                               type are not greater than or equal 
+   *                               to the minimum requirement or if
+   *                               25% of items in the bag do not have 
+   *                               a negative effect on the players' 
+   *                               abilities.
+   */
+  public void reset() throws IllegalStateException {
+    this.fill();
+  }
+  
+  /**
+   * Fill the bag with a number gears of each type drawn at random.
+   * 
+   * @throws IllegalStateException if the bag is not filled as required
+   */
+  private void fill() throws IllegalStateException {
+    this.checkMinimumOfAllGearTypes = false;
     int i;
     
-    int numberOfHeadgears = this.random.getRandomNumber(0, 5) + 5;
+    int numberOfHeadgears = (this.random.getRandomNumber(0, 5) + 5) * this.scale;
+    int numberOfFootwears = (this.random.getRandomNumber(0, 5) + 5) * this.scale;
+    int numberOfPotions = (this.random.getRandomNumber(0, 15) + 15) * this.scale;
+    int numberOfBelts = (this.random.getRandomNumber(0, 15) + 15) * this.scale;
+    
+    Arrays.fill(this.gearsInEquipmentBag, null);
+    Arrays.fill(this.numberOfGearsOfKind, 0);
+    this.numberOfGearsAdded = 0;
+    this.numberOfGearsInBag = 0;
+    
     for (i = 0; i < numberOfHeadgears; i++) {
-      Gears hg = new Headgear(i + 1);
-      this.gearsInEquipmentBag.add(hg);
-      this.headgearsInBag.add(hg);
+      if (this.headgearPool[i] == null) {
+        this.headgearPool[i] = new Headgear(i + 1);
+      }
+      this.addGear(this.headgearPool[i]);
     }
     
-    int numberOfFootwears = this.random.getRandomNumber(0, 5) + 5;
     for (i = 0; i < numberOfFootwears; i++) {
-      Gears fw = new Footwear(i + 1);
-      this.gearsInEquipmentBag.add(fw);
-      this.footwearInBag.add(fw);
+      if (this.footwearPool[i] == null) {
+        this.footwearPool[i] = new Footwear(i + 1);
+      }
+      this.addGear(this.footwearPool[i]);
     }
     
-    int numberOfPotions = this.random.getRandomNumber(0, 15) + 15;
     for (i = 0; i < numberOfPotions; i++) {
-      Gears pot = new Potions(i + 1);
-      this.gearsInEquipmentBag.add(pot);
-      this.potionsInBag.add(pot);
+      if (this.potionPool[i] == null) {
+        this.potionPool[i] = new Potions(i + 1);
+      }
+      this.addGear(this.potionPool[i]);
     }
     
-    int numberOfBelts = this.random.getRandomNumber(0, 15) + 15;
-    List<BeltSizes> availableBeltSizes = Arrays.asList(BeltSizes.SMALL,
-        BeltSizes.MEDIUM, BeltSizes.LARGE); 
-    List<Integer> randBeltSize = this.random.getRepeatedRandomNumbersList(numberOfBelts, 
-        0, availableBeltSizes.size());
+    BeltSizes[] availableBeltSizes = BeltSizes.values(); 
+    if (this.randBeltSize == null || this.randBeltSize.length != numberOfBelts) {
+      this.randBeltSize = new int[numberOfBelts];
+    }
+    this.random.fillRandom(this.randBeltSize, 0, availableBeltSizes.length);
     for (i = 0; i < numberOfBelts; i++) {
-      BeltSizes bs = availableBeltSizes.get(randBeltSize.get(i));
-      Gears belt = new Belts(i + 1, bs);
-      this.gearsInEquipmentBag.add(belt);
-      this.beltsInBag.add(belt);
+      // Belts keep their size, so a belt is pooled for every size.
+      Belts[] pool = this.beltPool[this.randBeltSize[i]];
+      if (pool[i] == null) {
+        pool[i] = new Belts(i + 1, availableBeltSizes[this.randBeltSize[i]]);
+      }
+      this.addGear(pool[i]);
     }
-    
+    this.buildGearsLeftTree();
     
     if (!this.checkIfMinimumOfAllGearTypesInBag()) {
       throw new IllegalStateException("The equipment bag does not contain enough of all "
@@ -94,37 +175,139 @@ public class EquipmentBag {
           + "that are diminishing the player abilities.");
     }
   }
+  
+  /**
+   * Add a gear to the bag.
+   * 
+   * @param gear new gear
+   */
+  private void addGear(Gears gear) {
+    gear.reset();
+    this.gearsInEquipmentBag[this.numberOfGearsAdded] = gear;
+    this.numberOfGearsAdded++;
+    this.numberOfGearsInBag++;
+    this.numberOfGearsOfKind[gear.getGearKind().ordinal()]++;
+  }
  
+  /**
+   * Build the tree counting the gears left in the bag. Every position of 
+   * the tree counts the gears left in a range of the gear array, as in a 
+   * Fenwick tree, so the n-th gear left can be found and removed without 
+   * scanning or shifting the array.
+   */
+  private void buildGearsLeftTree() {
+    int size = this.numberOfGearsAdded;
+    Arrays.fill(this.gearsLeftTree, 0);
+    for (int i = 1; i <= size; i++) {
+      this.gearsLeftTree[i]++;
+      int parent = i + (i & -i);
+      if (parent <= size) {
+        this.gearsLeftTree[parent] += this.gearsLeftTree[i];
+      }
+    }
+  }
+  
+  /**
+   * Find the position in the gear array of the n-th gear left in the bag, 
+   * counting from 0 in the order the gears were added.
+   * 
+   * @param n index among the gears left
+   * @return position in the gear array
+   */
+  private int findGearLeft(int n) {
+    int size = this.numberOfGearsAdded;
+    int position = 0;
+    int remaining = n + 1;
+    for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+      int next = position + step;
+      if (next <= size && this.gearsLeftTree[next] < remaining) {
+        position = next;
+        remaining -= this.gearsLeftTree[next];
+      }
+    }
+    return position;
+  }
+  
+  /**
+   * Remove the gear at a position of the gear array from the bag.
+   * 
+   * @param position position in the gear array
+   */
+  private void removeGear(int position) {
+    Gears gear = this.gearsInEquipmentBag[position];
+    this.gearsInEquipmentBag[position] = null;
+    this.numberOfGearsInBag--;
+    this.numberOfGearsOfKind[gear.getGearKind().ordinal()]--;
+    for (int i = position + 1; i <= this.numberOfGearsAdded; i += i & -i) {
+      this.gearsLeftTree[i]--;
+    }
+  }
+  
   /**
    * Get gears assigned to the player. When players equip themselves from the bag, 
    * they are randomly assigned 20 items from the bag.
    * 
+   * <p>The gears never move in the gear array; a dealt gear is only 
+   * cleared from it. The gears left are found through a counting tree, so 
+   * dealing takes logarithmic time in the size of the bag per gear, and 
+   * the gears left keep the order in which they were added.
+   * 
    * @return a list of gears
    * @throws IllegalStateException if the number of gears in the bag is less
    *                               than 20
    */
   public List<Gears> getGears() throws IllegalStateException {
-    if (this.gearsInEquipmentBag.size() < 20) {
+    List<Gears> gearsAssignedToPlayer = new ArrayList<>(20);
+    this.dealGears(gearsAssignedToPlayer);
+    return gearsAssignedToPlayer;
+  }
+  
+  /**
+   * Deal 20 gears from the bag into a list of the player, so a player can 
+   * keep using the same list from one battle to the next.
+   * 
+   * @param gearsAssignedToPlayer list the gears are added to
+   * @throws IllegalStateException if the number of gears in the bag is less
+   *                               than 20
+   */
+  void dealGears(List<Gears> gearsAssignedToPlayer) throws IllegalStateException {
+    if (this.numberOfGearsInBag < 20) {
       throw new IllegalStateException("The required number of gears for "
           + "a new player is unavailable in the equipment bag. "
           + "Please refresh arena.");
     }
     
-    List<Gears> gearsAssignedToPlayer = new ArrayList<>();
-    
-    List<Integer> randomIndices = this.random.getUniqueRandomNumbersList(20, 0, 
-        this.gearsInEquipmentBag.size());
+    int[] randomIndices = this.random.getUniqueRandomNumbers(20, 0, 
+        this.numberOfGearsInBag);
     
+    // The indices refer to the gears left before dealing, so all the gears 
+    // are found before any of them is removed.
     for (int i = 0; i < 20; i++) {
-      int randomIndex = randomIndices.get(i);
-      gearsAssignedToPlayer.add(this.gearsInEquipmentBag.get(randomIndex));
+      this.dealtPositions[i] = this.findGearLeft(randomIndices[i]);
+      gearsAssignedToPlayer.add(this.gearsInEquipmentBag[this.dealtPositions[i]]);
     }
-
-    for (Gears g : gearsAssignedToPlayer) {
-      this.gearsInEquipmentBag.remove(g);
+    for (int i = 0; i < 20; i++) {
+      this.removeGear(this.dealtPositions[i]);
     }
-    
-    return gearsAssignedToPlayer;
+  }
+  
+  /**
+   * Get the number of gears left in the bag.
+   * 
+   * @return number of gears
+   */
+  public int getRemainingGears() {
+    return this.numberOfGearsInBag;
+  }
+  
+  /**
+   * Get the number of gears of a kind left in the bag.
+   * 
+   * @param kind gear kind
+   * @return number of gears of the kind
+   */
+  public int getRemainingGears(GearKind kind) {
+    return this.numberOfGearsOfKind[kind.ordinal()];
   }
   
   /**
@@ -136,12 +319,13 @@ public class EquipmentBag {
    */
   private boolean checkTotalNegativeEffect() {
     int count = 0;
-    for (Gears g : this.gearsInEquipmentBag) {
-      if (this.checkGearNegativeEffect(g)) {
+    for (int i = 0; i < this.numberOfGearsAdded; i++) {
+      Gears g = this.gearsInEquipmentBag[i];
+      if (g != null && this.checkGearNegativeEffect(g)) {
         count++;
       }
     }
-    if ((float) count / this.gearsInEquipmentBag.size() >= 0.25) {
+    if ((float) count / this.numberOfGearsInBag >= 0.25) {
       return true;
     }
     return false;
@@ -156,13 +340,7 @@ public class EquipmentBag {
    *         ability
    */
   private boolean checkGearNegativeEffect(Gears gear) {
-    Map<String, Integer> effect = gear.checkEffectOfGear();
-    for (Integer i : effect.values()) {
-      if (i < 0) {
-        return true;
-      }
-    }
-    return false;
+    return gear.getEffect().hasNegativeEffect();
   }
   
   /**
@@ -172,8 +350,10 @@ public class EquipmentBag {
    * @return true if all gear types have minimum required counts
    */
   private boolean checkIfMinimumOfAllGearTypesInBag() {
-    if (this.headgearsInBag.size() >= 5 && this.footwearInBag.size() >= 5
-        && this.beltsInBag.size() >= 15 && this.potionsInBag.size() >= 15) {
+    if (this.getRemainingGears(GearKind.HEADGEAR) >= 5 
+        && this.getRemainingGears(GearKind.FOOTWEAR) >= 5
+        && this.getRemainingGears(GearKind.BELT) >= 15 
+        && this.getRemainingGears(GearKind.POTION) >= 15) {
       this.checkMinimumOfAllGearTypes = true;
     }
     return this.checkMinimumOfAllGearTypes;
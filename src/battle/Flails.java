@@ -12,7 +12,6 @@ package battle;
  */
 public class Flails extends AbstractWeapons {
   
-  private RandomNumberGenerator rand;
   private String flailId;
   
   /**
@@ -25,7 +24,6 @@ public class Flails extends AbstractWeapons {
    */
   public Flails(int id, RandomNumberGenerator r) {
     super(r, WeaponWeightCategory.HEAVY);
-    this.rand = r;
     this.flailId = "Flail " + id;
   }
 
@@ -33,26 +31,9 @@ public class Flails extends AbstractWeapons {
   public String getWeaponId() {
     return this.flailId;
   }
-  
+
   @Override
-  public int getStrikePower(Players player) {
-    if (this.checkIfPlayerCanUseWeapon(player)) {
-      return rand.getRandomNumber(0, 4) + 8;
-    } else {
-      return rand.getRandomNumber(0, 2) + 4;
-    }
-  }
-  
-  /**
-   * Check if the player can use the weapon to full extent.
-   * 
-   * @param player Player using the weapon
-   * @return true if the 
-   */
-  private Boolean checkIfPlayerCanUseWeapon(Players player) {
-    if (player.getDexterity() > 14) {
-      return true;
-    }
-    return false;
+  public WeaponKind getWeaponKind() {
+    return WeaponKind.FLAIL;
   }
 }
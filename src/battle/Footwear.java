@@ -1,8 +1,5 @@
 package battle;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Class representing foot-wears. Footwear is worn on the player's feet and 
  * positively affects the player's dexterity. Since the footwear is equipped 
@@ -14,6 +11,7 @@ import java.util.Map;
  */
 public class Footwear extends AbstractGears {
   
+  private static final GearEffect EFFECT = new GearEffect(0, -3, 5, -2);
   private String footwearId;
   
   /**
@@ -34,13 +32,12 @@ public class Footwear extends AbstractGears {
   }
 
   @Override
-  public Map<String, Integer> checkEffectOfGear() {
-    Map<String, Integer> map = new HashMap();
-    map.put("Strength", 0);
-    map.put("Constitution", -3);
-    map.put("Dexterity", 5);
-    map.put("Charisma", -2);
-    
-    return map;
+  public GearKind getGearKind() {
+    return GearKind.FOOTWEAR;
+  }
+
+  @Override
+  public GearEffect getEffect() {
+    return EFFECT;
   }
 }
@@ -0,0 +1,70 @@
+package battle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class representing the effect of a gear on the abilities of a player. 
+ * The effect is a fixed vector of points indexed by {@link Ability}, so it 
+ * is built once per gear type (and belt size) and shared by every gear of 
+ * that type.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class GearEffect {
+  
+  private final int[] points;
+  private final boolean isNegative;
+  
+  /**
+   * Construct a gear effect from the points it adds to (or subtracts 
+   * from) each ability.
+   * 
+   * @param strength effect on strength
+   * @param constitution effect on constitution
+   * @param dexterity effect on dexterity
+   * @param charisma effect on charisma
+   */
+  public GearEffect(int strength, int constitution, int dexterity, int charisma) {
+    this.points = new int[Ability.values().length];
+    this.points[Ability.STRENGTH.ordinal()] = strength;
+    this.points[Ability.CONSTITUTION.ordinal()] = constitution;
+    this.points[Ability.DEXTERITY.ordinal()] = dexterity;
+    this.points[Ability.CHARISMA.ordinal()] = charisma;
+    this.isNegative = strength < 0 || constitution < 0 || dexterity < 0 
+        || charisma < 0;
+  }
+  
+  /**
+   * Get the effect on an ability.
+   * 
+   * @param ability ability
+   * @return positive/negative effect on the ability
+   */
+  public int getPoints(Ability ability) {
+    return this.points[ability.ordinal()];
+  }
+  
+  /**
+   * Check if the effect diminishes at least one ability.
+   * 
+   * @return true if at least one ability is negatively affected
+   */
+  public boolean hasNegativeEffect() {
+    return this.isNegative;
+  }
+  
+  /**
+   * Get the effect as a map of ability names and corresponding effects.
+   * 
+   * @return map of abilities and corresponding positive/negative effects
+   */
+  public Map<String, Integer> toMap() {
+    Map<String, Integer> map = new HashMap<>();
+    for (Ability ability : Ability.values()) {
+      map.put(ability.getAbilityName(), this.points[ability.ordinal()]);
+    }
+    return map;
+  }
+}
@@ -0,0 +1,13 @@
+package battle;
+
+/**
+ * The kinds of gears that can be found in the equipment bag. The kinds 
+ * are listed from top to bottom of the player: headgear, potions, belts 
+ * and footwear.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public enum GearKind {
+  HEADGEAR, POTION, BELT, FOOTWEAR;
+}
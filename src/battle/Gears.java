@@ -21,6 +21,13 @@ public interface Gears {
    */
   public String getGearId();
   
+  /**
+   * Return the kind of the gear.
+   * 
+   * @return the gear kind
+   */
+  public GearKind getGearKind();
+  
   /**
    * Check if the gear is assigned to a player. The player must use the 
    * gear before starting the match. Returns true if the gear is assigned 
@@ -71,4 +78,19 @@ public interface Gears {
    *         effects
    */
   public Map<String, Integer> checkEffectOfGear();
+  
+  /**
+   * Return the effect of the gear on every ability of the player. The 
+   * effect is shared by all gears of the same type and is not copied.
+   * 
+   * @return effect of the gear
+   */
+  public GearEffect getEffect();
+  
+  /**
+   * Return the gear to the state it was in when constructed, so it can 
+   * be put in an equipment bag again. Only the owner of the gear, such 
+   * as the equipment bag that pools it, should reset it.
+   */
+  public void reset();
 }
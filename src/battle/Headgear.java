@@ -1,8 +1,5 @@
 package battle;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Class representing the headgears. Headgear is worn on the player's head and 
  * affects the player's constitution by increasing it and consequently 
@@ -14,6 +11,7 @@ import java.util.Map;
  */
 public class Headgear extends AbstractGears {
   
+  private static final GearEffect EFFECT = new GearEffect(0, 2, 0, -2);
   private String headgearId;
   
   /**
@@ -34,13 +32,12 @@ public class Headgear extends AbstractGears {
   }
 
   @Override
-  public Map<String, Integer> checkEffectOfGear() {
-    Map<String, Integer> map = new HashMap();
-    map.put("Strength", 0);
-    map.put("Constitution",  2);
-    map.put("Dexterity", 0);
-    map.put("Charisma", -2);
-    
-    return map;
+  public GearKind getGearKind() {
+    return GearKind.HEADGEAR;
+  }
+
+  @Override
+  public GearEffect getEffect() {
+    return EFFECT;
   }
 }
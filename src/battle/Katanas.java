@@ -30,4 +30,9 @@ public class Katanas extends AbstractWeapons {
   public String getWeaponId() {
     return this.katanaId;
   }
+
+  @Override
+  public WeaponKind getWeaponKind() {
+    return WeaponKind.KATANA;
+  }
 }
@@ -0,0 +1,152 @@
+package battle;
+
+/**
+ * What a {@link LoadoutOptimizer} makes the most of when choosing the
+ * gears of a player: a weight for every ability, applied to the points a
+ * gear gives or takes away. The effect of a potion wears off after a few
+ * strikes, so the temporary points have weights of their own.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class LoadoutObjective {
+
+  private static final Ability[] ABILITIES = Ability.values();
+  private static final int[] WIN_RATE_VALUES = {Matchup.STRENGTH,
+      Matchup.CONSTITUTION, Matchup.DEXTERITY, Matchup.TEMPORARY_STRENGTH,
+      Matchup.TEMPORARY_CONSTITUTION, Matchup.TEMPORARY_DEXTERITY};
+  private static final int PERMANENT_VALUES = 3;
+  private static final int POTION_STRIKES = 3;
+
+  /**
+   * Make the most of the striking power of the first strike, which adds up
+   * the strength for the entire battle and the temporary strength.
+   */
+  public static final LoadoutObjective STRIKING_POWER = new LoadoutObjective(
+      new GearEffect(1, 0, 0, 0), new GearEffect(1, 0, 0, 0));
+
+  /**
+   * Make the most of the avoidance ability of the first defence, which
+   * adds up the dexterity for the entire battle and the temporary
+   * dexterity.
+   */
+  public static final LoadoutObjective AVOIDANCE = new LoadoutObjective(
+      new GearEffect(0, 0, 1, 0), new GearEffect(0, 0, 1, 0));
+
+  /**
+   * Make the most of the expected win rate. The weights are the gain in
+   * win rate, in tenths of a percent, of a point of every ability, as
+   * worked out by {@link #deriveWinRate(int)} over 400 dealt matchups:
+   * strength makes strikes both more likely to hit and more
+   * damaging, constitution takes the same amount off every strike
+   * received, and dexterity only makes strikes a little more likely to
+   * be avoided. The temporary points are worth far less, as they only
+   * last a few strikes, and charisma only decides who strikes first.
+   * The weights are linear, so they miss thresholds such as strikes that
+   * no longer get through, and about one matchup in ten is lost to
+   * them; on average a player using them wins about 61% of the matchups
+   * against a player using the gears in order, rather than half.
+   */
+  public static final LoadoutObjective WIN_RATE = new LoadoutObjective(
+      new GearEffect(57, 54, 16, 0), new GearEffect(8, 7, 4, 0));
+
+  private final GearEffect weights;
+  private final GearEffect temporaryWeights;
+
+  /**
+   * Construct an objective from the weights of the abilities.
+   *
+   * @param weights weights of the points of every ability for the entire
+   *                battle
+   * @param temporaryWeights weights of the points of every ability gained
+   *                         or lost through potions
+   * @throws IllegalArgumentException if either weights are null
+   */
+  public LoadoutObjective(GearEffect weights, GearEffect temporaryWeights) throws
+      IllegalArgumentException {
+    if (weights == null || temporaryWeights == null) {
+      throw new IllegalArgumentException("The weights of the abilities cannot "
+          + "be null.");
+    }
+    this.weights = weights;
+    this.temporaryWeights = temporaryWeights;
+  }
+
+  /**
+   * Work out the weights of the win rate from the exact odds of the
+   * matchups dealt with the seeds 0 onwards. A weight is the gain in the
+   * win rate of the first player, counting a draw as half a win, from a
+   * point more of an ability, averaged over the matchups and rounded to
+   * tenths of a percent. A temporary point is counted for 3 strikes if
+   * the player drank no potion. Charisma is given no weight.
+   *
+   * @param matchups number of matchups
+   * @return objective of the weights
+   * @throws IllegalArgumentException if the number of matchups is not
+   *                                  positive
+   */
+  public static LoadoutObjective deriveWinRate(int matchups) throws
+      IllegalArgumentException {
+    if (matchups < 1) {
+      throw new IllegalArgumentException("The number of matchups must be "
+          + "positive.");
+    }
+    OutcomeCalculator calculator = new OutcomeCalculator();
+    double[] gains = new double[WIN_RATE_VALUES.length];
+    for (int seed = 0; seed < matchups; seed++) {
+      BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(seed));
+      battle.callPlayers(1, 2);
+      battle.preparePlayers();
+      Matchup matchup = Matchup.of(battle);
+      double winRate = getWinRate(calculator.calculate(matchup));
+      for (int i = 0; i < WIN_RATE_VALUES.length; i++) {
+        int value = WIN_RATE_VALUES[i];
+        Matchup raised = matchup.with(0, value, matchup.get(0, value) + 1);
+        if (i >= PERMANENT_VALUES
+            && matchup.get(0, Matchup.TEMPORARY_EFFECT_STRIKES) == 0) {
+          raised = raised.with(0, Matchup.TEMPORARY_EFFECT_STRIKES, POTION_STRIKES);
+        }
+        gains[i] += getWinRate(calculator.calculate(raised)) - winRate;
+      }
+    }
+    int[] weights = new int[gains.length];
+    for (int i = 0; i < gains.length; i++) {
+      weights[i] = (int) Math.round(gains[i] / matchups * 1000);
+    }
+    return new LoadoutObjective(new GearEffect(weights[0], weights[1],
+        weights[2], 0), new GearEffect(weights[3], weights[4], weights[5], 0));
+  }
+
+  /**
+   * Get the win rate of the first player, counting a draw as half a win.
+   *
+   * @param odds odds of a matchup
+   * @return win rate
+   */
+  private static double getWinRate(MatchupOdds odds) {
+    return odds.getPlayerOneWins() + odds.getDraw() / 2;
+  }
+
+  /**
+   * Get the score of a gear: the sum of its points weighted by ability.
+   *
+   * @param gear gear
+   * @return score, positive if the gear is worth using
+   */
+  public int getScore(Gears gear) {
+    GearEffect effect = gear.getEffect();
+    GearEffect weight = gear.getGearKind() == GearKind.POTION
+        ? this.temporaryWeights : this.weights;
+    int score = 0;
+    for (Ability ability : ABILITIES) {
+      score += effect.getPoints(ability) * weight.getPoints(ability);
+    }
+    return score;
+  }
+
+  @Override
+  public String toString() {
+    return "Weights: " + this.weights.toMap() + "; Temporary weights: "
+        + this.temporaryWeights.toMap();
+  }
+}
@@ -0,0 +1,158 @@
+package battle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An optimizer choosing which of the gears dealt to a player to use, so
+ * that the gears make the most of a {@link LoadoutObjective}, rather than
+ * using every gear that still fits in the order it was dealt. A player
+ * wears at most one headgear and one pair of footwear, belts within 10
+ * belt units, and any number of potions.
+ *
+ * <p>Every gear is worth its score under the objective, so the choices
+ * are made apart: the best headgear and footwear if they are worth
+ * using, every potion worth drinking, and the belts through a 0/1
+ * knapsack over the belt units. A gear scoring 0 or less is left out, so
+ * gears whose drawbacks outweigh their benefits are never used. The
+ * knapsack has 11 capacities and about 20 gears, and the whole choice
+ * takes under a microsecond, so it can be made while preparing
+ * every match.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class LoadoutOptimizer {
+
+  private static final int BELT_UNITS = 10;
+  private static final int MAX_GEARS = Long.SIZE - 1;
+
+  private final LoadoutObjective objective;
+
+  /**
+   * Construct an optimizer making the most of an objective.
+   *
+   * @param objective objective of the gears
+   * @throws IllegalArgumentException if the objective is null
+   */
+  public LoadoutOptimizer(LoadoutObjective objective) throws IllegalArgumentException {
+    if (objective == null) {
+      throw new IllegalArgumentException("The loadout objective cannot be null.");
+    }
+    this.objective = objective;
+  }
+
+  /**
+   * Get the objective the gears are chosen for.
+   *
+   * @return loadout objective
+   */
+  public LoadoutObjective getObjective() {
+    return this.objective;
+  }
+
+  /**
+   * Choose the gears to use.
+   *
+   * @param gears gears dealt to the player
+   * @return gears to use, in the order they were dealt
+   * @throws IllegalArgumentException if the gears are null or more than 63
+   */
+  public List<Gears> selectGears(List<Gears> gears) throws IllegalArgumentException {
+    long selected = this.select(gears);
+    List<Gears> loadout = new ArrayList<>(Long.bitCount(selected));
+    for (int i = 0; i < gears.size(); i++) {
+      if ((selected & (1L << i)) != 0) {
+        loadout.add(gears.get(i));
+      }
+    }
+    return loadout;
+  }
+
+  /**
+   * Get the score of the gears chosen.
+   *
+   * @param gears gears dealt to the player
+   * @return sum of the scores of the gears to use
+   * @throws IllegalArgumentException if the gears are null or more than 63
+   */
+  public int getScore(List<Gears> gears) throws IllegalArgumentException {
+    long selected = this.select(gears);
+    int score = 0;
+    for (int i = 0; i < gears.size(); i++) {
+      if ((selected & (1L << i)) != 0) {
+        score += this.objective.getScore(gears.get(i));
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Choose the gears to use, as a set of positions in the dealt gears.
+   *
+   * @param gears gears dealt to the player
+   * @return bit i set if the gear at position i is to be used
+   * @throws IllegalArgumentException if the gears are null or more than 63
+   */
+  long select(List<Gears> gears) throws IllegalArgumentException {
+    if (gears == null || gears.size() > MAX_GEARS) {
+      throw new IllegalArgumentException("The optimizer takes up to "
+          + MAX_GEARS + " gears.");
+    }
+    long selected = 0;
+    int headgear = -1;
+    int headgearScore = 0;
+    int footwear = -1;
+    int footwearScore = 0;
+    // Best belt score and belts used within every number of belt units.
+    int[] beltScore = new int[BELT_UNITS + 1];
+    long[] belts = new long[BELT_UNITS + 1];
+
+    for (int i = 0; i < gears.size(); i++) {
+      Gears gear = gears.get(i);
+      int score = this.objective.getScore(gear);
+      if (score <= 0) {
+        continue;
+      }
+      switch (gear.getGearKind()) {
+        case HEADGEAR:
+          if (score > headgearScore) {
+            headgear = i;
+            headgearScore = score;
+          }
+          break;
+        case FOOTWEAR:
+          if (score > footwearScore) {
+            footwear = i;
+            footwearScore = score;
+          }
+          break;
+        case BELT:
+          int units = ((Belts) gear).getBeltSize().getUnits();
+          // Going down the units uses every belt at most once.
+          for (int c = BELT_UNITS; c >= units; c--) {
+            if (beltScore[c - units] + score > beltScore[c]) {
+              beltScore[c] = beltScore[c - units] + score;
+              belts[c] = belts[c - units] | (1L << i);
+            }
+          }
+          break;
+        default:
+          selected |= 1L << i;
+          break;
+      }
+    }
+    if (headgear >= 0) {
+      selected |= 1L << headgear;
+    }
+    if (footwear >= 0) {
+      selected |= 1L << footwear;
+    }
+    return selected | belts[BELT_UNITS];
+  }
+
+  @Override
+  public String toString() {
+    return "Loadout optimizer. " + this.objective;
+  }
+}
@@ -0,0 +1,160 @@
+package battle;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values with buckets of logarithmic width,
+ * that any number of threads may record into at once. Values below 16
+ * each have their own bucket; above, every power of two is split into 8
+ * buckets, so a value is known within an eighth of itself. Every bucket
+ * is a {@link LongAdder}, so recording a value is a couple of uncontended
+ * additions even when many threads record at once.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class LogHistogram {
+
+  private static final int EXACT_BUCKETS = 16;
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int FIRST_EXPONENT = 4;
+  private static final int BUCKETS = EXACT_BUCKETS
+      + (Long.SIZE - 1 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+  private final LongAdder[] buckets;
+  private final LongAdder count;
+  private final LongAdder sum;
+  private final LongAccumulator max;
+
+  /**
+   * Construct an empty histogram.
+   */
+  public LogHistogram() {
+    this.buckets = new LongAdder[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      this.buckets[i] = new LongAdder();
+    }
+    this.count = new LongAdder();
+    this.sum = new LongAdder();
+    this.max = new LongAccumulator(Math::max, 0);
+  }
+
+  /**
+   * Record a value. Negative values are recorded as 0.
+   *
+   * @param value value
+   */
+  public void record(long value) {
+    long v = Math.max(value, 0);
+    this.buckets[getBucket(v)].increment();
+    this.count.increment();
+    this.sum.add(v);
+    this.max.accumulate(v);
+  }
+
+  /**
+   * Get the bucket of a value.
+   *
+   * @param value non-negative value
+   * @return bucket index
+   */
+  private static int getBucket(long value) {
+    if (value < EXACT_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return EXACT_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Get the largest value that falls in a bucket.
+   *
+   * @param bucket bucket index
+   * @return largest value of the bucket
+   */
+  private static long getBucketTop(int bucket) {
+    if (bucket < EXACT_BUCKETS) {
+      return bucket;
+    }
+    int exponent = (bucket - EXACT_BUCKETS) / SUB_BUCKETS + FIRST_EXPONENT;
+    long subBucket = (bucket - EXACT_BUCKETS) % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return (SUB_BUCKETS + subBucket) * width + width - 1;
+  }
+
+  /**
+   * Get the number of values recorded.
+   *
+   * @return count
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Get the mean of the values recorded.
+   *
+   * @return mean, 0 if no value was recorded
+   */
+  public double getMean() {
+    long n = this.count.sum();
+    return n == 0 ? 0 : (double) this.sum.sum() / n;
+  }
+
+  /**
+   * Get the largest value recorded.
+   *
+   * @return largest value, 0 if no value was recorded
+   */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+   * Get a percentile of the values recorded, as the largest value of the
+   * bucket it falls in, and never more than the largest value recorded.
+   *
+   * @param percentile percentile, from 0 to 100
+   * @return value at the percentile, 0 if no value was recorded
+   * @throws IllegalArgumentException if the percentile is out of range
+   */
+  public long getPercentile(double percentile) throws IllegalArgumentException {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("The percentile must be from 0 to 100.");
+    }
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = this.buckets[i].sum();
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(getBucketTop(i), this.max.get());
+      }
+    }
+    return this.max.get();
+  }
+
+  /**
+   * Forget every value recorded. Values recorded while the histogram is
+   * reset may be partly kept.
+   */
+  public void reset() {
+    for (LongAdder bucket : this.buckets) {
+      bucket.reset();
+    }
+    this.count.reset();
+    this.sum.reset();
+    this.max.reset();
+  }
+}
@@ -0,0 +1,340 @@
+package battle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A streaming exporter of the results of finished battles, for bulk
+ * simulations playing far more battles than could be held in memory. The
+ * results are gathered column by column in batches of a fixed number of
+ * matches, and every full batch is encoded and written to a channel, so
+ * the exporter holds a single batch at any time whatever the number of
+ * battles recorded.
+ *
+ * <p>A match is recorded with the base abilities and the initial health
+ * of both players, the ids of their gears and weapons, the winner and the
+ * number of turns played. Match ids are handed out in the order the
+ * battles are recorded, starting from 0. The columns are encoded as
+ * described in {@link ColumnCodec}; most of them hold few distinct values
+ * and shrink to a few bits per match. The results are read back with a
+ * {@link MatchResultReader}, which can also convert them to CSV.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchResultExporter implements Closeable {
+
+  /** Names of the columns of numbers, in the order they are written. */
+  static final String[] INT_COLUMNS = {"p1_strength", "p1_constitution",
+      "p1_dexterity", "p1_charisma", "p1_health", "p2_strength",
+      "p2_constitution", "p2_dexterity", "p2_charisma", "p2_health",
+      "winner", "turns"};
+  /** Names of the columns of text, written after the columns of numbers. */
+  static final String[] TEXT_COLUMNS = {"p1_id", "p2_id"};
+  /** Names of the columns of lists of ids, written last. */
+  static final String[] LIST_COLUMNS = {"p1_gears", "p1_weapons", "p2_gears",
+      "p2_weapons"};
+
+  private static final int DEFAULT_BATCH_SIZE = 4096;
+  private static final int WINNER = 10;
+  private static final int TURNS = 11;
+  private static final Ability[] ABILITIES = Ability.values();
+
+  private final WritableByteChannel channel;
+  private final boolean ownsChannel;
+  private final int batchSize;
+  private final int[][] ints;
+  private final String[][] texts;
+  private final List<String>[][] lists;
+  private final int[] indexes;
+  private final int[] scratch;
+  private ByteBuffer buffer;
+  private int rows;
+  private long nextMatchId;
+  private boolean isClosed;
+
+  /**
+   * Create a results file, replacing any file of the same name, with
+   * batches of 4096 matches.
+   *
+   * @param file results file
+   * @throws IllegalArgumentException if the file is null
+   * @throws UncheckedIOException if the file cannot be created
+   */
+  public MatchResultExporter(Path file) throws IllegalArgumentException {
+    this(openFile(file), true, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Write the results to a channel, which is left open when the exporter
+   * is closed.
+   *
+   * @param channel channel the results are written to
+   * @param batchSize number of matches written at a time
+   * @throws IllegalArgumentException if the channel is null or the batch
+   *                                  size is not positive
+   * @throws UncheckedIOException if the header cannot be written
+   */
+  public MatchResultExporter(WritableByteChannel channel, int batchSize) throws
+      IllegalArgumentException {
+    this(channel, false, batchSize);
+  }
+
+  /**
+   * Write the results to a channel and write the file header.
+   *
+   * @param channel channel the results are written to
+   * @param ownsChannel true if the channel is closed with the exporter
+   * @param batchSize number of matches written at a time
+   * @throws IllegalArgumentException if the channel is null or the batch
+   *                                  size is not positive
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private MatchResultExporter(WritableByteChannel channel, boolean ownsChannel,
+      int batchSize) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("The results channel cannot be null.");
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("The batch size must be positive.");
+    }
+    this.channel = channel;
+    this.ownsChannel = ownsChannel;
+    this.batchSize = batchSize;
+    this.ints = new int[INT_COLUMNS.length][batchSize];
+    this.texts = new String[TEXT_COLUMNS.length][batchSize];
+    this.lists = new List[LIST_COLUMNS.length][batchSize];
+    this.indexes = new int[batchSize];
+    this.scratch = new int[batchSize];
+    this.buffer = ByteBuffer.allocate(1 << 16);
+
+    this.buffer.putInt(ColumnCodec.MAGIC);
+    this.buffer.put(ColumnCodec.VERSION);
+    this.buffer = putNames(this.buffer, INT_COLUMNS);
+    this.buffer = putNames(this.buffer, TEXT_COLUMNS);
+    this.buffer = putNames(this.buffer, LIST_COLUMNS);
+    this.writeBuffer();
+  }
+
+  /**
+   * Create a file for writing, replacing any file of the same name.
+   *
+   * @param file file
+   * @return channel of the file
+   * @throws IllegalArgumentException if the file is null
+   * @throws UncheckedIOException if the file cannot be created
+   */
+  private static FileChannel openFile(Path file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("The results file cannot be null.");
+    }
+    try {
+      return FileChannel.open(file, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("The results file cannot be created.", e);
+    }
+  }
+
+  /**
+   * Write the names of a group of columns.
+   *
+   * @param buffer buffer being written
+   * @param names names of the columns
+   * @return buffer written to
+   */
+  private static ByteBuffer putNames(ByteBuffer buffer, String[] names) {
+    ReplayFormat.putInt(buffer, names.length);
+    ByteBuffer out = buffer;
+    for (String name : names) {
+      out = ColumnCodec.putString(out, name);
+    }
+    return out;
+  }
+
+  /**
+   * Record the result of a finished battle. The battle is written with the
+   * rest of its batch once the batch is full.
+   *
+   * @param battle finished battle
+   * @return match id of the battle
+   * @throws IllegalArgumentException if the battle is null
+   * @throws IllegalStateException if the battle is not over or the
+   *                               exporter is closed
+   * @throws UncheckedIOException if a full batch cannot be written
+   */
+  public synchronized long record(BattleModel battle) throws
+      IllegalArgumentException, IllegalStateException {
+    if (battle == null) {
+      throw new IllegalArgumentException("The battle cannot be null.");
+    }
+    if (this.isClosed) {
+      throw new IllegalStateException("The exporter is closed.");
+    }
+    List<Players> winner = battle.getWinner();
+    if (winner.isEmpty()) {
+      throw new IllegalStateException("Only a finished battle can be recorded.");
+    }
+    List<Players> players = battle.getPlayers();
+    int row = this.rows;
+    for (int p = 0; p < 2; p++) {
+      Players player = players.get(p);
+      int column = p * 5;
+      for (Ability ability : ABILITIES) {
+        this.ints[column++][row] = getBaseAbility(player, ability);
+      }
+      this.ints[column][row] = player.getInitialHealth();
+      this.texts[p][row] = player.getPlayerId();
+      this.lists[p * 2][row] = player.getSortedGears();
+      this.lists[p * 2 + 1][row] = player.getWeaponIdUsed();
+    }
+    this.ints[WINNER][row] = winner.size() > 1 ? 0
+        : winner.get(0) == players.get(0) ? 1 : 2;
+    this.ints[TURNS][row] = battle.getTurnCount();
+
+    long matchId = this.nextMatchId + row;
+    this.rows++;
+    if (this.rows == this.batchSize) {
+      this.writeBatch();
+    }
+    return matchId;
+  }
+
+  /**
+   * Get an ability of a player before any gear, falling back to the
+   * current ability for other kinds of players.
+   *
+   * @param player player
+   * @param ability ability
+   * @return base ability
+   */
+  private static int getBaseAbility(Players player, Ability ability) {
+    if (player instanceof BattlePlayer) {
+      return ((BattlePlayer) player).getInitialAbility(ability);
+    }
+    switch (ability) {
+      case STRENGTH:
+        return player.getStrength();
+      case CONSTITUTION:
+        return player.getConstitution();
+      case DEXTERITY:
+        return player.getDexterity();
+      default:
+        return player.getCharisma();
+    }
+  }
+
+  /**
+   * Get the number of matches recorded.
+   *
+   * @return matches
+   */
+  public synchronized long getMatchCount() {
+    return this.nextMatchId + this.rows;
+  }
+
+  /**
+   * Write the matches recorded since the last batch as a smaller batch,
+   * so they can be read before the exporter is closed.
+   *
+   * @throws IllegalStateException if the exporter is closed
+   * @throws UncheckedIOException if the batch cannot be written
+   */
+  public synchronized void flush() throws IllegalStateException {
+    if (this.isClosed) {
+      throw new IllegalStateException("The exporter is closed.");
+    }
+    if (this.rows > 0) {
+      this.writeBatch();
+    }
+  }
+
+  /**
+   * Encode the recorded matches as a batch and write it.
+   *
+   * @throws UncheckedIOException if the batch cannot be written
+   */
+  private void writeBatch() {
+    ByteBuffer out = this.buffer;
+    out.putInt(0);
+    ReplayFormat.putInt(out, this.rows);
+    ReplayFormat.putLong(out, this.nextMatchId);
+    for (int[] column : this.ints) {
+      out = ColumnCodec.putInts(out, column, this.rows, this.scratch);
+    }
+    for (String[] column : this.texts) {
+      out = ColumnCodec.putStrings(out, column, this.rows, this.indexes,
+          this.scratch);
+    }
+    for (List<String>[] column : this.lists) {
+      out = ColumnCodec.putLists(out, column, this.rows, this.indexes,
+          this.scratch);
+    }
+    out.putInt(0, out.position() - Integer.BYTES);
+    this.buffer = out;
+    this.writeBuffer();
+
+    this.nextMatchId += this.rows;
+    this.rows = 0;
+    for (String[] column : this.texts) {
+      Arrays.fill(column, null);
+    }
+    for (List<String>[] column : this.lists) {
+      Arrays.fill(column, null);
+    }
+  }
+
+  /**
+   * Write the content of the buffer to the channel and clear it.
+   *
+   * @throws UncheckedIOException if the content cannot be written
+   */
+  private void writeBuffer() {
+    this.buffer.flip();
+    try {
+      while (this.buffer.hasRemaining()) {
+        this.channel.write(this.buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("The results cannot be written.", e);
+    } finally {
+      this.buffer.clear();
+    }
+  }
+
+  /**
+   * Write the last batch and close the exporter, closing the channel if
+   * the exporter opened it.
+   *
+   * @throws UncheckedIOException if the last batch cannot be written or
+   *                              the channel cannot be closed
+   */
+  @Override
+  public synchronized void close() {
+    if (this.isClosed) {
+      return;
+    }
+    try {
+      if (this.rows > 0) {
+        this.writeBatch();
+      }
+    } finally {
+      this.isClosed = true;
+      if (this.ownsChannel) {
+        try {
+          this.channel.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException("The results file cannot be closed.", e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,353 @@
+package battle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A reader of the match results written by a {@link MatchResultExporter}.
+ * The results are read one batch at a time and walked through one match
+ * at a time with {@link #next()}, so a file of any size is read in the
+ * memory of a single batch.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchResultReader implements Closeable {
+
+  private final ReadableByteChannel channel;
+  private final List<String> columns;
+  private final Map<String, Integer> columnIndexes;
+  private final int intColumns;
+  private final int textColumns;
+  private ByteBuffer buffer;
+  private int[][] ints;
+  private String[][] texts;
+  private int[] indexes;
+  private int rows;
+  private int row;
+  private long firstMatchId;
+
+  /**
+   * Open a results file and read its header.
+   *
+   * @param file results file
+   * @throws IllegalArgumentException if the file is null
+   * @throws IllegalStateException if the file is not a results file
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public MatchResultReader(Path file) throws IllegalArgumentException,
+      IllegalStateException {
+    if (file == null) {
+      throw new IllegalArgumentException("The results file cannot be null.");
+    }
+    try {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    } catch (IOException e) {
+      throw new UncheckedIOException("The results file cannot be opened.", e);
+    }
+    this.buffer = ByteBuffer.allocate(1 << 16);
+    this.buffer.flip();
+    this.ints = new int[0][0];
+    this.texts = new String[0][0];
+    this.indexes = new int[0];
+    this.row = -1;
+
+    List<String> names = new ArrayList<>();
+    try {
+      this.fill(Integer.BYTES + 1);
+      if (this.buffer.getInt() != ColumnCodec.MAGIC
+          || this.buffer.get() != ColumnCodec.VERSION) {
+        throw new IllegalStateException("The file is not a results file of "
+            + "this version.");
+      }
+      this.intColumns = this.readNames(names);
+      this.textColumns = this.readNames(names);
+      this.readNames(names);
+    } catch (RuntimeException e) {
+      this.close();
+      throw e;
+    }
+    this.columns = Collections.unmodifiableList(names);
+    this.columnIndexes = new HashMap<>();
+    for (int c = 0; c < names.size(); c++) {
+      this.columnIndexes.put(names.get(c), c);
+    }
+  }
+
+  /**
+   * Read the names of a group of columns.
+   *
+   * @param names list the names are added to
+   * @return number of names read
+   * @throws IllegalStateException if the header is truncated
+   */
+  private int readNames(List<String> names) throws IllegalStateException {
+    this.fill(ReplayFormat.MAX_INT_BYTES);
+    int count = this.getVarInt();
+    for (int c = 0; c < count; c++) {
+      this.fill(ReplayFormat.MAX_INT_BYTES);
+      int mark = this.buffer.position();
+      int length = this.getVarInt();
+      this.buffer.position(mark);
+      this.fill(ReplayFormat.MAX_INT_BYTES + length);
+      names.add(ColumnCodec.getString(this.buffer));
+    }
+    return count;
+  }
+
+  /**
+   * Read a variable-length integer, without reading past the data in the
+   * buffer near the end of the file.
+   *
+   * @return number
+   * @throws IllegalStateException if the file is truncated
+   */
+  private int getVarInt() throws IllegalStateException {
+    try {
+      return ReplayFormat.getInt(this.buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalStateException("The results file is truncated.", e);
+    }
+  }
+
+  /**
+   * Make sure the buffer holds a number of bytes, reading more of the file
+   * if needed. Fewer bytes are held at the end of the file.
+   *
+   * @param bytes bytes needed
+   * @return true if any byte is held
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  private boolean fill(int bytes) {
+    if (this.buffer.remaining() >= bytes) {
+      return true;
+    }
+    this.buffer.compact();
+    if (this.buffer.capacity() < bytes) {
+      this.buffer = ColumnCodec.ensureRemaining(this.buffer, bytes);
+    }
+    try {
+      while (this.buffer.position() < bytes) {
+        if (this.channel.read(this.buffer) < 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("The results file cannot be read.", e);
+    } finally {
+      this.buffer.flip();
+    }
+    return this.buffer.hasRemaining();
+  }
+
+  /**
+   * Read the next batch of matches.
+   *
+   * @return true if a batch was read, false at the end of the file
+   * @throws IllegalStateException if the batch is malformed
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  private boolean readBatch() throws IllegalStateException {
+    if (!this.fill(Integer.BYTES)) {
+      return false;
+    }
+    if (this.buffer.remaining() < Integer.BYTES) {
+      throw new IllegalStateException("The results file is truncated.");
+    }
+    int length = this.buffer.getInt();
+    this.fill(length);
+    if (length < 0 || this.buffer.remaining() < length) {
+      throw new IllegalStateException("The results file is truncated.");
+    }
+    ByteBuffer batch = this.buffer.slice(this.buffer.position(), length);
+    this.buffer.position(this.buffer.position() + length);
+
+    try {
+      this.rows = ReplayFormat.getInt(batch);
+      this.firstMatchId = ReplayFormat.getLong(batch);
+      if (this.ints.length == 0 || this.indexes.length < this.rows) {
+        this.ints = new int[this.intColumns][this.rows];
+        this.texts = new String[this.columns.size() - this.intColumns][this.rows];
+        this.indexes = new int[this.rows];
+      }
+      for (int[] column : this.ints) {
+        ColumnCodec.getInts(batch, column, this.rows);
+      }
+      for (int c = 0; c < this.texts.length; c++) {
+        if (c < this.textColumns) {
+          ColumnCodec.getStrings(batch, this.texts[c], this.rows, this.indexes);
+        } else {
+          ColumnCodec.getLists(batch, this.texts[c], this.rows, this.indexes);
+        }
+      }
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalStateException("The results file holds a malformed "
+          + "batch.", e);
+    }
+    this.row = 0;
+    return true;
+  }
+
+  /**
+   * Get the names of the columns of the file: the columns of numbers, then
+   * the columns of text, then the columns of lists of ids.
+   *
+   * @return column names
+   */
+  public List<String> getColumns() {
+    return this.columns;
+  }
+
+  /**
+   * Move to the next match.
+   *
+   * @return true if there is a next match, false at the end of the file
+   * @throws IllegalStateException if the file is malformed
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public boolean next() throws IllegalStateException {
+    if (this.row >= 0 && this.row + 1 < this.rows) {
+      this.row++;
+      return true;
+    }
+    while (this.readBatch()) {
+      if (this.rows > 0) {
+        return true;
+      }
+    }
+    this.row = -1;
+    this.rows = 0;
+    return false;
+  }
+
+  /**
+   * Get the index of a column.
+   *
+   * @param column column name
+   * @return column index
+   * @throws IllegalArgumentException if there is no such column
+   * @throws IllegalStateException if there is no current match
+   */
+  private int getColumnIndex(String column) throws IllegalArgumentException,
+      IllegalStateException {
+    Integer index = this.columnIndexes.get(column);
+    if (index == null) {
+      throw new IllegalArgumentException("There is no column " + column + ".");
+    }
+    if (this.row < 0) {
+      throw new IllegalStateException("Please move to a match first.");
+    }
+    return index;
+  }
+
+  /**
+   * Get the match id of the current match.
+   *
+   * @return match id
+   * @throws IllegalStateException if there is no current match
+   */
+  public long getMatchId() throws IllegalStateException {
+    if (this.row < 0) {
+      throw new IllegalStateException("Please move to a match first.");
+    }
+    return this.firstMatchId + this.row;
+  }
+
+  /**
+   * Get a number of the current match.
+   *
+   * @param column name of a column of numbers
+   * @return value
+   * @throws IllegalArgumentException if there is no such column of numbers
+   * @throws IllegalStateException if there is no current match
+   */
+  public int getInt(String column) throws IllegalArgumentException,
+      IllegalStateException {
+    int index = this.getColumnIndex(column);
+    if (index >= this.intColumns) {
+      throw new IllegalArgumentException("The column " + column
+          + " does not hold numbers.");
+    }
+    return this.ints[index][this.row];
+  }
+
+  /**
+   * Get a text of the current match. A list of ids is read as its ids
+   * separated by semicolons.
+   *
+   * @param column name of a column of text or of lists of ids
+   * @return value
+   * @throws IllegalArgumentException if there is no such column of text
+   * @throws IllegalStateException if there is no current match
+   */
+  public String getString(String column) throws IllegalArgumentException,
+      IllegalStateException {
+    int index = this.getColumnIndex(column);
+    if (index < this.intColumns) {
+      throw new IllegalArgumentException("The column " + column
+          + " does not hold text.");
+    }
+    return this.texts[index - this.intColumns][this.row];
+  }
+
+  /**
+   * Write the remaining matches as CSV, with a header line naming the
+   * columns after the match id.
+   *
+   * @param out destination of the CSV
+   * @return number of matches written
+   * @throws IllegalArgumentException if the destination is null
+   * @throws IllegalStateException if the file is malformed
+   * @throws UncheckedIOException if the file cannot be read or the CSV
+   *                              cannot be written
+   */
+  public long writeCsv(Appendable out) throws IllegalArgumentException,
+      IllegalStateException {
+    if (out == null) {
+      throw new IllegalArgumentException("The CSV destination cannot be null.");
+    }
+    long matches = 0;
+    try {
+      out.append("match");
+      for (String column : this.columns) {
+        out.append(',').append(column);
+      }
+      out.append('\n');
+      while (this.next()) {
+        out.append(Long.toString(this.getMatchId()));
+        for (int[] column : this.ints) {
+          out.append(',').append(Integer.toString(column[this.row]));
+        }
+        for (String[] column : this.texts) {
+          out.append(',').append(column[this.row]);
+        }
+        out.append('\n');
+        matches++;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("The CSV cannot be written.", e);
+    }
+    return matches;
+  }
+
+  @Override
+  public void close() {
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("The results file cannot be closed.", e);
+    }
+  }
+}
@@ -0,0 +1,410 @@
+package battle;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A match server hosts many independent battles at once for clients
+ * connected to a local socket. Every connection is a session with its own
+ * {@link BattleModel} and its own random number generator, played on its
+ * own thread, so no battle state is shared between sessions and a battle
+ * is never locked. Sessions run on virtual threads when the Java runtime
+ * has them, and on platform threads otherwise.
+ *
+ * <p>Clients talk to the server with one command per line. Every reply is
+ * a number of lines followed by a line {@code OK}, or a single line
+ * starting with {@code ERR} and the reason. The commands are:
+ * <ul>
+ * <li>{@code NEW <id> <id>} calls and prepares two players, replying
+ * their description</li>
+ * <li>{@code ODDS} replies the exact odds of the prepared players</li>
+ * <li>{@code START} starts the battle, replying who strikes first</li>
+ * <li>{@code TURN} plays one turn, replying its details</li>
+ * <li>{@code PLAY} plays the battle to its end, replying the result</li>
+ * <li>{@code RESULT} replies the result of the battle</li>
+ * <li>{@code REMATCH} prepares the same players again</li>
+ * <li>{@code QUIT} ends the session</li>
+ * </ul>
+ *
+ * <p>The server holds a bounded number of sessions. A client connecting
+ * while the server is full is sent {@code BUSY} and disconnected, and a
+ * session is ended once its client sends nothing for the session timeout.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchServer implements Closeable {
+
+  private static final int DEFAULT_PORT = 7777;
+  private static final int DEFAULT_MAX_SESSIONS = 10000;
+  private static final int DEFAULT_SESSION_TIMEOUT_MILLIS = 5 * 60 * 1000;
+  private static final int ODDS_CACHE_CAPACITY = 4096;
+
+  private final ServerSocket serverSocket;
+  private final int maxSessions;
+  private final int sessionTimeoutMillis;
+  private final Semaphore sessionPermits;
+  private final ThreadFactory sessionThreads;
+  private final Set<Socket> openSessions;
+  private final MatchupCache oddsCache;
+  private final AtomicLong sessionsServed;
+  private final AtomicLong sessionsRejected;
+  private final Thread acceptor;
+
+  /**
+   * Start a server on a port of the loopback address.
+   *
+   * @param port port to listen on, 0 for any free port
+   * @param maxSessions most sessions held at once
+   * @param sessionTimeoutMillis time a client may stay silent before its
+   *                             session is ended, in milliseconds
+   * @throws IllegalArgumentException if the port is out of range or the
+   *                                  number of sessions or the timeout
+   *                                  is not positive
+   * @throws UncheckedIOException if the port cannot be listened on
+   */
+  public MatchServer(int port, int maxSessions, int sessionTimeoutMillis) throws
+      IllegalArgumentException {
+    if (port < 0 || port > 0xFFFF) {
+      throw new IllegalArgumentException("The port " + port + " is out of range.");
+    }
+    if (maxSessions < 1) {
+      throw new IllegalArgumentException("The server must hold at least one "
+          + "session.");
+    }
+    if (sessionTimeoutMillis < 1) {
+      throw new IllegalArgumentException("The session timeout must be positive.");
+    }
+    this.maxSessions = maxSessions;
+    this.sessionTimeoutMillis = sessionTimeoutMillis;
+    this.sessionPermits = new Semaphore(maxSessions);
+    this.sessionThreads = newSessionThreadFactory();
+    this.openSessions = ConcurrentHashMap.newKeySet();
+    this.oddsCache = new MatchupCache(ODDS_CACHE_CAPACITY);
+    this.sessionsServed = new AtomicLong();
+    this.sessionsRejected = new AtomicLong();
+    try {
+      this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    } catch (IOException e) {
+      throw new UncheckedIOException("The server cannot listen on port " + port
+          + ".", e);
+    }
+    this.acceptor = new Thread(this::acceptSessions, "match-server-acceptor");
+    this.acceptor.setDaemon(true);
+    this.acceptor.start();
+  }
+
+  /**
+   * Get a factory of session threads: virtual threads if the Java runtime
+   * has them, daemon platform threads otherwise.
+   *
+   * @return session thread factory
+   */
+  static ThreadFactory newSessionThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      builder = builderType.getMethod("name", String.class, long.class)
+          .invoke(builder, "match-session-", 0L);
+      return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      AtomicLong count = new AtomicLong();
+      return task -> {
+        Thread thread = new Thread(task, "match-session-" + count.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+      };
+    }
+  }
+
+  /**
+   * Accept clients until the server is closed, starting a session for
+   * each one while there is room.
+   */
+  private void acceptSessions() {
+    while (!this.serverSocket.isClosed()) {
+      Socket client;
+      try {
+        client = this.serverSocket.accept();
+      } catch (IOException e) {
+        // The server socket was closed.
+        return;
+      }
+      if (!this.sessionPermits.tryAcquire()) {
+        this.sessionsRejected.incrementAndGet();
+        this.reject(client);
+        continue;
+      }
+      this.openSessions.add(client);
+      this.sessionsServed.incrementAndGet();
+      try {
+        this.sessionThreads.newThread(() -> this.serve(client)).start();
+      } catch (RuntimeException e) {
+        this.endSession(client);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Tell a client the server is full and disconnect them.
+   *
+   * @param client client socket
+   */
+  private void reject(Socket client) {
+    try (Socket s = client) {
+      s.getOutputStream().write("BUSY\n".getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      // The client is gone already.
+    }
+  }
+
+  /**
+   * Serve the commands of a client until they quit, go silent or
+   * disconnect.
+   *
+   * @param client client socket
+   */
+  private void serve(Socket client) {
+    try {
+      client.setSoTimeout(this.sessionTimeoutMillis);
+      BufferedReader in = new BufferedReader(new InputStreamReader(
+          client.getInputStream(), StandardCharsets.UTF_8));
+      PrintWriter out = new PrintWriter(client.getOutputStream(), false,
+          StandardCharsets.UTF_8);
+      Session session = new Session();
+      try {
+        String line;
+        while ((line = in.readLine()) != null) {
+          if (!session.handle(line.trim(), out)) {
+            break;
+          }
+          out.flush();
+        }
+      } catch (SocketTimeoutException e) {
+        out.print("ERR The session timed out.\n");
+      }
+      out.flush();
+    } catch (IOException e) {
+      // The client disconnected.
+    } finally {
+      this.endSession(client);
+    }
+  }
+
+  /**
+   * Close a session and free its place.
+   *
+   * @param client client socket
+   */
+  private void endSession(Socket client) {
+    if (this.openSessions.remove(client)) {
+      this.sessionPermits.release();
+    }
+    try {
+      client.close();
+    } catch (IOException e) {
+      // Nothing left to do with the client.
+    }
+  }
+
+  /**
+   * Get the port the server listens on.
+   *
+   * @return port
+   */
+  public int getPort() {
+    return this.serverSocket.getLocalPort();
+  }
+
+  /**
+   * Get the number of sessions open now.
+   *
+   * @return open sessions
+   */
+  public int getOpenSessions() {
+    return this.maxSessions - this.sessionPermits.availablePermits();
+  }
+
+  /**
+   * Get the number of sessions started since the server started.
+   *
+   * @return sessions served
+   */
+  public long getSessionsServed() {
+    return this.sessionsServed.get();
+  }
+
+  /**
+   * Get the number of clients turned away because the server was full.
+   *
+   * @return sessions rejected
+   */
+  public long getSessionsRejected() {
+    return this.sessionsRejected.get();
+  }
+
+  /**
+   * Stop accepting clients and end every open session.
+   */
+  @Override
+  public void close() {
+    try {
+      this.serverSocket.close();
+    } catch (IOException e) {
+      // The server socket is closed either way.
+    }
+    for (Socket client : this.openSessions) {
+      this.endSession(client);
+    }
+  }
+
+  /**
+   * The battle of a session, with the commands that play it. A session is
+   * only used by its own thread.
+   */
+  private final class Session {
+
+    private BattleModel battle;
+
+    /**
+     * Handle a command and write its reply.
+     *
+     * @param line command line
+     * @param out reply writer
+     * @return false if the session is over
+     */
+    boolean handle(String line, PrintWriter out) {
+      String[] words = line.split("\\s+");
+      String command = words[0].toUpperCase(Locale.ROOT);
+      if ("QUIT".equals(command)) {
+        out.print("BYE\n");
+        return false;
+      }
+      try {
+        String reply = this.execute(command, words);
+        if (!reply.isEmpty()) {
+          out.print(reply);
+          out.print(reply.endsWith("\n") ? "" : "\n");
+        }
+        out.print("OK\n");
+      } catch (RuntimeException e) {
+        // Any failure of a command is reported to the client, and the 
+        // session goes on.
+        out.print("ERR " + String.valueOf(e.getMessage()).replace('\n', ' ') + "\n");
+      }
+      return true;
+    }
+
+    /**
+     * Execute a command on the battle of the session.
+     *
+     * @param command command name
+     * @param words words of the command line
+     * @return reply
+     * @throws IllegalArgumentException if the command or its arguments
+     *                                  are not valid
+     * @throws IllegalStateException if the battle is not ready for the
+     *                               command
+     */
+    private String execute(String command, String[] words) throws
+        IllegalArgumentException, IllegalStateException {
+      if ("NEW".equals(command)) {
+        if (words.length != 3) {
+          throw new IllegalArgumentException("Usage: NEW <id> <id>");
+        }
+        this.battle = new BattleModel(new SplittableRandomNumberGenerator(
+            ThreadLocalRandom.current().nextLong()));
+        this.battle.callPlayers(Integer.parseInt(words[1]),
+            Integer.parseInt(words[2]));
+        this.battle.preparePlayers();
+        return this.battle.getPlayersDescription();
+      }
+      if (this.battle == null) {
+        throw new IllegalStateException(this.isKnown(command)
+            ? "Please call players with NEW." : "Unknown command: " + command);
+      }
+      switch (command) {
+        case "ODDS":
+          return MatchServer.this.oddsCache.getOdds(this.battle).toString();
+        case "START":
+          this.battle.startGame();
+          return this.battle.getTurnDetails();
+        case "TURN":
+          this.battle.playTurn();
+          return this.battle.getTurnDetails();
+        case "PLAY":
+          while (this.battle.getWinner().isEmpty()) {
+            this.battle.playTurn();
+          }
+          return this.battle.getFinalResult() + " in "
+              + this.battle.getTurnCount() + " turns";
+        case "RESULT":
+          return this.battle.getFinalResult();
+        case "REMATCH":
+          this.battle.rematch();
+          return this.battle.getPlayersDescription();
+        default:
+          throw new IllegalArgumentException("Unknown command: " + command);
+      }
+    }
+
+    /**
+     * Check if a command is known.
+     *
+     * @param command command name
+     * @return true if the command is known
+     */
+    private boolean isKnown(String command) {
+      switch (command) {
+        case "ODDS":
+        case "START":
+        case "TURN":
+        case "PLAY":
+        case "RESULT":
+        case "REMATCH":
+          return true;
+        default:
+          return false;
+      }
+    }
+  }
+
+  /**
+   * Run a server until the process is stopped.
+   *
+   * @param args optional port, most sessions and session timeout in
+   *             milliseconds
+   */
+  public static void main(String[] args) {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    int sessions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_SESSIONS;
+    int timeout = args.length > 2 ? Integer.parseInt(args[2])
+        : DEFAULT_SESSION_TIMEOUT_MILLIS;
+    MatchServer server = new MatchServer(port, sessions, timeout);
+    System.out.println("Match server listening on port " + server.getPort());
+    try {
+      server.acceptor.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      server.close();
+    }
+  }
+}
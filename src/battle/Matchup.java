@@ -0,0 +1,219 @@
+package battle;
+
+import java.util.Arrays;
+
+/**
+ * Class representing everything about a prepared pair of players that
+ * decides how their battle may go: their health, their abilities with and
+ * without the temporary effect of potions, how long the effect lasts,
+ * their weapons and who strikes first. Two matchups with the same values
+ * have the same odds, whoever the players are, so a matchup can be used
+ * as the key of a cache of odds.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class Matchup {
+
+  static final int HEALTH = 0;
+  static final int STRENGTH = 1;
+  static final int CONSTITUTION = 2;
+  static final int DEXTERITY = 3;
+  static final int TEMPORARY_STRENGTH = 4;
+  static final int TEMPORARY_CONSTITUTION = 5;
+  static final int TEMPORARY_DEXTERITY = 6;
+  static final int TEMPORARY_EFFECT_STRIKES = 7;
+  static final int FIRST_WEAPON = 8;
+  static final int SECOND_WEAPON = 9;
+  private static final int SIDE_LENGTH = 10;
+  private static final int NO_WEAPON = -1;
+
+  private final int[] sides;
+  private final int firstAttacker;
+  private final int hash;
+
+  /**
+   * Construct a matchup from the values of both players.
+   *
+   * @param sides values of both players, one after the other
+   * @param firstAttacker 0 if the first player strikes first, 1 otherwise
+   */
+  private Matchup(int[] sides, int firstAttacker) {
+    this.sides = sides;
+    this.firstAttacker = firstAttacker;
+    this.hash = 31 * Arrays.hashCode(sides) + firstAttacker;
+  }
+
+  /**
+   * Get the matchup of a battle whose players are prepared and that has
+   * not played any turn. If the battle has not started, the player who
+   * will strike first is found the way the battle finds it: with unequal
+   * charisma the player with less charisma strikes first, as the battle
+   * starts with the other player as attacker and switches turns before
+   * every strike, and with equal charisma the first player strikes first.
+   *
+   * @param battle battle between prepared players
+   * @return matchup of the players
+   * @throws IllegalArgumentException if the battle is null
+   * @throws IllegalStateException if the players are not prepared battle
+   *                               players, carry more than two weapons,
+   *                               or a turn has been played
+   */
+  public static Matchup of(BattleModel battle) throws IllegalArgumentException,
+      IllegalStateException {
+    if (battle == null) {
+      throw new IllegalArgumentException("The battle cannot be null.");
+    }
+    if (battle.getTurnCount() != 0 || battle.getPlayers().size() != 2) {
+      throw new IllegalStateException("The matchup is only known before the "
+          + "first turn of a battle between two players.");
+    }
+    int[] sides = new int[2 * SIDE_LENGTH];
+    for (int side = 0; side < 2; side++) {
+      Players p = battle.getPlayers().get(side);
+      if (!(p instanceof BattlePlayer)) {
+        throw new IllegalStateException("Only battle players have a matchup.");
+      }
+      readPlayer((BattlePlayer) p, sides, side * SIDE_LENGTH);
+    }
+
+    Players playerOne = battle.getPlayers().get(0);
+    Players playerTwo = battle.getPlayers().get(1);
+    int firstAttacker;
+    if (battle.getNextAttacker() != null) {
+      firstAttacker = battle.getNextAttacker() == playerOne ? 0 : 1;
+    } else if (playerOne.getCharisma() > playerTwo.getCharisma()) {
+      firstAttacker = 1;
+    } else {
+      firstAttacker = 0;
+    }
+    return new Matchup(sides, firstAttacker);
+  }
+
+  /**
+   * Read the values of a prepared player.
+   *
+   * @param player prepared player
+   * @param sides values of both players
+   * @param start index of the first value of the player
+   * @throws IllegalStateException if the player is not prepared or
+   *                               carries more than two weapons
+   */
+  private static void readPlayer(BattlePlayer player, int[] sides, int start)
+      throws IllegalStateException {
+    int weapons = player.getWeaponsUsed().size();
+    if (weapons == 0 || weapons > 2) {
+      throw new IllegalStateException("The players must be prepared with "
+          + "one weapon or a pair of katanas.");
+    }
+    sides[start + TEMPORARY_STRENGTH] = player.getTemporaryStrength();
+    sides[start + TEMPORARY_CONSTITUTION] = player.getTemporaryConstitution();
+    sides[start + TEMPORARY_DEXTERITY] = player.getTemporaryDexterity();
+    sides[start + TEMPORARY_EFFECT_STRIKES] = player.getTemporaryEffectStrikes();
+    sides[start + HEALTH] = player.getCurrentHealth();
+    sides[start + STRENGTH] = player.getStrength() - player.getTemporaryStrength();
+    sides[start + CONSTITUTION] = player.getConstitution()
+        - player.getTemporaryConstitution();
+    sides[start + DEXTERITY] = player.getDexterity() - player.getTemporaryDexterity();
+    sides[start + FIRST_WEAPON] = player.getWeaponsUsed().get(0).getWeaponKind()
+        .ordinal();
+    sides[start + SECOND_WEAPON] = weapons == 2
+        ? player.getWeaponsUsed().get(1).getWeaponKind().ordinal() : NO_WEAPON;
+  }
+
+  /**
+   * Get a value of a player.
+   *
+   * @param side 0 for the first player and 1 for the second
+   * @param value index of the value
+   * @return value
+   */
+  int get(int side, int value) {
+    return this.sides[side * SIDE_LENGTH + value];
+  }
+
+  /**
+   * Get the same matchup with a value of a player changed.
+   *
+   * @param side 0 for the first player and 1 for the second
+   * @param value index of the value
+   * @param newValue new value
+   * @return changed matchup
+   */
+  Matchup with(int side, int value, int newValue) {
+    int[] changed = this.sides.clone();
+    changed[side * SIDE_LENGTH + value] = newValue;
+    return new Matchup(changed, this.firstAttacker);
+  }
+
+  /**
+   * Get a weapon of a player.
+   *
+   * @param side 0 for the first player and 1 for the second
+   * @param weapon {@link #FIRST_WEAPON} or {@link #SECOND_WEAPON}
+   * @return weapon kind, null if the player has a single weapon
+   */
+  WeaponKind getWeapon(int side, int weapon) {
+    int kind = this.get(side, weapon);
+    return kind == NO_WEAPON ? null : WeaponKind.values()[kind];
+  }
+
+  /**
+   * Get the same matchup with the players the other way round.
+   *
+   * @return mirrored matchup
+   */
+  Matchup getMirror() {
+    int[] mirrored = new int[this.sides.length];
+    System.arraycopy(this.sides, SIDE_LENGTH, mirrored, 0, SIDE_LENGTH);
+    System.arraycopy(this.sides, 0, mirrored, SIDE_LENGTH, SIDE_LENGTH);
+    return new Matchup(mirrored, this.firstAttacker ^ 1);
+  }
+
+  /**
+   * Check if this matchup comes before its mirror, comparing the values
+   * of the players in order. A matchup and its mirror have the same odds
+   * with the players the other way round, so only the one that comes
+   * first needs to be kept.
+   *
+   * @return true if the mirror does not come before this matchup
+   */
+  boolean isCanonical() {
+    int order = Arrays.compare(this.sides, 0, SIDE_LENGTH, this.sides,
+        SIDE_LENGTH, 2 * SIDE_LENGTH);
+    return order < 0 || order == 0 && this.firstAttacker == 0;
+  }
+
+  /**
+   * Get the player who strikes first.
+   *
+   * @return 0 for the first player and 1 for the second
+   */
+  public int getFirstAttacker() {
+    return this.firstAttacker;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Matchup)) {
+      return false;
+    }
+    Matchup other = (Matchup) o;
+    return this.firstAttacker == other.firstAttacker
+        && Arrays.equals(this.sides, other.sides);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+  @Override
+  public String toString() {
+    return "Matchup" + Arrays.toString(this.sides) + "; First attacker: "
+        + (this.firstAttacker + 1);
+  }
+}
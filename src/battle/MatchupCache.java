@@ -0,0 +1,174 @@
+package battle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the odds of matchups. Many prepared players end up
+ * with the same abilities, weapons and effects, so the same matchups are
+ * asked about again and again; the cache works out their odds once with
+ * an {@link OutcomeCalculator} and keeps the most recently used ones.
+ * A matchup and its mirror, with the players the other way round, share
+ * one entry.
+ *
+ * <p>The cache may be used by any number of threads. The odds of a
+ * missing matchup are calculated outside the lock, so two threads asking
+ * about the same new matchup at once may both calculate it.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchupCache {
+
+  private final int capacity;
+  private final OutcomeCalculator calculator;
+  private final Map<Matchup, MatchupOdds> entries;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Construct an empty cache.
+   *
+   * @param capacity most matchups kept
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public MatchupCache(int capacity) throws IllegalArgumentException {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The cache must hold at least one matchup.");
+    }
+    this.capacity = capacity;
+    this.calculator = new OutcomeCalculator();
+    this.entries = new LinkedHashMap<Matchup, MatchupOdds>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Matchup, MatchupOdds> eldest) {
+        if (this.size() > MatchupCache.this.capacity) {
+          MatchupCache.this.evictions++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Get the odds of a matchup, calculating them if they are not cached.
+   *
+   * @param matchup matchup
+   * @return odds of the matchup
+   * @throws IllegalArgumentException if the matchup is null
+   */
+  public MatchupOdds getOdds(Matchup matchup) throws IllegalArgumentException {
+    if (matchup == null) {
+      throw new IllegalArgumentException("The matchup cannot be null.");
+    }
+    boolean canonical = matchup.isCanonical();
+    Matchup key = canonical ? matchup : matchup.getMirror();
+    MatchupOdds odds;
+    synchronized (this) {
+      odds = this.entries.get(key);
+      if (odds != null) {
+        this.hits++;
+      } else {
+        this.misses++;
+      }
+    }
+    if (odds == null) {
+      odds = this.calculator.calculate(key);
+      synchronized (this) {
+        this.entries.put(key, odds);
+      }
+    }
+    return canonical ? odds : odds.getMirror();
+  }
+
+  /**
+   * Get the odds of a battle between prepared players, before its first
+   * turn.
+   *
+   * @param battle battle between prepared players
+   * @return odds of the battle
+   * @throws IllegalArgumentException if the battle is null
+   * @throws IllegalStateException if the battle has no matchup
+   * @see Matchup#of(BattleModel)
+   */
+  public MatchupOdds getOdds(BattleModel battle) throws IllegalArgumentException,
+      IllegalStateException {
+    return this.getOdds(Matchup.of(battle));
+  }
+
+  /**
+   * Get the number of matchups found in the cache.
+   *
+   * @return hits
+   */
+  public synchronized long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Get the number of matchups that had to be calculated.
+   *
+   * @return misses
+   */
+  public synchronized long getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Get the number of matchups dropped to make room for others.
+   *
+   * @return evictions
+   */
+  public synchronized long getEvictions() {
+    return this.evictions;
+  }
+
+  /**
+   * Get the share of matchups found in the cache.
+   *
+   * @return hit rate, 0 if no matchup was asked about
+   */
+  public synchronized double getHitRate() {
+    long requests = this.hits + this.misses;
+    return requests == 0 ? 0 : (double) this.hits / requests;
+  }
+
+  /**
+   * Get the number of matchups kept.
+   *
+   * @return size
+   */
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Get the most matchups kept.
+   *
+   * @return capacity
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Drop every matchup and reset the counters.
+   */
+  public synchronized void clear() {
+    this.entries.clear();
+    this.hits = 0;
+    this.misses = 0;
+    this.evictions = 0;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("Matchups cached: %d/%d%nHits: %d%nMisses: %d%n"
+        + "Evictions: %d", this.entries.size(), this.capacity, this.hits,
+        this.misses, this.evictions);
+  }
+}
@@ -0,0 +1,86 @@
+package battle;
+
+/**
+ * Class representing the exact odds of a matchup: the probability that
+ * each player wins, the probability of a draw and the expected number of
+ * turns of the battle.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class MatchupOdds {
+
+  private final double playerOneWins;
+  private final double playerTwoWins;
+  private final double draw;
+  private final double expectedTurns;
+
+  /**
+   * Construct the odds of a matchup.
+   *
+   * @param playerOneWins probability that the first player wins
+   * @param playerTwoWins probability that the second player wins
+   * @param draw probability of a draw
+   * @param expectedTurns expected number of turns
+   */
+  public MatchupOdds(double playerOneWins, double playerTwoWins, double draw,
+      double expectedTurns) {
+    this.playerOneWins = playerOneWins;
+    this.playerTwoWins = playerTwoWins;
+    this.draw = draw;
+    this.expectedTurns = expectedTurns;
+  }
+
+  /**
+   * Get the probability that the first player wins.
+   *
+   * @return probability
+   */
+  public double getPlayerOneWins() {
+    return this.playerOneWins;
+  }
+
+  /**
+   * Get the probability that the second player wins.
+   *
+   * @return probability
+   */
+  public double getPlayerTwoWins() {
+    return this.playerTwoWins;
+  }
+
+  /**
+   * Get the probability of a draw.
+   *
+   * @return probability
+   */
+  public double getDraw() {
+    return this.draw;
+  }
+
+  /**
+   * Get the expected number of turns of the battle.
+   *
+   * @return expected turns
+   */
+  public double getExpectedTurns() {
+    return this.expectedTurns;
+  }
+
+  /**
+   * Get the odds with the players the other way round.
+   *
+   * @return mirrored odds
+   */
+  MatchupOdds getMirror() {
+    return new MatchupOdds(this.playerTwoWins, this.playerOneWins, this.draw,
+        this.expectedTurns);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Player one wins: %.4f%nPlayer two wins: %.4f%n"
+        + "Draw: %.4f%nExpected turns: %.2f", this.playerOneWins,
+        this.playerTwoWins, this.draw, this.expectedTurns);
+  }
+}
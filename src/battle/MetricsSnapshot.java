@@ -0,0 +1,187 @@
+package battle;
+
+/**
+ * Class representing the metrics of the battles at one point in time, as
+ * taken by {@link BattleMetrics#snapshot()}.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class MetricsSnapshot {
+
+  private final long turns;
+  private final double turnsPerSecond;
+  private final double strikeSuccessRatio;
+  private final double meanDamage;
+  private final long medianDamage;
+  private final long damage99thPercentile;
+  private final long maxDamage;
+  private final long battles;
+  private final double redundancyDrawRate;
+  private final double meanPreparationNanos;
+  private final long preparationNanos99thPercentile;
+  private final double meanEquipNanos;
+
+  /**
+   * Construct a snapshot of the metrics.
+   *
+   * @param turns turns played
+   * @param turnsPerSecond turns played per second
+   * @param strikeSuccessRatio share of strikes that beat the avoidance
+   *                           ability of the defender
+   * @param meanDamage mean damage of the successful strikes
+   * @param medianDamage median damage of the successful strikes
+   * @param damage99thPercentile 99th percentile of the damage
+   * @param maxDamage largest damage of a strike
+   * @param battles battles played to their end
+   * @param redundancyDrawRate share of battles drawn after too many
+   *                           unsuccessful strikes
+   * @param meanPreparationNanos mean time preparing the players of a
+   *                             battle, in nanoseconds
+   * @param preparationNanos99thPercentile 99th percentile of the
+   *                                       preparation time
+   * @param meanEquipNanos mean time equipping a player, in nanoseconds
+   */
+  public MetricsSnapshot(long turns, double turnsPerSecond, double strikeSuccessRatio,
+      double meanDamage, long medianDamage, long damage99thPercentile,
+      long maxDamage, long battles, double redundancyDrawRate,
+      double meanPreparationNanos, long preparationNanos99thPercentile,
+      double meanEquipNanos) {
+    this.turns = turns;
+    this.turnsPerSecond = turnsPerSecond;
+    this.strikeSuccessRatio = strikeSuccessRatio;
+    this.meanDamage = meanDamage;
+    this.medianDamage = medianDamage;
+    this.damage99thPercentile = damage99thPercentile;
+    this.maxDamage = maxDamage;
+    this.battles = battles;
+    this.redundancyDrawRate = redundancyDrawRate;
+    this.meanPreparationNanos = meanPreparationNanos;
+    this.preparationNanos99thPercentile = preparationNanos99thPercentile;
+    this.meanEquipNanos = meanEquipNanos;
+  }
+
+  /**
+   * Get the number of turns played.
+   *
+   * @return turns
+   */
+  public long getTurns() {
+    return this.turns;
+  }
+
+  /**
+   * Get the number of turns played per second.
+   *
+   * @return turns per second
+   */
+  public double getTurnsPerSecond() {
+    return this.turnsPerSecond;
+  }
+
+  /**
+   * Get the share of strikes whose striking power beat the avoidance
+   * ability of the defender, whether or not they took health away.
+   *
+   * @return strike success ratio
+   */
+  public double getStrikeSuccessRatio() {
+    return this.strikeSuccessRatio;
+  }
+
+  /**
+   * Get the mean damage of the successful strikes.
+   *
+   * @return mean damage
+   */
+  public double getMeanDamage() {
+    return this.meanDamage;
+  }
+
+  /**
+   * Get the median damage of the successful strikes.
+   *
+   * @return median damage
+   */
+  public long getMedianDamage() {
+    return this.medianDamage;
+  }
+
+  /**
+   * Get the 99th percentile of the damage of the successful strikes.
+   *
+   * @return 99th percentile of the damage
+   */
+  public long getDamage99thPercentile() {
+    return this.damage99thPercentile;
+  }
+
+  /**
+   * Get the largest damage of a strike.
+   *
+   * @return largest damage
+   */
+  public long getMaxDamage() {
+    return this.maxDamage;
+  }
+
+  /**
+   * Get the number of battles played to their end.
+   *
+   * @return battles
+   */
+  public long getBattles() {
+    return this.battles;
+  }
+
+  /**
+   * Get the share of battles drawn after too many unsuccessful strikes.
+   *
+   * @return redundancy draw rate
+   */
+  public double getRedundancyDrawRate() {
+    return this.redundancyDrawRate;
+  }
+
+  /**
+   * Get the mean time spent preparing the players of a battle.
+   *
+   * @return mean preparation time in nanoseconds
+   */
+  public double getMeanPreparationNanos() {
+    return this.meanPreparationNanos;
+  }
+
+  /**
+   * Get the 99th percentile of the time spent preparing the players of a
+   * battle.
+   *
+   * @return 99th percentile of the preparation time in nanoseconds
+   */
+  public long getPreparationNanos99thPercentile() {
+    return this.preparationNanos99thPercentile;
+  }
+
+  /**
+   * Get the mean time spent equipping a player with gears.
+   *
+   * @return mean equipping time in nanoseconds
+   */
+  public double getMeanEquipNanos() {
+    return this.meanEquipNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Turns: %d (%.0f per second)%n"
+        + "Strike success ratio: %.4f%n"
+        + "Damage: mean %.2f, median %d, 99th percentile %d, max %d%n"
+        + "Battles: %d; Redundancy draw rate: %.4f%n"
+        + "Preparation: mean %.0f ns, 99th percentile %d ns%n"
+        + "Equipping: mean %.0f ns", this.turns, this.turnsPerSecond,
+        this.strikeSuccessRatio, this.meanDamage, this.medianDamage,
+        this.damage99thPercentile, this.maxDamage, this.battles,
+        this.redundancyDrawRate, this.meanPreparationNanos,
+        this.preparationNanos99thPercentile, this.meanEquipNanos);
+  }
+}
@@ -0,0 +1,273 @@
+package battle;
+
+/**
+ * An outcome calculator works out the exact odds of a {@link Matchup} by
+ * dynamic programming over the states of the battle, without playing it.
+ * Once the players are prepared, the only random numbers of a battle are
+ * the striking power, the avoidance ability and the weapon damage of each
+ * turn, so the distribution of the damage of every strike is known in
+ * advance for every turn.
+ *
+ * <p>A state of the battle is the health of both players, the number of
+ * turns played and the number of consecutive unsuccessful strikes. The
+ * turn count only matters until the temporary effects of both players
+ * wore off; after that only whose turn it is matters. A successful strike
+ * resets the unsuccessful strikes and takes health away, so the odds of
+ * every state are found from states with less health, and the odds after
+ * a successful strike are shared by all counts of unsuccessful strikes.
+ * The chance that a run of unsuccessful strikes reaches each turn does
+ * not depend on the health, so it is worked out once. The work is about
+ * the product of both healths times the number of damage values of a
+ * strike, and does not depend on how long the battle lasts.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class OutcomeCalculator {
+
+  private static final int STRIKE_ROLLS = 9;
+  private static final int AVOIDANCE_ROLLS = 5;
+  private static final int MAX_UNSUCCESSFUL_STRIKES = 20;
+
+  /**
+   * Calculate the exact odds of a matchup.
+   *
+   * @param matchup matchup of two prepared players
+   * @return odds of the matchup
+   * @throws IllegalArgumentException if the matchup is null or a player
+   *                                  has no health left
+   */
+  public MatchupOdds calculate(Matchup matchup) throws IllegalArgumentException {
+    if (matchup == null) {
+      throw new IllegalArgumentException("The matchup cannot be null.");
+    }
+    int healthOne = matchup.get(0, Matchup.HEALTH);
+    int healthTwo = matchup.get(1, Matchup.HEALTH);
+    if (healthOne <= 0 || healthTwo <= 0) {
+      throw new IllegalArgumentException("Both players must have health left.");
+    }
+
+    // Turns are counted up to the first one after which the temporary
+    // effect of both players has worn off; after it only whose turn it
+    // is matters, so the last two turns lead into each other.
+    int lastEffect = Math.max(this.getLastEffectStrike(matchup, 0),
+        this.getLastEffectStrike(matchup, 1));
+    int steadyTurn = 2 * lastEffect + 2;
+    int turns = steadyTurn + 2;
+    int[] nextTurn = new int[turns];
+    int[] attacker = new int[turns];
+    int[][] damages = new int[turns][];
+    double[][] damageProbabilities = new double[turns][];
+    double[] unsuccessful = new double[turns];
+    for (int t = 0; t < turns; t++) {
+      nextTurn[t] = t + 1 < turns ? t + 1 : steadyTurn;
+      attacker[t] = (matchup.getFirstAttacker() + t) & 1;
+      unsuccessful[t] = this.getStrikeDistribution(matchup, t, damages,
+          damageProbabilities);
+    }
+
+    // A run of unsuccessful strikes does not change the health, so the
+    // odds of a state are the odds after the first successful strike of
+    // the run, weighted by the chance the run reaches it, or a draw.
+    double[][] runWeights = new double[turns][turns];
+    double[] runTurns = new double[turns];
+    double[] runDraws = new double[turns];
+    for (int t = 0; t < turns; t++) {
+      double reach = 1;
+      int turn = t;
+      for (int misses = 0; misses <= MAX_UNSUCCESSFUL_STRIKES; misses++) {
+        runWeights[t][turn] += reach;
+        runTurns[t] += reach;
+        reach *= unsuccessful[turn];
+        turn = nextTurn[turn];
+      }
+      runDraws[t] = reach;
+    }
+
+    // Odds of every state with no unsuccessful strikes, by health of both
+    // players and turn.
+    int states = healthOne * healthTwo * turns;
+    double[] winsOne = new double[states];
+    double[] winsTwo = new double[states];
+    double[] draws = new double[states];
+    double[] remainingTurns = new double[states];
+
+    double[] hitWinsOne = new double[turns];
+    double[] hitWinsTwo = new double[turns];
+    double[] hitDraws = new double[turns];
+    double[] hitTurns = new double[turns];
+
+    for (int one = 1; one <= healthOne; one++) {
+      for (int two = 1; two <= healthTwo; two++) {
+        for (int t = 0; t < turns; t++) {
+          double wOne = 0;
+          double wTwo = 0;
+          double draw = 0;
+          double length = 0;
+          int next = nextTurn[t];
+          int[] damage = damages[t];
+          double[] probability = damageProbabilities[t];
+          for (int i = 0; i < damage.length; i++) {
+            double p = probability[i];
+            int left = (attacker[t] == 0 ? two : one) - damage[i];
+            if (left <= 0) {
+              if (attacker[t] == 0) {
+                wOne += p;
+              } else {
+                wTwo += p;
+              }
+              continue;
+            }
+            int state = attacker[t] == 0
+                ? this.getState(one, left, next, healthTwo, turns)
+                : this.getState(left, two, next, healthTwo, turns);
+            wOne += p * winsOne[state];
+            wTwo += p * winsTwo[state];
+            draw += p * draws[state];
+            length += p * remainingTurns[state];
+          }
+          hitWinsOne[t] = wOne;
+          hitWinsTwo[t] = wTwo;
+          hitDraws[t] = draw;
+          hitTurns[t] = length;
+        }
+
+        int state = this.getState(one, two, 0, healthTwo, turns);
+        for (int t = 0; t < turns; t++) {
+          double[] weights = runWeights[t];
+          double wOne = 0;
+          double wTwo = 0;
+          double draw = runDraws[t];
+          double length = runTurns[t];
+          for (int s = 0; s < turns; s++) {
+            double w = weights[s];
+            wOne += w * hitWinsOne[s];
+            wTwo += w * hitWinsTwo[s];
+            draw += w * hitDraws[s];
+            length += w * hitTurns[s];
+          }
+          winsOne[state + t] = wOne;
+          winsTwo[state + t] = wTwo;
+          draws[state + t] = draw;
+          remainingTurns[state + t] = length;
+        }
+      }
+    }
+
+    int start = this.getState(healthOne, healthTwo, 0, healthTwo, turns);
+    return new MatchupOdds(winsOne[start], winsTwo[start], draws[start],
+        remainingTurns[start]);
+  }
+
+  /**
+   * Get the index of a state in the tables of odds.
+   *
+   * @param one health of the first player
+   * @param two health of the second player
+   * @param turn counted turn
+   * @param healthTwo initial health of the second player
+   * @param turns number of counted turns
+   * @return index of the state
+   */
+  private int getState(int one, int two, int turn, int healthTwo, int turns) {
+    return ((one - 1) * healthTwo + two - 1) * turns + turn;
+  }
+
+  /**
+   * Get the number of strikes a player makes with the temporary effect of
+   * their potions. The effect wears off at the start of the next strike.
+   *
+   * @param matchup matchup
+   * @param side 0 for the first player and 1 for the second
+   * @return strikes with the temporary effect
+   */
+  private int getLastEffectStrike(Matchup matchup, int side) {
+    return Math.max(matchup.get(side, Matchup.TEMPORARY_EFFECT_STRIKES) - 1, 0);
+  }
+
+  /**
+   * Check if a player still has the temporary effect of their potions.
+   *
+   * @param matchup matchup
+   * @param side 0 for the first player and 1 for the second
+   * @param turn turn, counted from 0
+   * @param striking true if the player strikes in the turn
+   * @return true if the temporary effect is on
+   */
+  private boolean hasEffect(Matchup matchup, int side, int turn, boolean striking) {
+    int strikesMade = side == matchup.getFirstAttacker() ? (turn + 1) / 2 : turn / 2;
+    int lastEffect = this.getLastEffectStrike(matchup, side);
+    return striking ? strikesMade < lastEffect : strikesMade <= lastEffect;
+  }
+
+  /**
+   * Work out the distribution of the damage of a strike in a turn. Only
+   * the damage values of successful strikes are kept.
+   *
+   * @param matchup matchup
+   * @param turn turn, counted from 0
+   * @param damages damage values by turn, filled in for the turn
+   * @param probabilities probabilities of the damage values by turn,
+   *                      filled in for the turn
+   * @return probability that the strike is unsuccessful
+   */
+  private double getStrikeDistribution(Matchup matchup, int turn, int[][] damages,
+      double[][] probabilities) {
+    int a = (matchup.getFirstAttacker() + turn) & 1;
+    int d = a ^ 1;
+    boolean attackerEffect = this.hasEffect(matchup, a, turn, true);
+    boolean defenderEffect = this.hasEffect(matchup, d, turn, false);
+
+    int strength = matchup.get(a, Matchup.STRENGTH)
+        + (attackerEffect ? matchup.get(a, Matchup.TEMPORARY_STRENGTH) : 0);
+    int dexterity = matchup.get(a, Matchup.DEXTERITY)
+        + (attackerEffect ? matchup.get(a, Matchup.TEMPORARY_DEXTERITY) : 0);
+    int avoidance = matchup.get(d, Matchup.DEXTERITY)
+        + (defenderEffect ? matchup.get(d, Matchup.TEMPORARY_DEXTERITY) : 0);
+    int constitution = matchup.get(d, Matchup.CONSTITUTION)
+        + (defenderEffect ? matchup.get(d, Matchup.TEMPORARY_CONSTITUTION) : 0);
+
+    int hits = 0;
+    for (int strike = 1; strike <= STRIKE_ROLLS; strike++) {
+      for (int avoid = 1; avoid <= AVOIDANCE_ROLLS; avoid++) {
+        if (strength + strike > avoidance + avoid) {
+          hits++;
+        }
+      }
+    }
+    double hitProbability = (double) hits / (STRIKE_ROLLS * AVOIDANCE_ROLLS);
+
+    // Add up the uniform damage of the weapons.
+    double[] weaponDamage = {1.0};
+    int minimum = 0;
+    for (int w = Matchup.FIRST_WEAPON; w <= Matchup.SECOND_WEAPON; w++) {
+      WeaponKind kind = matchup.getWeapon(a, w);
+      if (kind == null) {
+        continue;
+      }
+      boolean full = kind.canWieldFully(strength, dexterity);
+      minimum += kind.getMinimumDamage(full);
+      int span = kind.getDamageSpan(full);
+      double[] sum = new double[weaponDamage.length + span - 1];
+      for (int i = 0; i < weaponDamage.length; i++) {
+        for (int k = 0; k < span; k++) {
+          sum[i + k] += weaponDamage[i] / span;
+        }
+      }
+      weaponDamage = sum;
+    }
+
+    int lowest = strength + minimum - constitution;
+    int first = Math.max(0, 1 - lowest);
+    int count = Math.max(0, weaponDamage.length - first);
+    damages[turn] = new int[count];
+    probabilities[turn] = new double[count];
+    double successful = 0;
+    for (int i = 0; i < count; i++) {
+      damages[turn][i] = lowest + first + i;
+      probabilities[turn][i] = hitProbability * weaponDamage[first + i];
+      successful += probabilities[turn][i];
+    }
+    return 1 - successful;
+  }
+}
@@ -60,6 +60,21 @@ public interface Players {
    */
   public List<Weapons> getWeaponsUsed();
   
+  /**
+   * Get the damage the weapons of the player do in a strike. The damage 
+   * of every weapon is rolled for the player as they are now, so heavy 
+   * weapons may do less damage once the temporary effect wears off.
+   * 
+   * @return weapon damage
+   */
+  public default int getWeaponDamage() {
+    int weaponDamage = 0;
+    for (Weapons w : this.getWeaponsUsed()) {
+      weaponDamage += w.getStrikePower(this);
+    }
+    return weaponDamage;
+  }
+  
   /**
    * Get a sorted list of gears. Gear should be returned in order of top to bottom, 
    * then alphabetically: thus any headgear should come before 
@@ -1,8 +1,5 @@
 package battle;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Class representing potion gear. Potions are consumed by the player 
  * before entering the arena. They can temporarily increase the strength 
@@ -15,6 +12,7 @@ import java.util.Map;
  */
 public class Potions extends AbstractGears {
   
+  private static final GearEffect EFFECT = new GearEffect(1, -1, 1, 0);
   private String potionId;
   private int temporaryEffect;
   
@@ -37,14 +35,13 @@ public class Potions extends AbstractGears {
   }
 
   @Override
-  public Map<String, Integer> checkEffectOfGear() {
-    Map<String, Integer> map = new HashMap();
-    map.put("Strength", 1);
-    map.put("Constitution",  -1);
-    map.put("Dexterity", 1);
-    map.put("Charisma", 0);
-    
-    return map;
+  public GearKind getGearKind() {
+    return GearKind.POTION;
+  }
+
+  @Override
+  public GearEffect getEffect() {
+    return EFFECT;
   }
   
   /**
@@ -43,4 +43,48 @@ public interface RandomNumberGenerator {
    * @return list of random numbers
    */
   List<Integer> getRepeatedRandomNumbersList(int length, int lowerBound, int upperBound);
+  
+  /**
+   * Generate an array of random non-repeating integers within 
+   * the given range, without boxing the numbers. By default the numbers 
+   * are copied from {@link #getUniqueRandomNumbersList(int, int, int)}; 
+   * generators override this to draw them without boxing. 
+   * 
+   * @param length Length of the random number array
+   * @param lowerBound Lower bound of the integers range
+   * @param upperBound Upper bound of the integers range
+   * @return array of random numbers
+   * @throws IllegalArgumentException if the length is negative or greater 
+   *                                  than the size of the range
+   */
+  default int[] getUniqueRandomNumbers(int length, int lowerBound, int upperBound) 
+      throws IllegalArgumentException {
+    int range = upperBound - lowerBound;
+    if (length < 0 || length > range) {
+      throw new IllegalArgumentException("Cannot draw " + length + " unique "
+          + "numbers from a range of " + Math.max(range, 0) + " numbers.");
+    }
+    List<Integer> list = this.getUniqueRandomNumbersList(length, lowerBound, 
+        upperBound);
+    int[] numbers = new int[length];
+    for (int i = 0; i < length; i++) {
+      numbers[i] = list.get(i);
+    }
+    return numbers;
+  }
+  
+  /**
+   * Fill the given array with random repeating integers within 
+   * the given range. By default every number is drawn with 
+   * {@link #getRandomNumber(int, int)}. 
+   * 
+   * @param numbers Array to fill
+   * @param lowerBound Lower bound of the integers range
+   * @param upperBound Upper bound of the integers range
+   */
+  default void fillRandom(int[] numbers, int lowerBound, int upperBound) {
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = this.getRandomNumber(lowerBound, upperBound);
+    }
+  }
 }
@@ -14,7 +14,27 @@ import java.util.Random;
  */
 public class RandomNumberGeneratorDev extends Random implements RandomNumberGenerator {
   
-  Random rand = new Random();
+  Random rand;
+  
+  /**
+   * Construct a random number generator seeded from the system clock.
+   */
+  public RandomNumberGeneratorDev() {
+    super();
+    this.rand = new Random();
+  }
+  
+  /**
+   * Construct a random number generator with a fixed seed. Two generators 
+   * built from the same seed produce the same sequence of numbers, which 
+   * lets a batch of battles be replayed exactly.
+   * 
+   * @param seed initial seed
+   */
+  public RandomNumberGeneratorDev(long seed) {
+    super(seed);
+    this.rand = new Random(seed);
+  }
   
   @Override
   public int getRandomNumber(int lowerBound, int upperBound) {
@@ -25,16 +45,7 @@ public class RandomNumberGeneratorDev extends Random implements RandomNumberGene
   public List<Integer> getUniqueRandomNumbersList(int length, int lowerBound, int upperBound) {
     List<Integer> numbers = new ArrayList<>();
     
-    for (int i = 0; i < length; i++) {
-      int number = 0;
-      
-      while (true) {
-        number = this.getRandomNumber(lowerBound, upperBound);
-        if (!numbers.contains(number)) {
-          break;
-        }
-      }
-      
+    for (int number : this.getUniqueRandomNumbers(length, lowerBound, upperBound)) {
       numbers.add(number);
     }
     return numbers;
@@ -52,6 +63,18 @@ public class RandomNumberGeneratorDev extends Random implements RandomNumberGene
     }
     return numbers;
   }
-  
-  
+
+  @Override
+  public int[] getUniqueRandomNumbers(int length, int lowerBound, int upperBound) 
+      throws IllegalArgumentException {
+    return RandomSampling.sampleWithoutReplacement(this, length, lowerBound, 
+        upperBound);
+  }
+
+  @Override
+  public void fillRandom(int[] numbers, int lowerBound, int upperBound) {
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = this.getRandomNumber(lowerBound, upperBound);
+    }
+  }
 }
@@ -89,4 +89,28 @@ public class RandomNumberGeneratorTest extends Random
     return predefinedNumbers;
   }
 
+  @Override
+  public int[] getUniqueRandomNumbers(int length, int lowerBound, 
+      int upperBound) {
+    List<Integer> predefinedNumbers = this.getUniqueRandomNumbersList(length, 
+        lowerBound, upperBound);
+    int[] numbers = new int[predefinedNumbers.size()];
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = predefinedNumbers.get(i);
+    }
+    return numbers;
+  }
+
+  @Override
+  public void fillRandom(int[] numbers, int lowerBound, int upperBound) {
+    int size = 0;
+    for (int i = 0; i < numbers.length; i++) {
+      if (size == upperBound) {
+        size = 0;
+      }
+      numbers[i] = size;
+      size++;
+    }
+  }
+
 }
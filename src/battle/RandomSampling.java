@@ -0,0 +1,120 @@
+package battle;
+
+/**
+ * Helper for drawing samples of integers through a random number 
+ * generator. The samples are drawn into primitive arrays so that no 
+ * number is boxed.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+final class RandomSampling {
+  
+  /**
+   * Ranges at least this many times longer than the sample are sampled 
+   * without building the whole range.
+   */
+  private static final int SPARSE_RATIO = 8;
+  
+  private RandomSampling() {
+  }
+  
+  /**
+   * Draw random non-repeating integers from a range. Every ordered sample 
+   * is equally likely. Small ranges are sampled with a partial Fisher-Yates 
+   * shuffle, whose cost is linear in the size of the range. Ranges much 
+   * longer than the sample are sampled with Floyd's algorithm, whose cost 
+   * is linear in the length of the sample.
+   * 
+   * @param rand Random Number Generator
+   * @param length Length of the sample
+   * @param lowerBound Lower bound of the integers range
+   * @param upperBound Upper bound of the integers range
+   * @return array of random numbers
+   * @throws IllegalArgumentException if the length is negative or greater 
+   *                                  than the size of the range
+   */
+  static int[] sampleWithoutReplacement(RandomNumberGenerator rand, int length, 
+      int lowerBound, int upperBound) throws IllegalArgumentException {
+    int range = upperBound - lowerBound;
+    if (length < 0 || length > range) {
+      throw new IllegalArgumentException("Cannot draw " + length + " unique "
+          + "numbers from a range of " + Math.max(range, 0) + " numbers.");
+    }
+    if (range / SPARSE_RATIO >= length) {
+      return sampleSparse(rand, length, lowerBound, range);
+    }
+    
+    int[] pool = new int[range];
+    for (int i = 0; i < range; i++) {
+      pool[i] = lowerBound + i;
+    }
+    
+    int[] numbers = new int[length];
+    for (int i = 0; i < length; i++) {
+      int j = rand.getRandomNumber(i, range);
+      int number = pool[j];
+      pool[j] = pool[i];
+      pool[i] = number;
+      numbers[i] = number;
+    }
+    return numbers;
+  }
+  
+  /**
+   * Draw random non-repeating integers from a long range with Floyd's 
+   * algorithm, then shuffle them so that their order is random as well. 
+   * The numbers drawn so far are kept in a small open-addressing table.
+   * 
+   * @param rand Random Number Generator
+   * @param length Length of the sample
+   * @param lowerBound Lower bound of the integers range
+   * @param range Size of the integers range
+   * @return array of random numbers
+   */
+  private static int[] sampleSparse(RandomNumberGenerator rand, int length, 
+      int lowerBound, int range) {
+    int[] table = new int[Integer.highestOneBit(Math.max(length, 1)) << 2];
+    int mask = table.length - 1;
+    int[] numbers = new int[length];
+    
+    // Offsets are stored plus one, so that 0 marks an empty slot.
+    for (int i = 0; i < length; i++) {
+      int j = range - length + i;
+      int offset = rand.getRandomNumber(0, j + 1);
+      if (!insert(table, mask, offset + 1)) {
+        offset = j;
+        insert(table, mask, offset + 1);
+      }
+      numbers[i] = lowerBound + offset;
+    }
+    
+    for (int i = length - 1; i > 0; i--) {
+      int j = rand.getRandomNumber(0, i + 1);
+      int number = numbers[j];
+      numbers[j] = numbers[i];
+      numbers[i] = number;
+    }
+    return numbers;
+  }
+  
+  /**
+   * Insert a key into an open-addressing table.
+   * 
+   * @param table table of keys, 0 marks an empty slot
+   * @param mask table length minus one
+   * @param key positive key
+   * @return false if the key was already in the table
+   */
+  private static boolean insert(int[] table, int mask, int key) {
+    int slot = (key * 0x9E3779B9) >>> 7 & mask;
+    while (table[slot] != 0) {
+      if (table[slot] == key) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = key;
+    return true;
+  }
+}
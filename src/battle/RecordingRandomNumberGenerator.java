@@ -0,0 +1,236 @@
+package battle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A random number generator that records every number it returns into a
+ * compact binary replay log, so that a match can later be played again
+ * exactly through a {@link ReplayRandomNumberGenerator}. The numbers are
+ * drawn from another generator, and written in the format described by
+ * {@link ReplayFormat} through a buffer that is flushed to the channel
+ * only when it is full or the recorder is flushed or closed.
+ *
+ * <p>A recorder must only be used by one thread at a time.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class RecordingRandomNumberGenerator implements RandomNumberGenerator,
+    Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final RandomNumberGenerator random;
+  private final long seed;
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+  private boolean isClosed;
+
+  /**
+   * Construct a recorder of a match played with a
+   * {@link SplittableRandomNumberGenerator} of the given seed, writing the
+   * replay log to a file. An existing file is replaced.
+   *
+   * @param file replay log file
+   * @param seed seed of the match
+   * @throws IllegalArgumentException if the file is null
+   * @throws UncheckedIOException if the file cannot be opened
+   */
+  public RecordingRandomNumberGenerator(Path file, long seed) throws
+      IllegalArgumentException {
+    this(new SplittableRandomNumberGenerator(seed), seed, openFile(file));
+  }
+
+  /**
+   * Construct a recorder of the numbers of a random number generator,
+   * writing the replay log to a channel. The channel is closed with the
+   * recorder.
+   *
+   * @param rand random number generator drawing the numbers
+   * @param seed seed of the generator, kept in the log to identify the match
+   * @param channel channel the log is written to
+   * @throws IllegalArgumentException if the generator or the channel is null
+   * @throws UncheckedIOException if the header cannot be written
+   */
+  public RecordingRandomNumberGenerator(RandomNumberGenerator rand, long seed,
+      WritableByteChannel channel) throws IllegalArgumentException {
+    if (rand == null) {
+      throw new IllegalArgumentException("Random Number Generator cannot be null.");
+    }
+    if (channel == null) {
+      throw new IllegalArgumentException("The replay log channel cannot be null.");
+    }
+    this.random = rand;
+    this.seed = seed;
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    ReplayFormat.putHeader(this.buffer, seed);
+  }
+
+  /**
+   * Open a file for writing a replay log.
+   *
+   * @param file replay log file
+   * @return file channel
+   * @throws IllegalArgumentException if the file is null
+   * @throws UncheckedIOException if the file cannot be opened
+   */
+  private static FileChannel openFile(Path file) throws IllegalArgumentException {
+    if (file == null) {
+      throw new IllegalArgumentException("The replay log file cannot be null.");
+    }
+    try {
+      return FileChannel.open(file, StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException("The replay log file cannot be opened.", e);
+    }
+  }
+
+  /**
+   * Get the seed of the recorded match.
+   *
+   * @return seed
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  @Override
+  public int getRandomNumber(int lowerBound, int upperBound) {
+    int number = this.random.getRandomNumber(lowerBound, upperBound);
+    this.ensureRemaining(1 + ReplayFormat.MAX_INT_BYTES);
+    this.buffer.put(ReplayFormat.RANDOM_NUMBER);
+    ReplayFormat.putInt(this.buffer, number);
+    return number;
+  }
+
+  @Override
+  public List<Integer> getUniqueRandomNumbersList(int length, int lowerBound,
+      int upperBound) {
+    List<Integer> numbers = this.random.getUniqueRandomNumbersList(length,
+        lowerBound, upperBound);
+    this.recordList(ReplayFormat.UNIQUE_LIST, numbers);
+    return numbers;
+  }
+
+  @Override
+  public List<Integer> getRepeatedRandomNumbersList(int length, int lowerBound,
+      int upperBound) {
+    List<Integer> numbers = this.random.getRepeatedRandomNumbersList(length,
+        lowerBound, upperBound);
+    this.recordList(ReplayFormat.REPEATED_LIST, numbers);
+    return numbers;
+  }
+
+  @Override
+  public int[] getUniqueRandomNumbers(int length, int lowerBound, int upperBound)
+      throws IllegalArgumentException {
+    int[] numbers = this.random.getUniqueRandomNumbers(length, lowerBound,
+        upperBound);
+    this.recordArray(ReplayFormat.UNIQUE_ARRAY, numbers);
+    return numbers;
+  }
+
+  @Override
+  public void fillRandom(int[] numbers, int lowerBound, int upperBound) {
+    this.random.fillRandom(numbers, lowerBound, upperBound);
+    this.recordArray(ReplayFormat.FILL, numbers);
+  }
+
+  /**
+   * Record a call returning a list of numbers.
+   *
+   * @param call code of the call
+   * @param numbers numbers returned
+   */
+  private void recordList(byte call, List<Integer> numbers) {
+    this.ensureRemaining(1 + ReplayFormat.MAX_INT_BYTES);
+    this.buffer.put(call);
+    ReplayFormat.putInt(this.buffer, numbers.size());
+    for (int i = 0; i < numbers.size(); i++) {
+      this.ensureRemaining(ReplayFormat.MAX_INT_BYTES);
+      ReplayFormat.putInt(this.buffer, numbers.get(i));
+    }
+  }
+
+  /**
+   * Record a call returning an array of numbers.
+   *
+   * @param call code of the call
+   * @param numbers numbers returned
+   */
+  private void recordArray(byte call, int[] numbers) {
+    this.ensureRemaining(1 + ReplayFormat.MAX_INT_BYTES);
+    this.buffer.put(call);
+    ReplayFormat.putInt(this.buffer, numbers.length);
+    for (int number : numbers) {
+      this.ensureRemaining(ReplayFormat.MAX_INT_BYTES);
+      ReplayFormat.putInt(this.buffer, number);
+    }
+  }
+
+  /**
+   * Make room in the buffer, flushing it if needed.
+   *
+   * @param bytes number of bytes about to be written
+   * @throws IllegalStateException if the recorder is closed
+   */
+  private void ensureRemaining(int bytes) throws IllegalStateException {
+    if (this.isClosed) {
+      throw new IllegalStateException("The recorder is closed.");
+    }
+    if (this.buffer.remaining() < bytes) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Write the buffered part of the log to the channel.
+   *
+   * @throws UncheckedIOException if the log cannot be written
+   */
+  public void flush() {
+    this.buffer.flip();
+    try {
+      while (this.buffer.hasRemaining()) {
+        this.channel.write(this.buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("The replay log cannot be written.", e);
+    } finally {
+      this.buffer.clear();
+    }
+  }
+
+  /**
+   * Flush the log and close the channel. Closing a closed recorder has no
+   * effect.
+   *
+   * @throws UncheckedIOException if the log cannot be written or closed
+   */
+  @Override
+  public void close() {
+    if (this.isClosed) {
+      return;
+    }
+    try {
+      this.flush();
+    } finally {
+      this.isClosed = true;
+      try {
+        this.channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException("The replay log cannot be closed.", e);
+      }
+    }
+  }
+}
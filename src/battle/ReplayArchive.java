@@ -0,0 +1,427 @@
+package battle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * An append-only archive of replay logs, as recorded by a
+ * {@link RecordingRandomNumberGenerator}. The archive is kept in two
+ * memory-mapped files in a directory: a data file holding the logs one
+ * after the other, and an index file holding the offset and the length
+ * of every log by match id. Match ids are handed out by the archive in
+ * the order the logs are appended, starting from 0. The index file starts
+ * with a header holding a magic number and the segment size, so an archive
+ * opened with another segment size is refused rather than misread.
+ *
+ * <p>Both files are mapped in segments of a fixed size as they grow. A
+ * log never crosses the end of a segment, so a log is read as a slice of
+ * the mapped segment, without copying it. Any number of threads may
+ * append and read at the same time: an append reserves its match id and
+ * its place in the data file atomically, copies the log, then publishes
+ * its index entry, so readers only ever see complete logs.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class ReplayArchive implements Closeable {
+
+  private static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+  private static final int INDEX_ENTRY_SIZE = 16;
+  private static final int LENGTH_FIELD = 8;
+  private static final int INDEX_MAGIC = 0x42545258;
+  private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(
+      int[].class, ByteOrder.BIG_ENDIAN);
+
+  private final int segmentSize;
+  private final MappedSegments data;
+  private final MappedSegments index;
+  private final AtomicLong nextMatchId;
+  private final AtomicLong nextDataOffset;
+
+  /**
+   * Open the archive in a directory, creating it if needed, with segments
+   * of 64 MiB.
+   *
+   * @param directory directory of the archive
+   * @throws IllegalArgumentException if the directory is null
+   * @throws UncheckedIOException if the archive files cannot be opened
+   */
+  public ReplayArchive(Path directory) throws IllegalArgumentException {
+    this(directory, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Open the archive in a directory, creating it if needed. An archive
+   * must always be opened with the segment size it was created with.
+   *
+   * @param directory directory of the archive
+   * @param segmentSize size of the mapped segments in bytes, a multiple of
+   *                    16; no log can be larger than a segment
+   * @throws IllegalArgumentException if the directory is null or the
+   *                                  segment size is not a positive
+   *                                  multiple of 16
+   * @throws IllegalStateException if the directory holds an archive
+   *                               created with another segment size, or
+   *                               an index file that is not one
+   * @throws UncheckedIOException if the archive files cannot be opened
+   */
+  public ReplayArchive(Path directory, int segmentSize) throws
+      IllegalArgumentException, IllegalStateException {
+    if (directory == null) {
+      throw new IllegalArgumentException("The archive directory cannot be null.");
+    }
+    if (segmentSize < INDEX_ENTRY_SIZE || segmentSize % INDEX_ENTRY_SIZE != 0) {
+      throw new IllegalArgumentException("The segment size must be a positive "
+          + "multiple of " + INDEX_ENTRY_SIZE + ".");
+    }
+    this.segmentSize = segmentSize;
+    try {
+      Files.createDirectories(directory);
+      checkIndexHeader(directory.resolve("replays.index"), segmentSize);
+      this.data = new MappedSegments(directory.resolve("replays.data"), segmentSize);
+      this.index = new MappedSegments(directory.resolve("replays.index"),
+          segmentSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException("The archive cannot be opened.", e);
+    }
+
+    // The header takes the place of the first index entry.
+    MappedByteBuffer header = this.index.getSegment(0);
+    header.putInt(0, INDEX_MAGIC);
+    header.putInt(Integer.BYTES, segmentSize);
+
+    // Find the end of the archive from the published index entries.
+    long matches = 0;
+    long dataEnd = 0;
+    long entries = this.index.getMappableSize() / INDEX_ENTRY_SIZE - 1;
+    for (long id = 0; id < entries; id++) {
+      int length = this.getLength(id);
+      if (length > 0) {
+        matches = id + 1;
+        dataEnd = Math.max(dataEnd, this.getOffset(id) + length);
+      }
+    }
+    this.nextMatchId = new AtomicLong(matches);
+    this.nextDataOffset = new AtomicLong(dataEnd);
+  }
+
+  /**
+   * Check the header of an existing index file against the segment size
+   * the archive is opened with. A missing or empty index file belongs to
+   * a new archive.
+   *
+   * @param indexFile index file
+   * @param segmentSize segment size the archive is opened with
+   * @throws IllegalStateException if the header does not match
+   * @throws IOException if the index file cannot be read
+   */
+  private static void checkIndexHeader(Path indexFile, int segmentSize) throws
+      IllegalStateException, IOException {
+    if (!Files.exists(indexFile) || Files.size(indexFile) == 0) {
+      return;
+    }
+    ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+    try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+      while (header.hasRemaining()) {
+        if (channel.read(header) < 0) {
+          break;
+        }
+      }
+    }
+    header.flip();
+    if (header.remaining() < header.capacity() || header.getInt() != INDEX_MAGIC) {
+      throw new IllegalStateException("The directory does not hold a replay "
+          + "archive.");
+    }
+    int archiveSegmentSize = header.getInt();
+    if (archiveSegmentSize != segmentSize) {
+      throw new IllegalStateException("The archive was created with segments "
+          + "of " + archiveSegmentSize + " bytes, not " + segmentSize + ".");
+    }
+  }
+
+  /**
+   * Append a replay log to the archive. The log is read from the position
+   * to the limit of the buffer, and the position is left unchanged.
+   *
+   * @param log replay log
+   * @return match id of the log
+   * @throws IllegalArgumentException if the log is null, empty or larger
+   *                                  than a segment
+   */
+  public long append(ByteBuffer log) throws IllegalArgumentException {
+    if (log == null || !log.hasRemaining()) {
+      throw new IllegalArgumentException("The replay log cannot be empty.");
+    }
+    int length = log.remaining();
+    if (length > this.segmentSize) {
+      throw new IllegalArgumentException("The replay log is larger than a "
+          + "segment of the archive.");
+    }
+
+    long offset = this.reserveData(length);
+    MappedByteBuffer segment = this.data.getSegment(offset / this.segmentSize);
+    segment.put((int) (offset % this.segmentSize), log, log.position(), length);
+
+    long matchId = this.nextMatchId.getAndIncrement();
+    long entry = (matchId + 1) * INDEX_ENTRY_SIZE;
+    MappedByteBuffer indexSegment = this.index.getSegment(entry / this.segmentSize);
+    int position = (int) (entry % this.segmentSize);
+    indexSegment.putLong(position, offset);
+    // The length is published last, so a reader seeing it also sees the
+    // offset and the log.
+    INT_VIEW.setRelease(indexSegment, position + LENGTH_FIELD, length);
+    return matchId;
+  }
+
+  /**
+   * Reserve room for a log in the data file. A log that would cross the
+   * end of a segment is moved to the start of the next one.
+   *
+   * @param length length of the log
+   * @return offset of the log in the data file
+   */
+  private long reserveData(int length) {
+    while (true) {
+      long current = this.nextDataOffset.get();
+      long start = current;
+      if (current % this.segmentSize + length > this.segmentSize) {
+        start = current - current % this.segmentSize + this.segmentSize;
+      }
+      if (this.nextDataOffset.compareAndSet(current, start + length)) {
+        return start;
+      }
+    }
+  }
+
+  /**
+   * Get the replay log of a match. The returned buffer is a read-only
+   * view of the mapped data file, not a copy.
+   *
+   * @param matchId match id
+   * @return replay log
+   * @throws IllegalArgumentException if there is no log with the match id
+   */
+  public ByteBuffer get(long matchId) throws IllegalArgumentException {
+    if (matchId < 0 || matchId >= this.nextMatchId.get()) {
+      throw new IllegalArgumentException("There is no match " + matchId
+          + " in the archive.");
+    }
+    int length = this.getLength(matchId);
+    if (length == 0) {
+      throw new IllegalArgumentException("The match " + matchId
+          + " is still being appended.");
+    }
+    return this.slice(this.getOffset(matchId), length);
+  }
+
+  /**
+   * Get a replay of a match, reading its log straight from the archive.
+   *
+   * @param matchId match id
+   * @return replay of the match
+   * @throws IllegalArgumentException if there is no log with the match id
+   */
+  public ReplayRandomNumberGenerator replay(long matchId) throws
+      IllegalArgumentException {
+    return new ReplayRandomNumberGenerator(this.get(matchId));
+  }
+
+  /**
+   * Visit the replay logs of the archive in the order of their match ids.
+   * Logs still being appended are skipped.
+   *
+   * @param visitor visitor given every log and its match id
+   * @throws IllegalArgumentException if the visitor is null
+   */
+  public void forEach(ObjLongConsumer<ByteBuffer> visitor) throws
+      IllegalArgumentException {
+    if (visitor == null) {
+      throw new IllegalArgumentException("The visitor cannot be null.");
+    }
+    long matches = this.nextMatchId.get();
+    for (long id = 0; id < matches; id++) {
+      int length = this.getLength(id);
+      if (length > 0) {
+        visitor.accept(this.slice(this.getOffset(id), length), id);
+      }
+    }
+  }
+
+  /**
+   * Get the number of match ids handed out.
+   *
+   * @return number of matches
+   */
+  public long size() {
+    return this.nextMatchId.get();
+  }
+
+  /**
+   * Write the mapped segments of the archive to the storage device.
+   */
+  public void force() {
+    this.data.force();
+    this.index.force();
+  }
+
+  /**
+   * Write the archive to the storage device and close its files.
+   *
+   * @throws UncheckedIOException if the files cannot be closed
+   */
+  @Override
+  public void close() {
+    this.force();
+    try {
+      this.data.close();
+    } finally {
+      this.index.close();
+    }
+  }
+
+  /**
+   * Read the published length of a log from the index.
+   *
+   * @param matchId match id
+   * @return length, 0 if the log is not published
+   */
+  private int getLength(long matchId) {
+    long entry = (matchId + 1) * INDEX_ENTRY_SIZE;
+    return (int) INT_VIEW.getAcquire(this.index.getSegment(entry / this.segmentSize),
+        (int) (entry % this.segmentSize) + LENGTH_FIELD);
+  }
+
+  /**
+   * Read the offset of a log from the index.
+   *
+   * @param matchId match id
+   * @return offset in the data file
+   */
+  private long getOffset(long matchId) {
+    long entry = (matchId + 1) * INDEX_ENTRY_SIZE;
+    return this.index.getSegment(entry / this.segmentSize)
+        .getLong((int) (entry % this.segmentSize));
+  }
+
+  /**
+   * Get a read-only view of a part of the data file.
+   *
+   * @param offset offset in the data file
+   * @param length length of the view
+   * @return view of the data
+   */
+  private ByteBuffer slice(long offset, int length) {
+    return this.data.getSegment(offset / this.segmentSize)
+        .slice((int) (offset % this.segmentSize), length).asReadOnlyBuffer();
+  }
+
+  /**
+   * A file mapped in segments of a fixed size, mapped the first time they
+   * are used. Mapping a segment past the end of the file grows the file.
+   */
+  private static final class MappedSegments {
+
+    private final FileChannel channel;
+    private final int segmentSize;
+    private volatile MappedByteBuffer[] segments;
+
+    MappedSegments(Path file, int segmentSize) throws IOException {
+      this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.segmentSize = segmentSize;
+      this.segments = new MappedByteBuffer[0];
+    }
+
+    /**
+     * Get the size of the file rounded up to whole segments.
+     *
+     * @return mappable size
+     * @throws UncheckedIOException if the size cannot be read
+     */
+    long getMappableSize() {
+      try {
+        long size = this.channel.size();
+        return (size + this.segmentSize - 1) / this.segmentSize * this.segmentSize;
+      } catch (IOException e) {
+        throw new UncheckedIOException("The archive cannot be read.", e);
+      }
+    }
+
+    /**
+     * Get a segment, mapping it if it is not mapped yet.
+     *
+     * @param segment index of the segment
+     * @return mapped segment
+     */
+    MappedByteBuffer getSegment(long segment) {
+      MappedByteBuffer[] mapped = this.segments;
+      if (segment < mapped.length && mapped[(int) segment] != null) {
+        return mapped[(int) segment];
+      }
+      return this.map((int) segment);
+    }
+
+    /**
+     * Map a segment. Only one thread maps at a time, and the array of
+     * segments is replaced rather than changed, so it can be read
+     * without locking.
+     *
+     * @param segment index of the segment
+     * @return mapped segment
+     * @throws UncheckedIOException if the segment cannot be mapped
+     */
+    private synchronized MappedByteBuffer map(int segment) {
+      MappedByteBuffer[] mapped = this.segments;
+      if (segment < mapped.length && mapped[segment] != null) {
+        return mapped[segment];
+      }
+      mapped = Arrays.copyOf(mapped, Math.max(mapped.length, segment + 1));
+      try {
+        mapped[segment] = this.channel.map(FileChannel.MapMode.READ_WRITE,
+            (long) segment * this.segmentSize, this.segmentSize);
+      } catch (IOException e) {
+        throw new UncheckedIOException("The archive segment cannot be mapped.", e);
+      }
+      this.segments = mapped;
+      return mapped[segment];
+    }
+
+    /**
+     * Write the mapped segments to the storage device.
+     */
+    void force() {
+      for (MappedByteBuffer segment : this.segments) {
+        if (segment != null) {
+          segment.force();
+        }
+      }
+    }
+
+    /**
+     * Close the file. The segments stay mapped until they are collected.
+     *
+     * @throws UncheckedIOException if the file cannot be closed
+     */
+    void close() {
+      try {
+        this.channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException("The archive cannot be closed.", e);
+      }
+    }
+  }
+}
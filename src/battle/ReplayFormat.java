@@ -0,0 +1,148 @@
+package battle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary format of a replay log, shared by the recording and the
+ * replaying random number generators. A log starts with a header holding
+ * a magic number, the format version and the seed of the match, followed
+ * by one record for every call made to the random number generator. A
+ * record is the code of the call, then the number returned, or the length
+ * of the list or array returned followed by its numbers.
+ *
+ * <p>Numbers are written as variable-length integers: zig-zag encoded so
+ * small negative numbers stay small, then written 7 bits per byte with the
+ * high bit set on every byte but the last. Most numbers of a battle are
+ * below 64 and take a single byte.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+final class ReplayFormat {
+
+  /** Magic number at the start of every replay log, "BTLR". */
+  static final int MAGIC = 0x42544C52;
+  /** Version of the format. */
+  static final byte VERSION = 1;
+
+  /** Code of a call to get a random number. */
+  static final byte RANDOM_NUMBER = 0;
+  /** Code of a call to get a list of unique random numbers. */
+  static final byte UNIQUE_LIST = 1;
+  /** Code of a call to get a list of repeated random numbers. */
+  static final byte REPEATED_LIST = 2;
+  /** Code of a call to get an array of unique random numbers. */
+  static final byte UNIQUE_ARRAY = 3;
+  /** Code of a call to fill an array with random numbers. */
+  static final byte FILL = 4;
+
+  /** Most bytes taken by an encoded int. */
+  static final int MAX_INT_BYTES = 5;
+  /** Most bytes taken by an encoded long. */
+  static final int MAX_LONG_BYTES = 10;
+  /** Most bytes taken by the header. */
+  static final int MAX_HEADER_BYTES = 5 + MAX_LONG_BYTES;
+
+  private ReplayFormat() {
+  }
+
+  /**
+   * Write an int as a variable-length integer.
+   *
+   * @param buffer buffer with at least {@link #MAX_INT_BYTES} remaining
+   * @param value number to write
+   */
+  static void putInt(ByteBuffer buffer, int value) {
+    int bits = (value << 1) ^ (value >> 31);
+    while ((bits & ~0x7F) != 0) {
+      buffer.put((byte) ((bits & 0x7F) | 0x80));
+      bits >>>= 7;
+    }
+    buffer.put((byte) bits);
+  }
+
+  /**
+   * Read an int written as a variable-length integer.
+   *
+   * @param buffer buffer positioned at the number
+   * @return number read
+   * @throws IllegalStateException if the number is malformed
+   */
+  static int getInt(ByteBuffer buffer) throws IllegalStateException {
+    int bits = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      bits |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return (bits >>> 1) ^ -(bits & 1);
+      }
+    }
+    throw new IllegalStateException("The replay log holds a malformed number.");
+  }
+
+  /**
+   * Write a long as a variable-length integer.
+   *
+   * @param buffer buffer with at least {@link #MAX_LONG_BYTES} remaining
+   * @param value number to write
+   */
+  static void putLong(ByteBuffer buffer, long value) {
+    long bits = (value << 1) ^ (value >> 63);
+    while ((bits & ~0x7FL) != 0) {
+      buffer.put((byte) ((bits & 0x7F) | 0x80));
+      bits >>>= 7;
+    }
+    buffer.put((byte) bits);
+  }
+
+  /**
+   * Read a long written as a variable-length integer.
+   *
+   * @param buffer buffer positioned at the number
+   * @return number read
+   * @throws IllegalStateException if the number is malformed
+   */
+  static long getLong(ByteBuffer buffer) throws IllegalStateException {
+    long bits = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = buffer.get();
+      bits |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return (bits >>> 1) ^ -(bits & 1);
+      }
+    }
+    throw new IllegalStateException("The replay log holds a malformed number.");
+  }
+
+  /**
+   * Write the header of a replay log.
+   *
+   * @param buffer buffer with at least {@link #MAX_HEADER_BYTES} remaining
+   * @param seed seed of the match
+   */
+  static void putHeader(ByteBuffer buffer, long seed) {
+    buffer.putInt(MAGIC);
+    buffer.put(VERSION);
+    putLong(buffer, seed);
+  }
+
+  /**
+   * Read the header of a replay log.
+   *
+   * @param buffer buffer positioned at the start of the log
+   * @return seed of the match
+   * @throws IllegalStateException if the buffer does not hold a replay log
+   *                               of this version
+   */
+  static long getHeader(ByteBuffer buffer) throws IllegalStateException {
+    if (buffer.remaining() < 5 || buffer.getInt() != MAGIC) {
+      throw new IllegalStateException("The data is not a replay log.");
+    }
+    byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IllegalStateException("The replay log version " + version
+          + " is not supported.");
+    }
+    return getLong(buffer);
+  }
+}
@@ -0,0 +1,249 @@
+package battle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A random number generator that returns the numbers of a replay log
+ * recorded by a {@link RecordingRandomNumberGenerator}. A battle model
+ * given the replay of a match, and asked to play it the same way, makes
+ * the same calls in the same order and so plays the match exactly as
+ * recorded. The bounds asked for are not checked; the replay only checks
+ * that every call is the one recorded, and fails as soon as the match
+ * diverges from the log.
+ *
+ * <p>A replay must only be used by one thread at a time.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class ReplayRandomNumberGenerator implements RandomNumberGenerator,
+    Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final ReadableByteChannel channel;
+  private final ByteBuffer buffer;
+  private final long seed;
+
+  /**
+   * Construct a replay of a replay log file. The file is read through a
+   * buffer as the numbers are needed.
+   *
+   * @param file replay log file
+   * @throws IllegalArgumentException if the file is null
+   * @throws IllegalStateException if the file is not a replay log
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  public ReplayRandomNumberGenerator(Path file) throws IllegalArgumentException,
+      IllegalStateException {
+    if (file == null) {
+      throw new IllegalArgumentException("The replay log file cannot be null.");
+    }
+    try {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    } catch (IOException e) {
+      throw new UncheckedIOException("The replay log file cannot be opened.", e);
+    }
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    this.buffer.flip();
+    this.ensureAvailable(ReplayFormat.MAX_HEADER_BYTES);
+    this.seed = this.readHeader();
+  }
+
+  /**
+   * Construct a replay of a replay log held in a buffer. The numbers are
+   * read from the buffer itself, from its position to its limit, without
+   * copying it; the position of the given buffer is left unchanged.
+   *
+   * @param log replay log
+   * @throws IllegalArgumentException if the buffer is null
+   * @throws IllegalStateException if the buffer does not hold a replay log
+   */
+  public ReplayRandomNumberGenerator(ByteBuffer log) throws
+      IllegalArgumentException, IllegalStateException {
+    if (log == null) {
+      throw new IllegalArgumentException("The replay log cannot be null.");
+    }
+    this.channel = null;
+    this.buffer = log.slice();
+    this.seed = this.readHeader();
+  }
+
+  /**
+   * Read the header of the log.
+   *
+   * @return seed of the match
+   * @throws IllegalStateException if the log has no valid header
+   */
+  private long readHeader() throws IllegalStateException {
+    try {
+      return ReplayFormat.getHeader(this.buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalStateException("The replay log is truncated.", e);
+    }
+  }
+
+  /**
+   * Get the seed of the recorded match.
+   *
+   * @return seed
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Check if every recorded call has been replayed.
+   *
+   * @return true if the log holds no more calls
+   */
+  public boolean isExhausted() {
+    this.ensureAvailable(1);
+    return !this.buffer.hasRemaining();
+  }
+
+  @Override
+  public int getRandomNumber(int lowerBound, int upperBound) {
+    this.expectCall(ReplayFormat.RANDOM_NUMBER);
+    return this.readInt();
+  }
+
+  @Override
+  public List<Integer> getUniqueRandomNumbersList(int length, int lowerBound,
+      int upperBound) {
+    this.expectCall(ReplayFormat.UNIQUE_LIST);
+    return this.readList();
+  }
+
+  @Override
+  public List<Integer> getRepeatedRandomNumbersList(int length, int lowerBound,
+      int upperBound) {
+    this.expectCall(ReplayFormat.REPEATED_LIST);
+    return this.readList();
+  }
+
+  @Override
+  public int[] getUniqueRandomNumbers(int length, int lowerBound, int upperBound)
+      throws IllegalArgumentException {
+    this.expectCall(ReplayFormat.UNIQUE_ARRAY);
+    int[] numbers = new int[this.readInt()];
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = this.readInt();
+    }
+    return numbers;
+  }
+
+  @Override
+  public void fillRandom(int[] numbers, int lowerBound, int upperBound) {
+    this.expectCall(ReplayFormat.FILL);
+    int length = this.readInt();
+    if (length != numbers.length) {
+      throw new IllegalStateException("The match diverged from the replay log: "
+          + "an array of " + numbers.length + " numbers was filled where "
+          + length + " were recorded.");
+    }
+    for (int i = 0; i < length; i++) {
+      numbers[i] = this.readInt();
+    }
+  }
+
+  /**
+   * Read the code of the next call and check it is the call being made.
+   *
+   * @param call code of the call being made
+   * @throws IllegalStateException if the log is exhausted or records
+   *                               another call
+   */
+  private void expectCall(byte call) throws IllegalStateException {
+    this.ensureAvailable(1);
+    if (!this.buffer.hasRemaining()) {
+      throw new IllegalStateException("The replay log is exhausted.");
+    }
+    byte recorded = this.buffer.get();
+    if (recorded != call) {
+      throw new IllegalStateException("The match diverged from the replay log: "
+          + "call " + call + " was made where call " + recorded
+          + " was recorded.");
+    }
+  }
+
+  /**
+   * Read a list of numbers, preceded by its length.
+   *
+   * @return list of numbers
+   */
+  private List<Integer> readList() {
+    int length = this.readInt();
+    List<Integer> numbers = new ArrayList<>(length);
+    for (int i = 0; i < length; i++) {
+      numbers.add(this.readInt());
+    }
+    return numbers;
+  }
+
+  /**
+   * Read the next number of the log.
+   *
+   * @return number
+   * @throws IllegalStateException if the log is truncated
+   */
+  private int readInt() throws IllegalStateException {
+    this.ensureAvailable(ReplayFormat.MAX_INT_BYTES);
+    try {
+      return ReplayFormat.getInt(this.buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalStateException("The replay log is truncated.", e);
+    }
+  }
+
+  /**
+   * Read more of the file into the buffer if less than the given number
+   * of bytes is buffered. Near the end of the file fewer bytes may be
+   * left.
+   *
+   * @param bytes number of bytes needed
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  private void ensureAvailable(int bytes) {
+    if (this.channel == null || this.buffer.remaining() >= bytes) {
+      return;
+    }
+    this.buffer.compact();
+    try {
+      while (this.buffer.position() < bytes && this.channel.read(this.buffer) >= 0) {
+        continue;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("The replay log cannot be read.", e);
+    } finally {
+      this.buffer.flip();
+    }
+  }
+
+  /**
+   * Close the file of the replay, if any.
+   *
+   * @throws UncheckedIOException if the file cannot be closed
+   */
+  @Override
+  public void close() {
+    if (this.channel == null) {
+      return;
+    }
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("The replay log cannot be closed.", e);
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package battle;
+
+/**
+ * Class representing the aggregate outcome of a batch of simulated battles.
+ * It records how often each player won, how many battles were drawn, the
+ * total number of turns played and the time it took to play them.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class SimulationResult {
+
+  private final long playerOneWins;
+  private final long playerTwoWins;
+  private final long draws;
+  private final long totalTurns;
+  private final long elapsedNanos;
+
+  /**
+   * Construct a simulation result.
+   *
+   * @param playerOneWins number of battles won by the first player
+   * @param playerTwoWins number of battles won by the second player
+   * @param draws number of drawn battles
+   * @param totalTurns number of turns played across all battles
+   * @param elapsedNanos time taken to play the battles, in nanoseconds
+   * @throws IllegalArgumentException if any of the counts is negative
+   */
+  public SimulationResult(long playerOneWins, long playerTwoWins, long draws,
+      long totalTurns, long elapsedNanos) throws IllegalArgumentException {
+    if (playerOneWins < 0 || playerTwoWins < 0 || draws < 0
+        || totalTurns < 0 || elapsedNanos < 0) {
+      throw new IllegalArgumentException("The simulation counts cannot "
+          + "be negative.");
+    }
+    this.playerOneWins = playerOneWins;
+    this.playerTwoWins = playerTwoWins;
+    this.draws = draws;
+    this.totalTurns = totalTurns;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Get the number of battles played.
+   *
+   * @return number of battles
+   */
+  public long getMatches() {
+    return this.playerOneWins + this.playerTwoWins + this.draws;
+  }
+
+  /**
+   * Get the number of battles won by the first player.
+   *
+   * @return first player wins
+   */
+  public long getPlayerOneWins() {
+    return this.playerOneWins;
+  }
+
+  /**
+   * Get the number of battles won by the second player.
+   *
+   * @return second player wins
+   */
+  public long getPlayerTwoWins() {
+    return this.playerTwoWins;
+  }
+
+  /**
+   * Get the number of drawn battles.
+   *
+   * @return draws
+   */
+  public long getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * Get the number of turns played across all battles.
+   *
+   * @return total turns
+   */
+  public long getTotalTurns() {
+    return this.totalTurns;
+  }
+
+  /**
+   * Get the average number of turns played per battle.
+   *
+   * @return average turns, 0 if no battle was played
+   */
+  public double getAverageTurns() {
+    if (this.getMatches() == 0) {
+      return 0;
+    }
+    return (double) this.totalTurns / this.getMatches();
+  }
+
+  /**
+   * Get the time taken to play the battles.
+   *
+   * @return elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Get the simulation throughput.
+   *
+   * @return battles played per second, 0 if no time was recorded
+   */
+  public double getMatchesPerSecond() {
+    if (this.elapsedNanos == 0) {
+      return 0;
+    }
+    return this.getMatches() * 1_000_000_000.0 / this.elapsedNanos;
+  }
+
+  /**
+   * Combine this result with the result of another batch of battles.
+   * Counts, turns and elapsed times are added together.
+   *
+   * @param other result of another batch
+   * @return combined result
+   * @throws IllegalArgumentException if the other result is null
+   */
+  public SimulationResult combine(SimulationResult other)
+      throws IllegalArgumentException {
+    if (other == null) {
+      throw new IllegalArgumentException("The simulation result cannot be null.");
+    }
+    return new SimulationResult(this.playerOneWins + other.playerOneWins,
+        this.playerTwoWins + other.playerTwoWins, this.draws + other.draws,
+        this.totalTurns + other.totalTurns, this.elapsedNanos + other.elapsedNanos);
+  }
+
+  @Override
+  public String toString() {
+    return "Matches: " + this.getMatches() + "\n"
+        + "Player one wins: " + this.playerOneWins + "\n"
+        + "Player two wins: " + this.playerTwoWins + "\n"
+        + "Draws: " + this.draws + "\n"
+        + "Average turns: " + String.format("%.2f", this.getAverageTurns()) + "\n"
+        + "Matches per second: " + String.format("%.0f", this.getMatchesPerSecond());
+  }
+}
@@ -0,0 +1,101 @@
+package battle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class represents a random number generator backed by
+ * {@link SplittableRandom}. Unlike {@link RandomNumberGeneratorDev} it has
+ * no synchronized or atomic state, so drawing a number is a plain
+ * arithmetic step. The generator is reproducible from its seed and can
+ * split off independent child generators for parallel workers.
+ *
+ * <p>A generator must only be used by one thread at a time; give every
+ * worker its own generator through {@link #split()}.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class SplittableRandomNumberGenerator implements RandomNumberGenerator {
+
+  private final SplittableRandom rand;
+
+  /**
+   * Construct a random number generator with an arbitrary seed.
+   */
+  public SplittableRandomNumberGenerator() {
+    this.rand = new SplittableRandom();
+  }
+
+  /**
+   * Construct a random number generator with a fixed seed. Two generators
+   * built from the same seed produce the same sequence of numbers.
+   *
+   * @param seed initial seed
+   */
+  public SplittableRandomNumberGenerator(long seed) {
+    this.rand = new SplittableRandom(seed);
+  }
+
+  /**
+   * Construct a random number generator around a split stream.
+   *
+   * @param rand stream of this generator
+   */
+  private SplittableRandomNumberGenerator(SplittableRandom rand) {
+    this.rand = rand;
+  }
+
+  /**
+   * Split off a new generator whose numbers are independent from the
+   * numbers of this generator. Splitting advances this generator, so a
+   * sequence of splits from the same seed is reproducible.
+   *
+   * @return child generator
+   */
+  public SplittableRandomNumberGenerator split() {
+    return new SplittableRandomNumberGenerator(this.rand.split());
+  }
+
+  @Override
+  public int getRandomNumber(int lowerBound, int upperBound) {
+    return this.rand.nextInt(lowerBound, upperBound);
+  }
+
+  @Override
+  public List<Integer> getUniqueRandomNumbersList(int length, int lowerBound,
+      int upperBound) {
+    List<Integer> numbers = new ArrayList<>();
+
+    for (int number : this.getUniqueRandomNumbers(length, lowerBound, upperBound)) {
+      numbers.add(number);
+    }
+    return numbers;
+  }
+
+  @Override
+  public List<Integer> getRepeatedRandomNumbersList(int length, int lowerBound,
+      int upperBound) {
+    List<Integer> numbers = new ArrayList<>();
+
+    for (int i = 0; i < length; i++) {
+      numbers.add(this.getRandomNumber(lowerBound, upperBound));
+    }
+    return numbers;
+  }
+
+  @Override
+  public int[] getUniqueRandomNumbers(int length, int lowerBound, int upperBound)
+      throws IllegalArgumentException {
+    return RandomSampling.sampleWithoutReplacement(this, length, lowerBound,
+        upperBound);
+  }
+
+  @Override
+  public void fillRandom(int[] numbers, int lowerBound, int upperBound) {
+    for (int i = 0; i < numbers.length; i++) {
+      numbers[i] = this.getRandomNumber(lowerBound, upperBound);
+    }
+  }
+}
@@ -0,0 +1,444 @@
+package battle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The Team Battle Model is a battle between any number of players on a
+ * large arena, either every player for themselves or in teams, as set up
+ * by an {@link ArenaConfig}. The equipment bag and the armory are sized
+ * from the setup, so every player gets prepared as in a regular battle.
+ * The armory is a {@link ConcurrentArmory}, safe to request weapons from
+ * in several threads at once.
+ *
+ * <p>The battle is played in rounds. Every player standing attacks once
+ * per round, players with greater charisma first, and strikes a random
+ * opponent standing on another team. The turns are kept in a priority
+ * queue ordered by round and charisma, so picking the next attacker takes
+ * logarithmic time in the number of players. A player whose health drops
+ * to 0 or below is defeated and leaves the battle. The last team standing
+ * wins. If the strikes turn redundant, the match is drawn between the
+ * players still standing.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class TeamBattleModel {
+
+  private static final int MAX_DEFENDER_DRAWS = 4;
+
+  private final ArenaConfig config;
+  private final RandomNumberGenerator random;
+  private final List<Players> currentPlayers;
+  private final List<TurnListener> turnListeners;
+  private EquipmentBag eqBag;
+  private ConcurrentArmory armory;
+  private PriorityQueue<ScheduledTurn> schedule;
+  private int[] livingPlayers;
+  private int[] livingPosition;
+  private int numberOfLivingPlayers;
+  private int[] livingPlayersOfTeam;
+  private int numberOfLivingTeams;
+  private List<Players> winner;
+  private boolean arePlayersHere;
+  private boolean arePlayersPrepared;
+  private boolean hasGameStarted;
+  private boolean isGameOver;
+  private int turnCount;
+  private int unsuccessfulStrikes;
+  private int attackerIndex;
+  private int defenderIndex;
+
+  /**
+   * Construct a team battle model with an equipment bag and an armory
+   * sized for the arena setup.
+   *
+   * @param config arena setup
+   * @param rand Random Number Generator
+   * @throws IllegalArgumentException if the setup or the random number
+   *                                  generator is null
+   */
+  public TeamBattleModel(ArenaConfig config, RandomNumberGenerator rand) throws
+      IllegalArgumentException {
+    if (config == null) {
+      throw new IllegalArgumentException("The arena setup cannot be null.");
+    }
+    if (rand == null) {
+      throw new IllegalArgumentException("Random Number Generator cannot be null.");
+    }
+    this.config = config;
+    this.random = rand;
+    this.currentPlayers = new ArrayList<>(config.getNumberOfPlayers());
+    this.turnListeners = new ArrayList<>();
+    this.eqBag = new EquipmentBag(this.random, config.getEquipmentBagScale());
+    this.armory = new ConcurrentArmory(this.random, config.getArmoryScale());
+    this.winner = new ArrayList<>();
+  }
+
+  /**
+   * Call the players to the arena. The players are assigned to the teams
+   * in the order they are called.
+   *
+   * @param playerIds identifiers of the players
+   * @throws IllegalArgumentException if the number of players does not
+   *                                  match the arena setup
+   * @throws IllegalStateException if the players were already called
+   */
+  public void callPlayers(int... playerIds) throws IllegalArgumentException,
+      IllegalStateException {
+    if (this.arePlayersHere) {
+      throw new IllegalStateException("The players are already in the arena.");
+    }
+    if (playerIds == null || playerIds.length != this.config.getNumberOfPlayers()) {
+      throw new IllegalArgumentException("The arena is set up for "
+          + this.config.getNumberOfPlayers() + " players.");
+    }
+    for (int id : playerIds) {
+      this.currentPlayers.add(new BattlePlayer(id, this.random));
+    }
+    this.arePlayersHere = true;
+  }
+
+  /**
+   * Prepare the players for the battle, by letting them equip the gears
+   * from the equipment bag and request a weapon from the armory.
+   *
+   * @throws IllegalStateException if the players have not been called
+   */
+  public void preparePlayers() throws IllegalStateException {
+    if (!this.arePlayersHere) {
+      throw new IllegalStateException("Please call the players to prepare "
+          + "them.");
+    }
+    for (Players p : this.currentPlayers) {
+      p.equipGears(this.eqBag);
+      p.requestWeapon(this.armory);
+    }
+    this.arePlayersPrepared = true;
+  }
+
+  /**
+   * Start the battle. Every player is scheduled for the first round.
+   *
+   * @throws IllegalStateException if the players are not prepared or the
+   *                               battle has already started
+   */
+  public void startGame() throws IllegalStateException {
+    if (!this.arePlayersPrepared) {
+      throw new IllegalStateException("Please prepare the players to start "
+          + "the battle.");
+    }
+    if (this.hasGameStarted) {
+      throw new IllegalStateException("The battle has already started.");
+    }
+
+    int numberOfPlayers = this.currentPlayers.size();
+    this.livingPlayers = new int[numberOfPlayers];
+    this.livingPosition = new int[numberOfPlayers];
+    this.livingPlayersOfTeam = new int[this.config.getNumberOfTeams()];
+    this.schedule = new PriorityQueue<>(numberOfPlayers);
+    for (int i = 0; i < numberOfPlayers; i++) {
+      this.livingPlayers[i] = i;
+      this.livingPosition[i] = i;
+      this.livingPlayersOfTeam[this.config.getTeam(i)]++;
+      this.schedule.add(new ScheduledTurn(0,
+          this.currentPlayers.get(i).getCharisma(), i));
+    }
+    this.numberOfLivingPlayers = numberOfPlayers;
+    this.numberOfLivingTeams = this.config.getNumberOfTeams();
+    this.attackerIndex = -1;
+    this.defenderIndex = -1;
+    this.hasGameStarted = true;
+  }
+
+  /**
+   * Play the next turn. The next player standing in the schedule strikes
+   * a random opponent, and is scheduled again for the next round.
+   *
+   * @throws IllegalStateException if the battle has not started or is over
+   */
+  public void playTurn() throws IllegalStateException {
+    if (!this.hasGameStarted) {
+      throw new IllegalStateException("Please start the battle.");
+    }
+    if (this.isGameOver) {
+      throw new IllegalStateException("The battle has ended. Please view "
+          + "results.");
+    }
+
+    // Defeated players are left in the schedule and skipped once they
+    // come up, so a defeat does not need a search through the queue.
+    ScheduledTurn turn = this.schedule.poll();
+    while (this.livingPosition[turn.playerIndex] < 0) {
+      turn = this.schedule.poll();
+    }
+    this.attackerIndex = turn.playerIndex;
+    this.defenderIndex = this.chooseDefender(this.attackerIndex);
+
+    Players attacker = this.currentPlayers.get(this.attackerIndex);
+    Players defender = this.currentPlayers.get(this.defenderIndex);
+    attacker.getRemainingTemporaryEffectStrikes();
+
+    int strikingPower = attacker.getStrikingPower();
+    int avoidanceAbility = defender.getAvoidanceAbility();
+    int potentialDamage = 0;
+    int damage = 0;
+    if (strikingPower > avoidanceAbility) {
+      potentialDamage = attacker.getStrength() + attacker.getWeaponDamage();
+      damage = potentialDamage - defender.getConstitution();
+    }
+    if (damage > 0) {
+      defender.applyDamage(damage);
+      this.unsuccessfulStrikes = 0;
+    } else {
+      damage = 0;
+      this.unsuccessfulStrikes++;
+    }
+
+    if (defender.getCurrentHealth() <= 0) {
+      this.defeat(this.defenderIndex);
+    }
+    this.schedule.add(new ScheduledTurn(turn.round + 1, turn.charisma,
+        this.attackerIndex));
+    this.turnCount++;
+    this.checkGameOver();
+
+    if (!this.turnListeners.isEmpty()) {
+      TurnEvent event = new TurnEvent(this.turnCount, this.attackerIndex,
+          this.defenderIndex, strikingPower, avoidanceAbility, potentialDamage,
+          damage, attacker.getCurrentHealth(), defender.getCurrentHealth());
+      for (int i = 0; i < this.turnListeners.size(); i++) {
+        this.turnListeners.get(i).turnPlayed(event);
+      }
+    }
+  }
+
+  /**
+   * Choose a random opponent standing on another team than the attacker.
+   * Players standing are drawn a few times until one of another team comes
+   * up, which is quick unless the team of the attacker holds most of the
+   * players standing. In that case the opponent is picked among the
+   * opponents standing by a single scan.
+   *
+   * @param attacker index of the attacker
+   * @return index of the defender
+   */
+  private int chooseDefender(int attacker) {
+    int team = this.config.getTeam(attacker);
+    for (int i = 0; i < MAX_DEFENDER_DRAWS; i++) {
+      int candidate = this.livingPlayers[this.random.getRandomNumber(0,
+          this.numberOfLivingPlayers)];
+      if (this.config.getTeam(candidate) != team) {
+        return candidate;
+      }
+    }
+
+    int opponents = this.numberOfLivingPlayers - this.livingPlayersOfTeam[team];
+    int remaining = this.random.getRandomNumber(0, opponents);
+    int candidate = -1;
+    for (int i = 0; i < this.numberOfLivingPlayers; i++) {
+      if (this.config.getTeam(this.livingPlayers[i]) != team) {
+        candidate = this.livingPlayers[i];
+        if (remaining-- == 0) {
+          break;
+        }
+      }
+    }
+    return candidate;
+  }
+
+  /**
+   * Remove a defeated player from the players standing. The last player
+   * standing takes the place of the defeated player.
+   *
+   * @param playerIndex index of the defeated player
+   */
+  private void defeat(int playerIndex) {
+    int position = this.livingPosition[playerIndex];
+    int last = this.livingPlayers[this.numberOfLivingPlayers - 1];
+    this.livingPlayers[position] = last;
+    this.livingPosition[last] = position;
+    this.livingPosition[playerIndex] = -1;
+    this.numberOfLivingPlayers--;
+
+    int team = this.config.getTeam(playerIndex);
+    this.livingPlayersOfTeam[team]--;
+    if (this.livingPlayersOfTeam[team] == 0) {
+      this.numberOfLivingTeams--;
+    }
+  }
+
+  /**
+   * Check for turn redundancy. A regular battle is drawn after more than
+   * 20 unsuccessful strikes in a row, about 10 for each player. The limit
+   * here grows the same way with the number of players standing.
+   *
+   * @return true if the strikes turned redundant
+   */
+  private boolean testTurnRedundancy() {
+    return this.unsuccessfulStrikes > 10 * this.numberOfLivingPlayers;
+  }
+
+  /**
+   * Check if the battle is over. The battle ends when a single team is
+   * standing, whose players standing win, or when the strikes turn
+   * redundant, in which case every player standing shares the draw.
+   */
+  private void checkGameOver() {
+    if (this.numberOfLivingTeams == 1) {
+      this.isGameOver = true;
+    } else if (this.testTurnRedundancy()) {
+      this.isGameOver = true;
+    }
+    if (this.isGameOver) {
+      for (int i = 0; i < this.numberOfLivingPlayers; i++) {
+        this.winner.add(this.currentPlayers.get(this.livingPlayers[i]));
+      }
+    }
+  }
+
+  /**
+   * Register a listener to be notified of every turn played. The indices
+   * of the turn events are the indices of the players in the order they
+   * were called.
+   *
+   * @param listener turn listener
+   * @throws IllegalArgumentException if the listener is null
+   */
+  public void addTurnListener(TurnListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("The turn listener cannot be null.");
+    }
+    this.turnListeners.add(listener);
+  }
+
+  /**
+   * Stop notifying a listener of the turns played.
+   *
+   * @param listener turn listener
+   */
+  public void removeTurnListener(TurnListener listener) {
+    this.turnListeners.remove(listener);
+  }
+
+  /**
+   * Get the players in the arena, in the order they were called.
+   *
+   * @return list of players
+   */
+  public List<Players> getPlayers() {
+    return Collections.unmodifiableList(this.currentPlayers);
+  }
+
+  /**
+   * Get the winners of the battle. The list is empty while the battle is
+   * ongoing.
+   *
+   * @return players standing on the winning team, or every player
+   *         standing in case of a draw
+   */
+  public List<Players> getWinner() {
+    return Collections.unmodifiableList(this.winner);
+  }
+
+  /**
+   * Check if the battle ended in a draw.
+   *
+   * @return true if the battle is over and more than one team is standing
+   */
+  public boolean isDraw() {
+    return this.isGameOver && this.numberOfLivingTeams > 1;
+  }
+
+  /**
+   * Check if the battle is over.
+   *
+   * @return true if the battle is over
+   */
+  public boolean isGameOver() {
+    return this.isGameOver;
+  }
+
+  /**
+   * Get the number of players still standing.
+   *
+   * @return players standing
+   */
+  public int getLivingPlayers() {
+    return this.numberOfLivingPlayers;
+  }
+
+  /**
+   * Get the number of teams with at least one player standing.
+   *
+   * @return teams standing
+   */
+  public int getLivingTeams() {
+    return this.numberOfLivingTeams;
+  }
+
+  /**
+   * Get the number of turns played.
+   *
+   * @return turn count
+   */
+  public int getTurnCount() {
+    return this.turnCount;
+  }
+
+  /**
+   * Get the attacker of the last turn.
+   *
+   * @return attacker id
+   * @throws IllegalStateException if no turn has been played
+   */
+  public String getAttacker() throws IllegalStateException {
+    if (this.attackerIndex < 0) {
+      throw new IllegalStateException("No turn has been played yet.");
+    }
+    return this.currentPlayers.get(this.attackerIndex).getPlayerId();
+  }
+
+  /**
+   * Get the defender of the last turn.
+   *
+   * @return defender id
+   * @throws IllegalStateException if no turn has been played
+   */
+  public String getDefender() throws IllegalStateException {
+    if (this.defenderIndex < 0) {
+      throw new IllegalStateException("No turn has been played yet.");
+    }
+    return this.currentPlayers.get(this.defenderIndex).getPlayerId();
+  }
+
+  /**
+   * A turn of a player in the schedule. Turns are ordered by round, then
+   * by greater charisma, then by the order the players were called.
+   */
+  private static final class ScheduledTurn implements Comparable<ScheduledTurn> {
+
+    private final int round;
+    private final int charisma;
+    private final int playerIndex;
+
+    ScheduledTurn(int round, int charisma, int playerIndex) {
+      this.round = round;
+      this.charisma = charisma;
+      this.playerIndex = playerIndex;
+    }
+
+    @Override
+    public int compareTo(ScheduledTurn other) {
+      if (this.round != other.round) {
+        return Integer.compare(this.round, other.round);
+      }
+      if (this.charisma != other.charisma) {
+        return Integer.compare(other.charisma, this.charisma);
+      }
+      return Integer.compare(this.playerIndex, other.playerIndex);
+    }
+  }
+}
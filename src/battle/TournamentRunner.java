@@ -0,0 +1,152 @@
+package battle;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A tournament runner plays a large number of independent battles between
+ * a pair of players across all available cores. The battles are split into
+ * fixed-size blocks, and every block is played by its own
+ * {@link BattleSimulator} with its own {@link SplittableRandomNumberGenerator}
+ * stream, so no battle state or generator is shared between workers. The
+ * per-block results are merged once every block is done.
+ *
+ * <p>Since the block boundaries and the block seeds only depend on the
+ * tournament seed, the same seed gives the same result regardless of the
+ * number of workers.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class TournamentRunner {
+
+  private static final int BLOCK_SIZE = 256;
+
+  private final int playerOneId;
+  private final int playerTwoId;
+  private final long seed;
+  private final int parallelism;
+
+  /**
+   * Construct a tournament runner using every available core.
+   *
+   * @param playerOneId Player 1 identifier
+   * @param playerTwoId Player 2 identifier
+   * @param seed tournament seed
+   */
+  public TournamentRunner(int playerOneId, int playerTwoId, long seed) {
+    this(playerOneId, playerTwoId, seed, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Construct a tournament runner with a given number of workers.
+   *
+   * @param playerOneId Player 1 identifier
+   * @param playerTwoId Player 2 identifier
+   * @param seed tournament seed
+   * @param parallelism number of worker threads
+   * @throws IllegalArgumentException if the number of workers is not positive
+   */
+  public TournamentRunner(int playerOneId, int playerTwoId, long seed,
+      int parallelism) throws IllegalArgumentException {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("The tournament needs at least "
+          + "one worker.");
+    }
+    this.playerOneId = playerOneId;
+    this.playerTwoId = playerTwoId;
+    this.seed = seed;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Play the given number of battles across the workers and merge their
+   * results. The elapsed time of the returned result is the wall-clock
+   * time of the whole tournament.
+   *
+   * @param matches number of battles to play
+   * @return merged result of the battles
+   * @throws IllegalArgumentException if the number of battles is negative
+   */
+  public SimulationResult runMatches(long matches) throws IllegalArgumentException {
+    if (matches < 0) {
+      throw new IllegalArgumentException("The number of matches cannot "
+          + "be negative.");
+    }
+
+    long blocks = (matches + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    long start = System.nanoTime();
+    ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+    SimulationResult merged;
+    try {
+      merged = pool.invoke(new BlockTask(0, blocks, matches));
+    } finally {
+      pool.shutdown();
+    }
+
+    return new SimulationResult(merged.getPlayerOneWins(),
+        merged.getPlayerTwoWins(), merged.getDraws(), merged.getTotalTurns(),
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Derive the seed of a block from the tournament seed. The mixing
+   * spreads consecutive block indices over unrelated seeds.
+   *
+   * @param block block index
+   * @return block seed
+   */
+  private long blockSeed(long block) {
+    long z = this.seed + (block + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Task playing a range of blocks. Ranges are halved until a single
+   * block is left, which is then played on the current worker.
+   */
+  private class BlockTask extends RecursiveTask<SimulationResult> {
+
+    private static final long serialVersionUID = 1L;
+    private final long firstBlock;
+    private final long lastBlock;
+    private final long matches;
+
+    BlockTask(long firstBlock, long lastBlock, long matches) {
+      this.firstBlock = firstBlock;
+      this.lastBlock = lastBlock;
+      this.matches = matches;
+    }
+
+    @Override
+    protected SimulationResult compute() {
+      if (this.lastBlock - this.firstBlock <= 1) {
+        return this.playBlock();
+      }
+      long middle = (this.firstBlock + this.lastBlock) >>> 1;
+      BlockTask left = new BlockTask(this.firstBlock, middle, this.matches);
+      BlockTask right = new BlockTask(middle, this.lastBlock, this.matches);
+      left.fork();
+      SimulationResult rightResult = right.compute();
+      return left.join().combine(rightResult);
+    }
+
+    /**
+     * Play the battles of a single block.
+     *
+     * @return result of the block
+     */
+    private SimulationResult playBlock() {
+      if (this.firstBlock >= this.lastBlock) {
+        return new SimulationResult(0, 0, 0, 0, 0);
+      }
+      long first = this.firstBlock * BLOCK_SIZE;
+      long count = Math.min(BLOCK_SIZE, this.matches - first);
+      BattleSimulator simulator = new BattleSimulator(playerOneId, playerTwoId,
+          blockSeed(this.firstBlock));
+      return simulator.runMatches(count);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package battle;
+
+/**
+ * Class representing what happened in a single turn of a battle. The 
+ * players are referred to by their index in {@link Arena#getPlayers()}, 
+ * and the health values are the ones left after the turn was played. 
+ * Events carry only numbers, so they can be published on every turn 
+ * without formatting any text.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public final class TurnEvent {
+  
+  private final int turnNumber;
+  private final int attackerIndex;
+  private final int defenderIndex;
+  private final int strikingPower;
+  private final int avoidanceAbility;
+  private final int potentialDamage;
+  private final int actualDamage;
+  private final int attackerHealth;
+  private final int defenderHealth;
+  
+  /**
+   * Construct a turn event.
+   * 
+   * @param turnNumber number of the turn, starting from 1
+   * @param attackerIndex index of the attacking player
+   * @param defenderIndex index of the defending player
+   * @param strikingPower striking power of the attacker
+   * @param avoidanceAbility avoidance ability of the defender
+   * @param potentialDamage potential striking damage, 0 if the strike 
+   *                        was avoided
+   * @param actualDamage damage applied to the defender
+   * @param attackerHealth health of the attacker after the turn
+   * @param defenderHealth health of the defender after the turn
+   */
+  public TurnEvent(int turnNumber, int attackerIndex, int defenderIndex, 
+      int strikingPower, int avoidanceAbility, int potentialDamage, 
+      int actualDamage, int attackerHealth, int defenderHealth) {
+    this.turnNumber = turnNumber;
+    this.attackerIndex = attackerIndex;
+    this.defenderIndex = defenderIndex;
+    this.strikingPower = strikingPower;
+    this.avoidanceAbility = avoidanceAbility;
+    this.potentialDamage = potentialDamage;
+    this.actualDamage = actualDamage;
+    this.attackerHealth = attackerHealth;
+    this.defenderHealth = defenderHealth;
+  }
+  
+  /**
+   * Get the number of the turn.
+   * 
+   * @return turn number, starting from 1
+   */
+  public int getTurnNumber() {
+    return this.turnNumber;
+  }
+  
+  /**
+   * Get the index of the attacking player.
+   * 
+   * @return attacker index
+   */
+  public int getAttackerIndex() {
+    return this.attackerIndex;
+  }
+  
+  /**
+   * Get the index of the defending player.
+   * 
+   * @return defender index
+   */
+  public int getDefenderIndex() {
+    return this.defenderIndex;
+  }
+  
+  /**
+   * Get the striking power of the attacker.
+   * 
+   * @return striking power
+   */
+  public int getStrikingPower() {
+    return this.strikingPower;
+  }
+  
+  /**
+   * Get the avoidance ability of the defender.
+   * 
+   * @return avoidance ability
+   */
+  public int getAvoidanceAbility() {
+    return this.avoidanceAbility;
+  }
+  
+  /**
+   * Check if the attacker's strike got past the defender. A strike that 
+   * gets past may still cause no damage.
+   * 
+   * @return true if the striking power beat the avoidance ability
+   */
+  public boolean isStrikeSuccessful() {
+    return this.strikingPower > this.avoidanceAbility;
+  }
+  
+  /**
+   * Get the potential striking damage of the attacker.
+   * 
+   * @return potential damage, 0 if the strike was avoided
+   */
+  public int getPotentialDamage() {
+    return this.potentialDamage;
+  }
+  
+  /**
+   * Get the damage applied to the defender.
+   * 
+   * @return actual damage
+   */
+  public int getActualDamage() {
+    return this.actualDamage;
+  }
+  
+  /**
+   * Get the health of the attacker after the turn.
+   * 
+   * @return attacker health
+   */
+  public int getAttackerHealth() {
+    return this.attackerHealth;
+  }
+  
+  /**
+   * Get the health of the defender after the turn.
+   * 
+   * @return defender health
+   */
+  public int getDefenderHealth() {
+    return this.defenderHealth;
+  }
+  
+  @Override
+  public String toString() {
+    return "Turn " + this.turnNumber + ": " + this.attackerIndex + " -> " 
+        + this.defenderIndex + ", striking power " + this.strikingPower 
+        + ", avoidance " + this.avoidanceAbility + ", damage " 
+        + this.actualDamage + "/" + this.potentialDamage + ", health " 
+        + this.attackerHealth + "/" + this.defenderHealth;
+  }
+}
@@ -0,0 +1,69 @@
+package battle;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A turn listener that hands the turn events over to another thread 
+ * through a bounded queue. The battle never waits for the consumer: when 
+ * the queue is full the event is dropped and counted instead.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class TurnEventQueue implements TurnListener {
+  
+  private final BlockingQueue<TurnEvent> events;
+  private final AtomicLong droppedEvents;
+  
+  /**
+   * Construct a turn event queue.
+   * 
+   * @param capacity maximum number of events waiting in the queue
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public TurnEventQueue(int capacity) throws IllegalArgumentException {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The queue capacity must be positive.");
+    }
+    this.events = new ArrayBlockingQueue<>(capacity);
+    this.droppedEvents = new AtomicLong();
+  }
+  
+  @Override
+  public void turnPlayed(TurnEvent event) {
+    if (!this.events.offer(event)) {
+      this.droppedEvents.incrementAndGet();
+    }
+  }
+  
+  /**
+   * Take the oldest event from the queue.
+   * 
+   * @return oldest event, or null if the queue is empty
+   */
+  public TurnEvent poll() {
+    return this.events.poll();
+  }
+  
+  /**
+   * Move every waiting event into the given collection.
+   * 
+   * @param target collection receiving the events
+   * @return number of events moved
+   */
+  public int drainTo(Collection<? super TurnEvent> target) {
+    return this.events.drainTo(target);
+  }
+  
+  /**
+   * Get the number of events dropped because the queue was full.
+   * 
+   * @return dropped events
+   */
+  public long getDroppedEvents() {
+    return this.droppedEvents.get();
+  }
+}
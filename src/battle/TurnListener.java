@@ -0,0 +1,19 @@
+package battle;
+
+/**
+ * A listener that is notified of every turn played on an {@link Arena}. 
+ * Listeners are called on the thread playing the turn, right after the 
+ * turn is over, so they should return quickly.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public interface TurnListener {
+  
+  /**
+   * Receive the event of a played turn.
+   * 
+   * @param event turn event
+   */
+  public void turnPlayed(TurnEvent event);
+}
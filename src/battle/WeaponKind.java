@@ -0,0 +1,81 @@
+package battle;
+
+/**
+ * The kinds of weapons that can be found in the armory: axes, broad 
+ * swords, flails, katanas and two-handed swords. Every kind knows the 
+ * range of damage its weapons do when they hit, which depends for the 
+ * heavy weapons on whether the player can wield them fully.
+ * 
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public enum WeaponKind {
+  AXE(6, 4, 6, 4), 
+  BROAD_SWORD(6, 4, 6, 4), 
+  FLAIL(8, 4, 4, 2), 
+  KATANA(4, 2, 4, 2), 
+  TWO_HANDED_SWORD(8, 4, 4, 2);
+  
+  private final int minimumDamage;
+  private final int damageSpan;
+  private final int reducedMinimumDamage;
+  private final int reducedDamageSpan;
+  
+  /**
+   * Construct a weapon kind with its damage ranges.
+   * 
+   * @param minimumDamage least damage when wielded fully
+   * @param damageSpan number of damage values when wielded fully
+   * @param reducedMinimumDamage least damage when not wielded fully
+   * @param reducedDamageSpan number of damage values when not wielded fully
+   */
+  WeaponKind(int minimumDamage, int damageSpan, int reducedMinimumDamage, 
+      int reducedDamageSpan) {
+    this.minimumDamage = minimumDamage;
+    this.damageSpan = damageSpan;
+    this.reducedMinimumDamage = reducedMinimumDamage;
+    this.reducedDamageSpan = reducedDamageSpan;
+  }
+  
+  /**
+   * Check if a player with the given abilities can wield a weapon of this 
+   * kind fully. Flails need a dexterity greater than 14 and two-handed 
+   * swords a strength greater than 14; other weapons have no requirement.
+   * 
+   * @param strength strength of the player, with temporary effects
+   * @param dexterity dexterity of the player, with temporary effects
+   * @return true if the weapon does its full damage
+   */
+  public boolean canWieldFully(int strength, int dexterity) {
+    switch (this) {
+      case FLAIL:
+        return dexterity > 14;
+      case TWO_HANDED_SWORD:
+        return strength > 14;
+      default:
+        return true;
+    }
+  }
+  
+  /**
+   * Get the least damage a weapon of this kind does when it hits.
+   * 
+   * @param wieldedFully true if the player can wield the weapon fully
+   * @return least damage
+   */
+  public int getMinimumDamage(boolean wieldedFully) {
+    return wieldedFully ? this.minimumDamage : this.reducedMinimumDamage;
+  }
+  
+  /**
+   * Get the number of damage values a weapon of this kind can do when it 
+   * hits. The damage is the least damage plus a random number from 0 
+   * (inclusive) to the span (exclusive).
+   * 
+   * @param wieldedFully true if the player can wield the weapon fully
+   * @return damage span
+   */
+  public int getDamageSpan(boolean wieldedFully) {
+    return wieldedFully ? this.damageSpan : this.reducedDamageSpan;
+  }
+}
@@ -18,6 +18,13 @@ public interface Weapons {
    */
   public String getWeaponId();
   
+  /**
+   * Return the kind of the weapon.
+   * 
+   * @return the weapon kind
+   */
+  public WeaponKind getWeaponKind();
+  
   /**
    * Get the amount of damage that can be done by the weapon. For 
    * certain weapons the damage (full/half) depends on the player 
@@ -60,4 +67,11 @@ public interface Weapons {
    *               and false if removed
    */
   public void setIfWeaponAddedtoArmory(Boolean update);
+  
+  /**
+   * Return the weapon to the state it was in when constructed, so it can 
+   * be put in an armory again. Only the owner of the weapon, such as the 
+   * armory that pools it, should reset it.
+   */
+  public void reset();
 }
@@ -1,5 +1,6 @@
 package test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import battle.Armory;
@@ -60,4 +61,41 @@ public class ArmoryTest {
     } 
     arm.getWeapon();
   }
+  
+  /**
+   * Testing if a scaled armory holds the weapons of as many regular 
+   * armories. With 1 weapon of each type per regular armory, an armory 
+   * of scale 3 holds 15 weapons. 14 of them are handed out over 13 
+   * requests, one of them a pair of katanas, leaving a single weapon.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testScaledArmory() {
+    Armory scaled = new Armory(rand, 3);
+    int weapons = 0;
+    for (int i = 0; i < 13; i++) {
+      weapons += scaled.getWeapon().size();
+    }
+    assertEquals(14, weapons);
+    scaled.getWeapon();
+  }
+  
+  /**
+   * Testing if an armory can be scaled below a regular armory.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidArmoryScale() {
+    new Armory(rand, 0);
+  }
+  
+  /**
+   * Testing if a reset armory is refilled with the same weapons.
+   */
+  @Test
+  public void testResetReusesWeapons() {
+    List<Weapons> first = arm.getWeapon();
+    
+    arm.reset();
+    List<Weapons> second = arm.getWeapon();
+    assertTrue(first.get(0) == second.get(0));
+  }
 }
@@ -0,0 +1,123 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import battle.BatchBattleKernel;
+import battle.BattleModel;
+import battle.Players;
+import battle.SimulationResult;
+import battle.SplittableRandomNumberGenerator;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the BatchBattleKernel class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BatchBattleKernelTest {
+
+  /**
+   * Set up a started battle between players 1 and 2.
+   *
+   * @param rand random number generator of the battle
+   * @return started battle
+   */
+  private BattleModel startBattle(SplittableRandomNumberGenerator rand) {
+    BattleModel battle = new BattleModel(rand);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    return battle;
+  }
+
+  /**
+   * Testing that the batch kernel gives the same outcome distribution as
+   * playing the same prepared battles on their battle models.
+   */
+  @Test
+  public void testSameOutcomeDistribution() {
+    int matches = 4000;
+    SplittableRandomNumberGenerator seeds = new SplittableRandomNumberGenerator(21L);
+    BatchBattleKernel kernel = new BatchBattleKernel(matches,
+        new SplittableRandomNumberGenerator(22L));
+
+    long playerOneWins = 0;
+    long draws = 0;
+    long totalTurns = 0;
+    for (int m = 0; m < matches; m++) {
+      BattleModel battle = this.startBattle(seeds.split());
+      kernel.load(m, battle);
+      while (battle.getWinner().isEmpty()) {
+        battle.playTurn();
+      }
+      List<Players> winner = battle.getWinner();
+      if (winner.size() > 1) {
+        draws++;
+      } else if (winner.get(0) == battle.getPlayers().get(0)) {
+        playerOneWins++;
+      }
+      totalTurns += battle.getTurnCount();
+    }
+    kernel.playAll();
+    SimulationResult batch = kernel.getResult();
+
+    assertEquals(matches, batch.getMatches());
+    assertEquals(0, kernel.getOngoingMatches());
+    assertEquals((double) playerOneWins / matches,
+        (double) batch.getPlayerOneWins() / matches, 0.05);
+    assertEquals((double) draws / matches,
+        (double) batch.getDraws() / matches, 0.05);
+    assertEquals((double) totalTurns / matches, batch.getAverageTurns(),
+        0.1 * totalTurns / matches);
+  }
+
+  /**
+   * Testing that a finished battle has a defeated player or ended in a
+   * draw.
+   */
+  @Test
+  public void testFinishedBattles() {
+    BatchBattleKernel kernel = new BatchBattleKernel(50,
+        new SplittableRandomNumberGenerator(3L));
+    SplittableRandomNumberGenerator seeds = new SplittableRandomNumberGenerator(4L);
+    for (int m = 0; m < 50; m++) {
+      kernel.load(m, this.startBattle(seeds.split()));
+    }
+    kernel.playAll();
+
+    for (int m = 0; m < 50; m++) {
+      int outcome = kernel.getOutcome(m);
+      if (outcome == BatchBattleKernel.PLAYER_ONE_WINS) {
+        assertTrue(kernel.getHealth(m, 1) <= 0);
+      } else if (outcome == BatchBattleKernel.PLAYER_TWO_WINS) {
+        assertTrue(kernel.getHealth(m, 0) <= 0);
+      } else {
+        assertEquals(BatchBattleKernel.DRAW, outcome);
+        assertTrue(kernel.getTurnCount(m) > 20);
+      }
+    }
+  }
+
+  /**
+   * Testing if a battle can be loaded before it starts.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testLoadBattleNotStarted() {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(1L));
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    new BatchBattleKernel(1, new SplittableRandomNumberGenerator(1L)).load(0, battle);
+  }
+
+  /**
+   * Testing if a battle can be loaded outside of the batch.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testLoadOutsideBatch() {
+    BattleModel battle = this.startBattle(new SplittableRandomNumberGenerator(1L));
+    new BatchBattleKernel(1, new SplittableRandomNumberGenerator(1L)).load(1, battle);
+  }
+}
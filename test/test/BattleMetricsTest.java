@@ -0,0 +1,171 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import battle.BattleMetrics;
+import battle.BattleModel;
+import battle.LogHistogram;
+import battle.MetricsSnapshot;
+import battle.SplittableRandomNumberGenerator;
+import battle.TurnEvent;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.ObjectName;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the BattleMetrics and LogHistogram classes.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BattleMetricsTest {
+
+  private BattleMetrics metrics;
+
+  /**
+   * Set up empty metrics.
+   */
+  @Before
+  public void setUp() {
+    this.metrics = new BattleMetrics();
+  }
+
+  /**
+   * Play a battle to its end.
+   *
+   * @param seed seed of the battle
+   * @param recorded metrics of the battle, null for none
+   * @return finished battle
+   */
+  private BattleModel playBattle(long seed, BattleMetrics recorded) {
+    return this.playBattle(seed, recorded, new ArrayList<>());
+  }
+
+  /**
+   * Play a battle to its end, keeping its turns.
+   *
+   * @param seed seed of the battle
+   * @param recorded metrics of the battle, null for none
+   * @param events list the turns of the battle are added to
+   * @return finished battle
+   */
+  private BattleModel playBattle(long seed, BattleMetrics recorded,
+      List<TurnEvent> events) {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(seed));
+    battle.setMetrics(recorded);
+    battle.addTurnListener(events::add);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+    }
+    return battle;
+  }
+
+  /**
+   * Testing that the metrics count the turns, strikes and battles played.
+   */
+  @Test
+  public void testBattlesRecorded() {
+    long turns = 0;
+    long draws = 0;
+    long successfulStrikes = 0;
+    long harmlessStrikes = 0;
+    for (long seed = 0; seed < 200; seed++) {
+      List<TurnEvent> events = new ArrayList<>();
+      BattleModel battle = this.playBattle(seed, this.metrics, events);
+      for (TurnEvent e : events) {
+        if (e.isStrikeSuccessful()) {
+          successfulStrikes++;
+          harmlessStrikes += e.getActualDamage() == 0 ? 1 : 0;
+        }
+      }
+      turns += battle.getTurnCount();
+      draws += battle.getWinner().size() > 1 ? 1 : 0;
+    }
+    MetricsSnapshot snapshot = this.metrics.snapshot();
+    assertEquals(turns, snapshot.getTurns());
+    assertEquals(200, snapshot.getBattles());
+    assertEquals(draws / 200.0, snapshot.getRedundancyDrawRate(), 1e-12);
+    // Strikes beating the avoidance ability succeed even without damage.
+    assertTrue(harmlessStrikes > 0);
+    assertEquals((double) successfulStrikes / turns,
+        snapshot.getStrikeSuccessRatio(), 1e-12);
+    assertEquals(successfulStrikes, this.metrics.getDamageHistogram().getCount());
+    assertTrue(snapshot.getMedianDamage() <= snapshot.getDamage99thPercentile());
+    assertTrue(snapshot.getDamage99thPercentile() <= snapshot.getMaxDamage());
+    assertTrue(snapshot.getTurnsPerSecond() > 0);
+    assertEquals(200, this.metrics.getPreparationHistogram().getCount());
+    assertEquals(400, this.metrics.getEquipHistogram().getCount());
+  }
+
+  /**
+   * Testing that a battle without metrics records nothing, and that
+   * metrics can be reset.
+   */
+  @Test
+  public void testNoMetricsAndReset() {
+    this.playBattle(1, null);
+    assertEquals(0, this.metrics.getTurns());
+    this.playBattle(1, this.metrics);
+    assertTrue(this.metrics.getTurns() > 0);
+    this.metrics.reset();
+    assertEquals(0, this.metrics.getTurns());
+    assertEquals(0, this.metrics.getBattles());
+    assertEquals(0, this.metrics.getDamageHistogram().getCount());
+  }
+
+  /**
+   * Testing that the metrics are read through JMX once registered.
+   */
+  @Test
+  public void testJmxRegistration() throws Exception {
+    this.playBattle(2, this.metrics);
+    ObjectName name = this.metrics.register("test");
+    try {
+      assertEquals(this.metrics.getTurns(), ManagementFactory.getPlatformMBeanServer()
+          .getAttribute(name, "Turns"));
+      assertEquals(1L, ManagementFactory.getPlatformMBeanServer()
+          .getAttribute(name, "Battles"));
+    } finally {
+      BattleMetrics.unregister(name);
+    }
+  }
+
+  /**
+   * Testing that small values are kept exactly and large values within
+   * an eighth of themselves.
+   */
+  @Test
+  public void testHistogramPrecision() {
+    LogHistogram histogram = new LogHistogram();
+    for (int v = 1; v <= 10; v++) {
+      histogram.record(v);
+    }
+    assertEquals(5, histogram.getPercentile(50));
+    assertEquals(10, histogram.getPercentile(100));
+    assertEquals(1, histogram.getPercentile(0));
+    assertEquals(5.5, histogram.getMean(), 1e-12);
+
+    histogram.reset();
+    histogram.record(1000);
+    histogram.record(1_000_000);
+    long median = histogram.getPercentile(50);
+    assertTrue(median >= 1000 && median <= 1000 + 1000 / 8);
+    assertEquals(1_000_000, histogram.getPercentile(100));
+    assertEquals(1_000_000, histogram.getMax());
+  }
+
+  /**
+   * Testing if a percentile out of range can be read.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new LogHistogram().getPercentile(101);
+  }
+}
@@ -8,10 +8,14 @@ import battle.Armory;
 import battle.BattleModel;
 import battle.BattlePlayer;
 import battle.EquipmentBag;
+import battle.Gears;
 import battle.Players;
 import battle.RandomNumberGenerator;
 import battle.RandomNumberGeneratorDev;
 import battle.RandomNumberGeneratorTest;
+import battle.TurnEvent;
+import battle.TurnEventQueue;
+import battle.Weapons;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
@@ -510,7 +514,45 @@ public class BattleModelTest {
   }
   
   /**
-   * Testing match with redundant strikes. Both players continue 
+   * Testing that the winner, weapons and belts handed out for a battle
+   * stay the same after a rematch.
+   */
+  @Test
+  public void testRematchKeepsEarlierResults() {
+    Arena test = new BattleModel(new RandomNumberGeneratorDev(8L));
+    test.callPlayers(1, 2);
+    test.preparePlayers();
+    test.startGame();
+    while (test.getWinner().isEmpty()) {
+      test.playTurn();
+    }
+    Players p1 = test.getPlayers().get(0);
+    List<Players> winner = test.getWinner();
+    List<Players> expectedWinner = new ArrayList<>(winner);
+    List<Weapons> weapons = p1.getWeaponsUsed();
+    List<Weapons> expectedWeapons = new ArrayList<>(weapons);
+    List<Gears> belts = p1.getUsedBelts();
+    List<Gears> expectedBelts = new ArrayList<>(belts);
+
+    test.rematch();
+    assertTrue(test.getWinner().isEmpty());
+    assertEquals(expectedWinner, winner);
+    assertEquals(expectedWeapons, weapons);
+    assertEquals(expectedBelts, belts);
+  }
+
+  /**
+   * Testing if the weapons used by a player can be changed from outside.
+   */
+  @Test (expected = UnsupportedOperationException.class)
+  public void testWeaponsUsedUnmodifiable() {
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.getPlayers().get(0).getWeaponsUsed().clear();
+  }
+
+  /**
+   * Testing match with redundant strikes. Both players continue
    * to defend. The game draws.
    */
   @Test (expected = IllegalStateException.class)
@@ -566,4 +608,71 @@ public class BattleModelTest {
     assertTrue("It's a draw. Both players are extremely competitive!"
         .equals(battle.getFinalResult()));
   }
+  
+  /**
+   * Testing that rendering the turn details does not draw new random 
+   * numbers, so the details stay the same until the next turn.
+   */
+  @Test
+  public void testTurnDetailsStable() {
+    Arena test = new BattleModel(new RandomNumberGeneratorDev(8L));
+    test.callPlayers(1, 2);
+    test.preparePlayers();
+    test.startGame();
+    test.playTurn();
+    
+    assertEquals(test.getTurnDetails(), test.getTurnDetails());
+  }
+  
+  /**
+   * Testing that a registered listener receives the same numbers as 
+   * shown in the turn details.
+   */
+  @Test
+  public void testTurnEvents() {
+    List<TurnEvent> events = new ArrayList<>();
+    battle.addTurnListener(events::add);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    battle.playTurn();
+    battle.playTurn();
+    
+    assertEquals(2, events.size());
+    TurnEvent first = events.get(0);
+    assertEquals(1, first.getTurnNumber());
+    assertEquals(1, first.getAttackerIndex());
+    assertEquals(0, first.getDefenderIndex());
+    assertEquals(16, first.getStrikingPower());
+    assertEquals(24, first.getAvoidanceAbility());
+    assertEquals(0, first.getActualDamage());
+    
+    TurnEvent second = events.get(1);
+    assertEquals(2, second.getTurnNumber());
+    assertEquals(0, second.getAttackerIndex());
+    assertEquals(19, second.getStrikingPower());
+    assertEquals(13, second.getAvoidanceAbility());
+    assertEquals(25, second.getPotentialDamage());
+    assertEquals(15, second.getActualDamage());
+    assertEquals(32, second.getAttackerHealth());
+    assertEquals(17, second.getDefenderHealth());
+  }
+  
+  /**
+   * Testing that a full turn event queue drops events instead of 
+   * blocking the battle.
+   */
+  @Test
+  public void testTurnEventQueueDropsWhenFull() {
+    TurnEventQueue queue = new TurnEventQueue(1);
+    battle.addTurnListener(queue);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    battle.playTurn();
+    battle.playTurn();
+    
+    assertEquals(1, queue.poll().getTurnNumber());
+    assertEquals(1, queue.getDroppedEvents());
+  }
 }
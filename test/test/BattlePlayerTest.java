@@ -12,6 +12,8 @@ import battle.Players;
 import battle.RandomNumberGenerator;
 import battle.RandomNumberGeneratorDev;
 import battle.RandomNumberGeneratorTest;
+import battle.SplittableRandomNumberGenerator;
+import battle.Weapons;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
@@ -694,4 +696,75 @@ public class BattlePlayerTest {
     gamer1.rematchSetup();
     gamer1.requestWeapon(arms);
   }
+  
+  /**
+   * Testing that the weapon damage looked up in the damage table is 
+   * rolled exactly as the weapons roll it, with and without the temporary 
+   * effect.
+   */
+  @Test
+  public void testWeaponDamageTable() {
+    for (long seed = 0; seed < 50; seed++) {
+      RandomNumberGenerator tableRand = new SplittableRandomNumberGenerator(seed);
+      RandomNumberGenerator weaponRand = new SplittableRandomNumberGenerator(seed);
+      Players table = new BattlePlayer(1, tableRand);
+      Players weapons = new BattlePlayer(1, weaponRand);
+      table.equipGears(new EquipmentBag(tableRand));
+      table.requestWeapon(new Armory(tableRand));
+      weapons.equipGears(new EquipmentBag(weaponRand));
+      weapons.requestWeapon(new Armory(weaponRand));
+      
+      for (int strike = 0; strike < 6; strike++) {
+        int expected = 0;
+        for (Weapons w : weapons.getWeaponsUsed()) {
+          expected += w.getStrikePower(weapons);
+        }
+        assertEquals(expected, table.getWeaponDamage());
+        table.getRemainingTemporaryEffectStrikes();
+        weapons.getRemainingTemporaryEffectStrikes();
+      }
+    }
+  }
+  
+  /**
+   * Testing that the kept abilities follow the temporary effect wearing 
+   * off and go back to the initial abilities for a rematch.
+   */
+  @Test
+  public void testAbilitiesKeptUpToDate() {
+    for (long seed = 0; seed < 20; seed++) {
+      RandomNumberGenerator seeded = new SplittableRandomNumberGenerator(seed);
+      Players p = new BattlePlayer(1, seeded);
+      assertEquals(p.getInitialHealth(), p.getStrength() + p.getConstitution() 
+          + p.getDexterity() + p.getCharisma());
+      p.equipGears(new EquipmentBag(seeded));
+      p.requestWeapon(new Armory(seeded));
+      while (p.getRemainingTemporaryEffectStrikes() > 0) {
+        p.getStrikingPower();
+      }
+      int strength = p.getStrength();
+      int dexterity = p.getDexterity();
+      p.getRemainingTemporaryEffectStrikes();
+      assertEquals(strength, p.getStrength());
+      assertTrue(p.getStrikingPower() > strength);
+      assertTrue(p.getAvoidanceAbility() > dexterity);
+      
+      p.rematchSetup();
+      assertEquals(p.getInitialHealth(), p.getStrength() + p.getConstitution() 
+          + p.getDexterity() + p.getCharisma());
+    }
+  }
+  
+  /**
+   * Testing if a player set up for a rematch can strike before getting 
+   * new gears and weapons.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testStrikeAfterRematchSetup() {
+    gamer1.equipGears(eqBag);
+    gamer1.requestWeapon(arms);
+    gamer1.getStrikingPower();
+    gamer1.rematchSetup();
+    gamer1.getStrikingPower();
+  }
 }
@@ -0,0 +1,114 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import battle.BattleSimulator;
+import battle.RandomNumberGeneratorTest;
+import battle.SimulationResult;
+import battle.TournamentRunner;
+import org.junit.Test;
+
+/**
+ * A JUnit test case for the BattleSimulator class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class BattleSimulatorTest {
+
+  /**
+   * Testing if a null random number generator is accepted by
+   * the simulator.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testSimulatorNullRandomNumberGen() {
+    new BattleSimulator(1, 2, null);
+  }
+
+  /**
+   * Testing if a negative number of matches can be simulated.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testNegativeMatches() {
+    new BattleSimulator(1, 2, 7L).runMatches(-1);
+  }
+
+  /**
+   * Testing that every simulated match ends in exactly one outcome.
+   */
+  @Test
+  public void testOutcomesAddUpToMatches() {
+    SimulationResult result = new BattleSimulator(1, 2, 7L).runMatches(200);
+
+    assertEquals(200, result.getMatches());
+    assertEquals(200, result.getPlayerOneWins() + result.getPlayerTwoWins()
+        + result.getDraws());
+    assertTrue(result.getTotalTurns() >= 200);
+  }
+
+  /**
+   * Testing that two simulators with the same seed produce the same
+   * results.
+   */
+  @Test
+  public void testSameSeedSameResults() {
+    SimulationResult first = new BattleSimulator(1, 2, 42L).runMatches(100);
+    SimulationResult second = new BattleSimulator(1, 2, 42L).runMatches(100);
+
+    assertEquals(first.getPlayerOneWins(), second.getPlayerOneWins());
+    assertEquals(first.getPlayerTwoWins(), second.getPlayerTwoWins());
+    assertEquals(first.getDraws(), second.getDraws());
+    assertEquals(first.getTotalTurns(), second.getTotalTurns());
+  }
+
+  /**
+   * Testing the simulator with the predefined numbers used in the battle
+   * model tests. Once the potions wear off neither player can hurt the
+   * other, so the match ends in a draw.
+   */
+  @Test
+  public void testPredefinedMatch() {
+    SimulationResult result = new BattleSimulator(1, 2,
+        new RandomNumberGeneratorTest(2)).runMatches(1);
+
+    assertEquals(0, result.getPlayerOneWins());
+    assertEquals(0, result.getPlayerTwoWins());
+    assertEquals(1, result.getDraws());
+    assertEquals(25, result.getTotalTurns());
+  }
+
+  /**
+   * Testing that a tournament plays every requested match, including a
+   * final block that is only partly filled.
+   */
+  @Test
+  public void testTournamentPlaysAllMatches() {
+    SimulationResult result = new TournamentRunner(1, 2, 3L, 2).runMatches(1000);
+
+    assertEquals(1000, result.getMatches());
+  }
+
+  /**
+   * Testing that the tournament result only depends on the seed and not
+   * on the number of workers.
+   */
+  @Test
+  public void testTournamentIndependentOfWorkers() {
+    SimulationResult single = new TournamentRunner(1, 2, 11L, 1).runMatches(600);
+    SimulationResult many = new TournamentRunner(1, 2, 11L, 4).runMatches(600);
+
+    assertEquals(single.getPlayerOneWins(), many.getPlayerOneWins());
+    assertEquals(single.getPlayerTwoWins(), many.getPlayerTwoWins());
+    assertEquals(single.getDraws(), many.getDraws());
+    assertEquals(single.getTotalTurns(), many.getTotalTurns());
+  }
+
+  /**
+   * Testing if a tournament can be run without workers.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testTournamentWithoutWorkers() {
+    new TournamentRunner(1, 2, 3L, 0);
+  }
+}
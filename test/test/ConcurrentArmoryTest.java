@@ -0,0 +1,165 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import battle.ConcurrentArmory;
+import battle.RandomNumberGenerator;
+import battle.RandomNumberGeneratorDev;
+import battle.RandomNumberGeneratorTest;
+import battle.SplittableRandomNumberGenerator;
+import battle.WeaponKind;
+import battle.Weapons;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the ConcurrentArmory class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class ConcurrentArmoryTest {
+
+  /**
+   * Check the weapons handed out in a request: a single weapon other than
+   * a Katana, or a pair of Katanas.
+   *
+   * @param weapons weapons handed out
+   */
+  private void checkRequest(List<Weapons> weapons) {
+    if (weapons.size() == 1) {
+      assertTrue(weapons.get(0).getWeaponKind() != WeaponKind.KATANA);
+    } else {
+      assertEquals(2, weapons.size());
+      assertEquals(WeaponKind.KATANA, weapons.get(0).getWeaponKind());
+      assertEquals(WeaponKind.KATANA, weapons.get(1).getWeaponKind());
+    }
+  }
+
+  /**
+   * Testing that a lone Katana is put aside and the armory runs out once
+   * fewer than 2 weapons are left.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testGetAllWeapons() {
+    // 1 weapon of each kind, so the Katana is never handed out.
+    ConcurrentArmory armory = new ConcurrentArmory(new RandomNumberGeneratorTest(0));
+    for (int i = 0; i < 4; i++) {
+      List<Weapons> weapons = armory.getWeapon();
+      this.checkRequest(weapons);
+    }
+    armory.getWeapon();
+  }
+
+  /**
+   * Request weapons from a new armory until it runs out.
+   *
+   * @param rand generator of the armory
+   * @return ids of the weapons handed out, in order
+   */
+  private List<String> requestAll(RandomNumberGenerator rand) {
+    ConcurrentArmory armory = new ConcurrentArmory(rand, 3);
+    List<String> ids = new ArrayList<>();
+    while (true) {
+      try {
+        for (Weapons w : armory.getWeapon()) {
+          ids.add(w.getWeaponId());
+        }
+      } catch (IllegalStateException e) {
+        return ids;
+      }
+    }
+  }
+
+  /**
+   * Testing that the weapons handed out in a single thread are the same
+   * for the same seed, whether the generator is split or shared.
+   */
+  @Test
+  public void testReproducibleRequests() {
+    assertEquals(this.requestAll(new SplittableRandomNumberGenerator(6L)),
+        this.requestAll(new SplittableRandomNumberGenerator(6L)));
+    assertEquals(this.requestAll(new RandomNumberGeneratorDev(6L)),
+        this.requestAll(new RandomNumberGeneratorDev(6L)));
+  }
+
+  /**
+   * Testing that weapons requested from many threads at once are each
+   * handed out once, with the Katanas in pairs.
+   */
+  @Test
+  public void testConcurrentRequests() throws Exception {
+    ConcurrentArmory armory = new ConcurrentArmory(
+        new SplittableRandomNumberGenerator(9L), 200);
+    int stocked = 0;
+    for (WeaponKind kind : WeaponKind.values()) {
+      stocked += armory.getWeaponsLeft(kind);
+    }
+
+    ExecutorService workers = Executors.newFixedThreadPool(8);
+    Set<Weapons> handedOut = Collections.newSetFromMap(new IdentityHashMap<>());
+    int total = 0;
+    try {
+      List<Future<List<List<Weapons>>>> tasks = new ArrayList<>();
+      for (int w = 0; w < 8; w++) {
+        tasks.add(workers.submit(() -> {
+          List<List<Weapons>> requests = new ArrayList<>();
+          while (true) {
+            try {
+              requests.add(armory.getWeapon());
+            } catch (IllegalStateException e) {
+              return requests;
+            }
+          }
+        }));
+      }
+      for (Future<List<List<Weapons>>> task : tasks) {
+        for (List<Weapons> weapons : task.get()) {
+          this.checkRequest(weapons);
+          handedOut.addAll(weapons);
+          total += weapons.size();
+        }
+      }
+    } finally {
+      workers.shutdown();
+    }
+
+    assertEquals(total, handedOut.size());
+    int left = 0;
+    for (WeaponKind kind : WeaponKind.values()) {
+      left += armory.getWeaponsLeft(kind);
+    }
+    assertTrue(left < 2);
+    // At most one lone Katana is put aside.
+    assertTrue(stocked - total - left <= 1);
+  }
+
+  /**
+   * Testing that the armory is restocked after a reset, with at least
+   * one weapon of each kind for every multiple of a regular armory.
+   */
+  @Test
+  public void testResetRestocks() {
+    ConcurrentArmory armory = new ConcurrentArmory(
+        new SplittableRandomNumberGenerator(4L), 2);
+    while (true) {
+      try {
+        armory.getWeapon();
+      } catch (IllegalStateException e) {
+        break;
+      }
+    }
+    armory.reset();
+    for (WeaponKind kind : WeaponKind.values()) {
+      assertTrue(armory.getWeaponsLeft(kind) >= 2);
+    }
+  }
+}
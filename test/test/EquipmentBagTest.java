@@ -1,13 +1,18 @@
 package test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import battle.EquipmentBag;
+import battle.GearKind;
 import battle.Gears;
 import battle.RandomNumberGenerator;
 import battle.RandomNumberGeneratorTest;
+import battle.SplittableRandomNumberGenerator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -72,4 +77,94 @@ public class EquipmentBagTest {
     
     assertTrue(!g1.containsAll(g2));
   }
+  
+  /**
+   * Testing that the number of gears left of every kind follows the 
+   * gears dealt from the bag.
+   */
+  @Test
+  public void testRemainingGearsByKind() {
+    int before = eqBag.getRemainingGears();
+    List<Gears> dealt = eqBag.getGears();
+    
+    assertEquals(before - 20, eqBag.getRemainingGears());
+    int total = 0;
+    for (GearKind kind : GearKind.values()) {
+      total += eqBag.getRemainingGears(kind);
+    }
+    assertEquals(eqBag.getRemainingGears(), total);
+    
+    int headgears = 0;
+    for (Gears g : dealt) {
+      if (g.getGearKind() == GearKind.HEADGEAR) {
+        headgears++;
+      }
+    }
+    // 7 headgears are put in the bag by the test random number generator
+    assertEquals(7 - headgears, eqBag.getRemainingGears(GearKind.HEADGEAR));
+  }
+  
+  /**
+   * Testing that no gear is dealt twice until the bag runs out.
+   */
+  @Test
+  public void testDealUntilEmpty() {
+    EquipmentBag eq = new EquipmentBag(new SplittableRandomNumberGenerator(12L));
+    Set<Gears> dealt = new HashSet<>();
+    int deals = eq.getRemainingGears() / 20;
+    for (int i = 0; i < deals; i++) {
+      dealt.addAll(eq.getGears());
+    }
+    
+    assertEquals(deals * 20, dealt.size());
+    assertTrue(eq.getRemainingGears() < 20);
+  }
+  
+  /**
+   * Testing if a scaled equipment bag holds the gears of as many regular 
+   * bags. A regular bag holds 7 headgears, 7 footwears, 17 potions and 
+   * 17 belts with the test generator.
+   */
+  @Test
+  public void testScaledEquipmentBag() {
+    EquipmentBag scaled = new EquipmentBag(rand, 3);
+    
+    assertEquals(144, scaled.getRemainingGears());
+    assertEquals(21, scaled.getRemainingGears(GearKind.HEADGEAR));
+    assertEquals(21, scaled.getRemainingGears(GearKind.FOOTWEAR));
+    assertEquals(51, scaled.getRemainingGears(GearKind.POTION));
+    assertEquals(51, scaled.getRemainingGears(GearKind.BELT));
+  }
+  
+  /**
+   * Testing if an equipment bag can be scaled below a regular bag.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidEquipmentBagScale() {
+    new EquipmentBag(rand, 0);
+  }
+  
+  /**
+   * Testing if a reset bag is refilled with the same gears, returned 
+   * unused to the bag.
+   */
+  @Test
+  public void testResetReusesGears() {
+    int size = eqBag.getRemainingGears();
+    List<Gears> dealt = eqBag.getGears();
+    for (Gears g : dealt) {
+      g.setIfGearUsedByPlayer(true);
+    }
+    
+    eqBag.reset();
+    assertEquals(size, eqBag.getRemainingGears());
+    Set<Gears> refilled = new HashSet<>();
+    for (int i = 0; i < size / 20; i++) {
+      refilled.addAll(eqBag.getGears());
+    }
+    for (Gears g : dealt) {
+      assertTrue(refilled.contains(g));
+      assertFalse(g.getIfGearUsedByPlayer());
+    }
+  }
 }
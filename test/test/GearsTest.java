@@ -4,9 +4,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import battle.Ability;
 import battle.BeltSizes;
 import battle.Belts;
 import battle.Footwear;
+import battle.GearKind;
 import battle.Gears;
 import battle.Headgear;
 import battle.Potions;
@@ -376,4 +378,39 @@ public class GearsTest {
   public void testBeltIllegalSize() {
     belt = new Belts(2, MEDIUM);
   }
+  
+  /**
+   * Test the effect vector of a footwear against its effect map.
+   */
+  @Test
+  public void testFootwearEffectVector() {
+    assertEquals(0, fw.getEffect().getPoints(Ability.STRENGTH));
+    assertEquals(-3, fw.getEffect().getPoints(Ability.CONSTITUTION));
+    assertEquals(5, fw.getEffect().getPoints(Ability.DEXTERITY));
+    assertEquals(-2, fw.getEffect().getPoints(Ability.CHARISMA));
+    assertEquals(fw.getEffect().toMap(), fw.checkEffectOfGear());
+  }
+  
+  /**
+   * Test that gears of the same type share one effect, and that the 
+   * effect is marked as negative.
+   */
+  @Test
+  public void testSharedEffect() {
+    assertTrue(new Headgear(5).getEffect() == hg.getEffect());
+    assertTrue(new Belts(5, BeltSizes.SMALL).getEffect() == belt.getEffect());
+    assertTrue(hg.getEffect().hasNegativeEffect());
+    assertTrue(pot.getEffect().hasNegativeEffect());
+  }
+  
+  /**
+   * Test that every gear reports its kind.
+   */
+  @Test
+  public void testGearKinds() {
+    assertEquals(GearKind.HEADGEAR, hg.getGearKind());
+    assertEquals(GearKind.POTION, pot.getGearKind());
+    assertEquals(GearKind.FOOTWEAR, fw.getGearKind());
+    assertEquals(GearKind.BELT, belt.getGearKind());
+  }
 }
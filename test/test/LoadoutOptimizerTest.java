@@ -0,0 +1,221 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import battle.BattleModel;
+import battle.BattlePlayer;
+import battle.Belts;
+import battle.EquipmentBag;
+import battle.GearKind;
+import battle.Gears;
+import battle.LoadoutObjective;
+import battle.LoadoutOptimizer;
+import battle.Matchup;
+import battle.MatchupOdds;
+import battle.OutcomeCalculator;
+import battle.RandomNumberGenerator;
+import battle.SplittableRandomNumberGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the LoadoutOptimizer and LoadoutObjective classes.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class LoadoutOptimizerTest {
+
+  private static final LoadoutObjective[] OBJECTIVES = {
+      LoadoutObjective.STRIKING_POWER, LoadoutObjective.AVOIDANCE,
+      LoadoutObjective.WIN_RATE};
+
+  /**
+   * Deal gears from a full equipment bag.
+   *
+   * @param seed seed of the bag
+   * @return dealt gears
+   */
+  private List<Gears> dealGears(long seed) {
+    return new EquipmentBag(new SplittableRandomNumberGenerator(seed)).getGears();
+  }
+
+  /**
+   * Find the best score of the gears by trying every set of belts and the
+   * best of every other kind.
+   *
+   * @param gears dealt gears
+   * @param objective objective
+   * @return best score
+   */
+  private int getBestScore(List<Gears> gears, LoadoutObjective objective) {
+    int score = 0;
+    int headgear = 0;
+    int footwear = 0;
+    List<Belts> belts = new ArrayList<>();
+    for (Gears gear : gears) {
+      int gearScore = objective.getScore(gear);
+      if (gear.getGearKind() == GearKind.POTION) {
+        score += Math.max(gearScore, 0);
+      } else if (gear.getGearKind() == GearKind.HEADGEAR) {
+        headgear = Math.max(headgear, gearScore);
+      } else if (gear.getGearKind() == GearKind.FOOTWEAR) {
+        footwear = Math.max(footwear, gearScore);
+      } else {
+        belts.add((Belts) gear);
+      }
+    }
+    int bestBelts = 0;
+    for (int set = 0; set < 1 << belts.size(); set++) {
+      int units = 0;
+      int beltScore = 0;
+      for (int b = 0; b < belts.size(); b++) {
+        if ((set & (1 << b)) != 0) {
+          units += belts.get(b).getBeltSize().getUnits();
+          beltScore += objective.getScore(belts.get(b));
+        }
+      }
+      if (units <= 10) {
+        bestBelts = Math.max(bestBelts, beltScore);
+      }
+    }
+    return score + headgear + footwear + bestBelts;
+  }
+
+  /**
+   * Testing that the chosen gears fit together, are all worth using and
+   * score as well as the best choice.
+   */
+  @Test
+  public void testBestLoadout() {
+    for (LoadoutObjective objective : OBJECTIVES) {
+      LoadoutOptimizer optimizer = new LoadoutOptimizer(objective);
+      for (long seed = 0; seed < 200; seed++) {
+        List<Gears> gears = this.dealGears(seed);
+        List<Gears> loadout = optimizer.selectGears(gears);
+        int[] kinds = new int[GearKind.values().length];
+        int units = 0;
+        int score = 0;
+        for (Gears gear : loadout) {
+          kinds[gear.getGearKind().ordinal()]++;
+          if (gear.getGearKind() == GearKind.BELT) {
+            units += ((Belts) gear).getBeltSize().getUnits();
+          }
+          assertTrue(objective.getScore(gear) > 0);
+          score += objective.getScore(gear);
+        }
+        assertTrue(kinds[GearKind.HEADGEAR.ordinal()] <= 1);
+        assertTrue(kinds[GearKind.FOOTWEAR.ordinal()] <= 1);
+        assertTrue(units <= 10);
+        assertEquals(this.getBestScore(gears, objective), score);
+        assertEquals(score, optimizer.getScore(gears));
+      }
+    }
+  }
+
+  /**
+   * Testing that a smart player deals the same gears as a player using
+   * them in order, and strikes at least as hard with them.
+   */
+  @Test
+  public void testSmartPlayer() {
+    for (long seed = 0; seed < 100; seed++) {
+      RandomNumberGenerator plainRandom = new SplittableRandomNumberGenerator(seed);
+      RandomNumberGenerator smartRandom = new SplittableRandomNumberGenerator(seed);
+      BattlePlayer plain = new BattlePlayer(1, plainRandom);
+      BattlePlayer smart = new BattlePlayer(1, smartRandom);
+      assertNull(smart.getLoadoutObjective());
+      smart.setLoadoutObjective(LoadoutObjective.STRIKING_POWER);
+      assertEquals(LoadoutObjective.STRIKING_POWER, smart.getLoadoutObjective());
+
+      plain.equipGears(new EquipmentBag(plainRandom));
+      smart.equipGears(new EquipmentBag(smartRandom));
+      assertTrue(smart.getStrength() >= plain.getStrength());
+
+      RandomNumberGenerator dealRandom = new SplittableRandomNumberGenerator(seed);
+      new BattlePlayer(1, dealRandom);
+      List<Gears> dealt = new EquipmentBag(dealRandom).getGears();
+      List<String> loadout = new ArrayList<>();
+      for (Gears gear : new LoadoutOptimizer(LoadoutObjective.STRIKING_POWER)
+          .selectGears(dealt)) {
+        loadout.add(gear.getGearId());
+      }
+      assertEquals(loadout.size(), smart.getSortedGears().size());
+      assertTrue(smart.getSortedGears().containsAll(loadout));
+    }
+  }
+
+  /**
+   * Testing that a smart player goes back to using the gears in order.
+   */
+  @Test
+  public void testSmartPlayerTurnedOff() {
+    RandomNumberGenerator plainRandom = new SplittableRandomNumberGenerator(3);
+    RandomNumberGenerator smartRandom = new SplittableRandomNumberGenerator(3);
+    BattlePlayer plain = new BattlePlayer(1, plainRandom);
+    BattlePlayer smart = new BattlePlayer(1, smartRandom);
+    smart.setLoadoutObjective(LoadoutObjective.WIN_RATE);
+    smart.setLoadoutObjective(null);
+
+    plain.equipGears(new EquipmentBag(plainRandom));
+    smart.equipGears(new EquipmentBag(smartRandom));
+    assertEquals(plain.getSortedGears(), smart.getSortedGears());
+  }
+
+  /**
+   * Testing that the win rate weights are the ones worked out from the
+   * odds of 400 matchups.
+   */
+  @Test
+  public void testWinRateWeights() {
+    assertEquals(LoadoutObjective.WIN_RATE.toString(),
+        LoadoutObjective.deriveWinRate(400).toString());
+  }
+
+  /**
+   * Get the odds of the first player of a battle, counting a draw as
+   * half a win.
+   *
+   * @param seed seed of the battle
+   * @param objective loadout objective of the first player, null to use
+   *                  the gears in order
+   * @return win rate of the first player
+   */
+  private double getWinRate(long seed, LoadoutObjective objective) {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(seed));
+    battle.callPlayers(1, 2);
+    ((BattlePlayer) battle.getPlayers().get(0)).setLoadoutObjective(objective);
+    battle.preparePlayers();
+    MatchupOdds odds = new OutcomeCalculator().calculate(Matchup.of(battle));
+    return odds.getPlayerOneWins() + odds.getDraw() / 2;
+  }
+
+  /**
+   * Testing that a smart player making the most of the win rate wins at
+   * least as often against a player using the gears in order as with
+   * the gears in order, on average over dealt matchups. The weights are
+   * linear, so a few matchups are lost to a threshold, such as strikes
+   * that no longer get through.
+   */
+  @Test
+  public void testSmartPlayerWinRate() {
+    double plain = 0;
+    double smart = 0;
+    for (long seed = 1000; seed < 1200; seed++) {
+      plain += this.getWinRate(seed, null);
+      smart += this.getWinRate(seed, LoadoutObjective.WIN_RATE);
+    }
+    assertTrue(smart >= plain);
+  }
+
+  /**
+   * Testing if an optimizer can be built without an objective.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullObjective() {
+    new LoadoutOptimizer(null);
+  }
+}
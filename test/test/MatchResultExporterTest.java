@@ -0,0 +1,185 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import battle.BattleModel;
+import battle.MatchResultExporter;
+import battle.MatchResultReader;
+import battle.Players;
+import battle.SplittableRandomNumberGenerator;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A JUnit test case of the MatchResultExporter and MatchResultReader
+ * classes.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchResultExporterTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Play a battle to its end, recording the values the exporter should
+   * write for it.
+   *
+   * @param seed seed of the battle
+   * @param expected list the expected values are added to
+   * @return finished battle
+   */
+  private BattleModel playBattle(long seed, List<String> expected) {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(seed));
+    battle.callPlayers(1, 2);
+    StringBuilder row = new StringBuilder();
+    for (Players player : battle.getPlayers()) {
+      row.append(player.getStrength()).append(',')
+          .append(player.getConstitution()).append(',')
+          .append(player.getDexterity()).append(',')
+          .append(player.getCharisma()).append(',');
+    }
+    battle.preparePlayers();
+    battle.startGame();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+    }
+    List<Players> players = battle.getPlayers();
+    for (Players player : players) {
+      row.append(player.getInitialHealth()).append(',')
+          .append(player.getPlayerId()).append(',')
+          .append(String.join(";", player.getSortedGears())).append(',')
+          .append(String.join(";", player.getWeaponIdUsed())).append(',');
+    }
+    List<Players> winner = battle.getWinner();
+    row.append(winner.size() > 1 ? 0 : winner.get(0) == players.get(0) ? 1 : 2)
+        .append(',').append(battle.getTurnCount());
+    expected.add(row.toString());
+    return battle;
+  }
+
+  /**
+   * Read the current match in the order the expected values are built.
+   *
+   * @param reader reader at a match
+   * @return values of the match
+   */
+  private String readRow(MatchResultReader reader) {
+    StringBuilder row = new StringBuilder();
+    for (String p : new String[] {"p1", "p2"}) {
+      row.append(reader.getInt(p + "_strength")).append(',')
+          .append(reader.getInt(p + "_constitution")).append(',')
+          .append(reader.getInt(p + "_dexterity")).append(',')
+          .append(reader.getInt(p + "_charisma")).append(',');
+    }
+    for (String p : new String[] {"p1", "p2"}) {
+      row.append(reader.getInt(p + "_health")).append(',')
+          .append(reader.getString(p + "_id")).append(',')
+          .append(reader.getString(p + "_gears")).append(',')
+          .append(reader.getString(p + "_weapons")).append(',');
+    }
+    return row.append(reader.getInt("winner")).append(',')
+        .append(reader.getInt("turns")).toString();
+  }
+
+  /**
+   * Testing that the results of many battles are read back as recorded,
+   * in less space than as CSV.
+   */
+  @Test
+  public void testRoundTrip() throws Exception {
+    Path file = this.folder.getRoot().toPath().resolve("results.btlx");
+    List<String> expected = new ArrayList<>();
+    try (MatchResultExporter exporter = new MatchResultExporter(file)) {
+      for (long seed = 0; seed < 1000; seed++) {
+        assertEquals(seed, exporter.record(this.playBattle(seed, expected)));
+      }
+      assertEquals(1000, exporter.getMatchCount());
+    }
+
+    try (MatchResultReader reader = new MatchResultReader(file)) {
+      assertEquals(18, reader.getColumns().size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertTrue(reader.next());
+        assertEquals(i, reader.getMatchId());
+        assertEquals(expected.get(i), this.readRow(reader));
+      }
+      assertFalse(reader.next());
+    }
+
+    StringBuilder csv = new StringBuilder();
+    try (MatchResultReader reader = new MatchResultReader(file)) {
+      assertEquals(1000, reader.writeCsv(csv));
+    }
+    assertTrue(csv.toString().startsWith("match,p1_strength,"));
+    assertTrue(Files.size(file) * 5 < csv.length());
+  }
+
+  /**
+   * Testing that small batches and partial batches flushed early are read
+   * back in order.
+   */
+  @Test
+  public void testSmallBatchesAndFlush() throws Exception {
+    Path file = this.folder.getRoot().toPath().resolve("results.btlx");
+    List<String> expected = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE)) {
+      MatchResultExporter exporter = new MatchResultExporter(channel, 7);
+      for (long seed = 0; seed < 20; seed++) {
+        exporter.record(this.playBattle(seed, expected));
+      }
+      exporter.flush();
+      exporter.flush();
+      for (long seed = 20; seed < 23; seed++) {
+        exporter.record(this.playBattle(seed, expected));
+      }
+      exporter.close();
+      assertTrue(channel.isOpen());
+    }
+
+    try (MatchResultReader reader = new MatchResultReader(file)) {
+      for (int i = 0; i < expected.size(); i++) {
+        assertTrue(reader.next());
+        assertEquals(i, reader.getMatchId());
+        assertEquals(expected.get(i), this.readRow(reader));
+      }
+      assertFalse(reader.next());
+    }
+  }
+
+  /**
+   * Testing if a battle still being played can be recorded.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testUnfinishedBattle() {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(1));
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    try (MatchResultExporter exporter = new MatchResultExporter(
+        this.folder.getRoot().toPath().resolve("results.btlx"))) {
+      exporter.record(battle);
+    }
+  }
+
+  /**
+   * Testing if a file of another kind can be read as results.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testNotAResultsFile() throws Exception {
+    Path file = this.folder.newFile("results.csv").toPath();
+    Files.writeString(file, "match,p1_strength\n0,12\n");
+    new MatchResultReader(file);
+  }
+}
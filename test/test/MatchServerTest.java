@@ -0,0 +1,222 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import battle.MatchServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the MatchServer class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchServerTest {
+
+  private MatchServer server;
+
+  /**
+   * Close the server of a test.
+   */
+  @After
+  public void tearDown() {
+    if (this.server != null) {
+      this.server.close();
+    }
+  }
+
+  /**
+   * A client of the line protocol of the server.
+   */
+  private static final class Client implements AutoCloseable {
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final PrintWriter out;
+
+    Client(int port) throws IOException {
+      this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+      this.socket.setSoTimeout(10000);
+      this.in = new BufferedReader(new InputStreamReader(this.socket.getInputStream(),
+          StandardCharsets.UTF_8));
+      this.out = new PrintWriter(this.socket.getOutputStream(), true,
+          StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Send a command and read its reply up to the line OK, or the error
+     * line.
+     *
+     * @param command command line
+     * @return reply lines, with the final line
+     */
+    List<String> send(String command) throws IOException {
+      this.out.println(command);
+      List<String> reply = new ArrayList<>();
+      String line;
+      while ((line = this.in.readLine()) != null) {
+        reply.add(line);
+        if ("OK".equals(line) || line.startsWith("ERR") || "BYE".equals(line)) {
+          break;
+        }
+      }
+      return reply;
+    }
+
+    String readLine() throws IOException {
+      return this.in.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.socket.close();
+    }
+  }
+
+  /**
+   * Get the last line of a reply.
+   *
+   * @param reply reply lines
+   * @return last line
+   */
+  private String last(List<String> reply) {
+    return reply.get(reply.size() - 1);
+  }
+
+  /**
+   * Testing that a client plays a whole battle and a rematch through the
+   * line protocol.
+   */
+  @Test
+  public void testPlaySession() throws Exception {
+    this.server = new MatchServer(0, 10, 10000);
+    try (Client client = new Client(this.server.getPort())) {
+      assertTrue(this.last(client.send("START")).startsWith("ERR"));
+      assertEquals("OK", this.last(client.send("NEW 1 2")));
+      List<String> odds = client.send("ODDS");
+      assertEquals("OK", this.last(odds));
+      assertTrue(odds.get(0).startsWith("Player one wins"));
+      assertEquals("OK", this.last(client.send("START")));
+      assertEquals("OK", this.last(client.send("TURN")));
+      List<String> result = client.send("PLAY");
+      assertEquals("OK", this.last(result));
+      assertTrue(result.get(0).contains(" turns"));
+      assertTrue(this.last(client.send("TURN")).startsWith("ERR"));
+      assertEquals("OK", this.last(client.send("REMATCH")));
+      assertEquals("OK", this.last(client.send("START")));
+      assertTrue(this.last(client.send("JUMP")).startsWith("ERR Unknown"));
+      assertTrue(this.last(client.send("NEW 1 two")).startsWith("ERR"));
+      assertEquals("BYE", this.last(client.send("QUIT")));
+    }
+    assertEquals(1, this.server.getSessionsServed());
+  }
+
+  /**
+   * Testing that the result of a battle can be asked for before it
+   * starts, after a rematch, and the session goes on.
+   */
+  @Test
+  public void testResultBeforeStart() throws Exception {
+    this.server = new MatchServer(0, 10, 10000);
+    try (Client client = new Client(this.server.getPort())) {
+      assertEquals("OK", this.last(client.send("NEW 1 2")));
+      List<String> result = client.send("RESULT");
+      assertEquals("OK", this.last(result));
+      assertTrue(result.get(0).contains("not started"));
+      assertEquals("OK", this.last(client.send("START")));
+      assertEquals("OK", this.last(client.send("PLAY")));
+      assertEquals("OK", this.last(client.send("REMATCH")));
+      assertEquals("OK", this.last(client.send("RESULT")));
+      assertEquals("BYE", this.last(client.send("QUIT")));
+    }
+  }
+
+  /**
+   * Testing that a client is turned away while the server is full, and
+   * let in once a session ends.
+   */
+  @Test
+  public void testBusyServer() throws Exception {
+    this.server = new MatchServer(0, 1, 10000);
+    try (Client first = new Client(this.server.getPort())) {
+      assertEquals("OK", this.last(first.send("NEW 1 2")));
+      try (Client second = new Client(this.server.getPort())) {
+        assertEquals("BUSY", second.readLine());
+        assertNull(second.readLine());
+      }
+      assertEquals(1, this.server.getSessionsRejected());
+      assertEquals("BYE", this.last(first.send("QUIT")));
+    }
+    while (this.server.getOpenSessions() > 0) {
+      Thread.sleep(10);
+    }
+    try (Client third = new Client(this.server.getPort())) {
+      assertEquals("OK", this.last(third.send("NEW 3 4")));
+    }
+  }
+
+  /**
+   * Testing that a silent client is disconnected after the session
+   * timeout.
+   */
+  @Test
+  public void testSessionTimeout() throws Exception {
+    this.server = new MatchServer(0, 10, 200);
+    try (Client client = new Client(this.server.getPort())) {
+      assertEquals("OK", this.last(client.send("NEW 1 2")));
+      assertEquals("ERR The session timed out.", client.readLine());
+      assertNull(client.readLine());
+    }
+  }
+
+  /**
+   * Testing that many clients play their battles at the same time.
+   */
+  @Test
+  public void testConcurrentSessions() throws Exception {
+    this.server = new MatchServer(0, 100, 10000);
+    ExecutorService clients = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int c = 0; c < 100; c++) {
+        int id = c;
+        results.add(clients.submit(() -> {
+          try (Client client = new Client(this.server.getPort())) {
+            client.send("NEW " + id + " " + (id + 1000));
+            client.send("START");
+            return this.last(client.send("PLAY"));
+          }
+        }));
+      }
+      for (Future<String> result : results) {
+        assertEquals("OK", result.get());
+      }
+    } finally {
+      clients.shutdown();
+    }
+    assertEquals(100, this.server.getSessionsServed());
+  }
+
+  /**
+   * Testing if a server can hold no sessions.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidMaxSessions() {
+    new MatchServer(0, 0, 1000);
+  }
+}
@@ -0,0 +1,120 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import battle.BattleModel;
+import battle.Matchup;
+import battle.MatchupCache;
+import battle.MatchupOdds;
+import battle.OutcomeCalculator;
+import battle.SplittableRandomNumberGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the MatchupCache class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class MatchupCacheTest {
+
+  private MatchupCache cache;
+
+  /**
+   * Set up a cache of two matchups.
+   */
+  @Before
+  public void setUp() {
+    this.cache = new MatchupCache(2);
+  }
+
+  /**
+   * Get the matchup of players 1 and 2 prepared with a seed.
+   *
+   * @param seed seed of the battle
+   * @return matchup
+   */
+  private Matchup getMatchup(long seed) {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(seed));
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    return Matchup.of(battle);
+  }
+
+  /**
+   * Testing that a matchup is calculated once and then found in the
+   * cache.
+   */
+  @Test
+  public void testHitsAndMisses() {
+    MatchupOdds odds = this.cache.getOdds(this.getMatchup(1));
+    assertSame(odds, this.cache.getOdds(this.getMatchup(1)));
+    this.cache.getOdds(this.getMatchup(1));
+    assertEquals(2, this.cache.getHits());
+    assertEquals(1, this.cache.getMisses());
+    assertEquals(2.0 / 3, this.cache.getHitRate(), 1e-9);
+    assertEquals(1, this.cache.size());
+  }
+
+  /**
+   * Testing that the least recently used matchup is dropped when the
+   * cache is full.
+   */
+  @Test
+  public void testLeastRecentlyUsedEvicted() {
+    this.cache.getOdds(this.getMatchup(1));
+    this.cache.getOdds(this.getMatchup(2));
+    this.cache.getOdds(this.getMatchup(1));
+    this.cache.getOdds(this.getMatchup(3));
+    assertEquals(1, this.cache.getEvictions());
+    assertEquals(2, this.cache.size());
+
+    this.cache.getOdds(this.getMatchup(1));
+    assertEquals(2, this.cache.getHits());
+    this.cache.getOdds(this.getMatchup(2));
+    assertEquals(4, this.cache.getMisses());
+    assertEquals(2, this.cache.getEvictions());
+  }
+
+  /**
+   * Testing that cached odds are the odds of the matchup asked about,
+   * whichever way round the players are kept.
+   */
+  @Test
+  public void testSameOddsAsCalculator() {
+    OutcomeCalculator calculator = new OutcomeCalculator();
+    MatchupCache large = new MatchupCache(100);
+    for (long seed = 0; seed < 30; seed++) {
+      Matchup matchup = this.getMatchup(seed);
+      MatchupOdds expected = calculator.calculate(matchup);
+      MatchupOdds cached = large.getOdds(matchup);
+      assertEquals(expected.getPlayerOneWins(), cached.getPlayerOneWins(), 1e-12);
+      assertEquals(expected.getPlayerTwoWins(), cached.getPlayerTwoWins(), 1e-12);
+      assertEquals(expected.getDraw(), cached.getDraw(), 1e-12);
+      assertEquals(expected.getExpectedTurns(), cached.getExpectedTurns(), 1e-9);
+    }
+  }
+
+  /**
+   * Testing that clearing the cache drops the matchups and the counters.
+   */
+  @Test
+  public void testClear() {
+    this.cache.getOdds(this.getMatchup(1));
+    this.cache.clear();
+    assertEquals(0, this.cache.size());
+    assertEquals(0, this.cache.getMisses());
+    this.cache.getOdds(this.getMatchup(1));
+    assertEquals(1, this.cache.getMisses());
+  }
+
+  /**
+   * Testing if a cache without room can be made.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new MatchupCache(0);
+  }
+}
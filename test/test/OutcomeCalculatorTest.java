@@ -0,0 +1,123 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import battle.BatchBattleKernel;
+import battle.BattleModel;
+import battle.Matchup;
+import battle.MatchupOdds;
+import battle.OutcomeCalculator;
+import battle.SimulationResult;
+import battle.SplittableRandomNumberGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the OutcomeCalculator and Matchup classes.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class OutcomeCalculatorTest {
+
+  private OutcomeCalculator calculator;
+
+  /**
+   * Set up the outcome calculator.
+   */
+  @Before
+  public void setUp() {
+    this.calculator = new OutcomeCalculator();
+  }
+
+  /**
+   * Set up a battle between prepared players 1 and 2.
+   *
+   * @param seed seed of the battle
+   * @return battle with prepared players
+   */
+  private BattleModel prepareBattle(long seed) {
+    BattleModel battle = new BattleModel(new SplittableRandomNumberGenerator(seed));
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    return battle;
+  }
+
+  /**
+   * Testing that the exact odds agree with the outcomes of the same
+   * prepared battle played many times over.
+   */
+  @Test
+  public void testOddsAgreeWithSimulation() {
+    int matches = 20000;
+    for (long seed = 0; seed < 5; seed++) {
+      BattleModel battle = this.prepareBattle(seed);
+      battle.startGame();
+      MatchupOdds odds = this.calculator.calculate(Matchup.of(battle));
+
+      BatchBattleKernel kernel = new BatchBattleKernel(matches,
+          new SplittableRandomNumberGenerator(100 + seed));
+      for (int m = 0; m < matches; m++) {
+        kernel.load(m, battle);
+      }
+      kernel.playAll();
+      SimulationResult result = kernel.getResult();
+
+      assertEquals((double) result.getPlayerOneWins() / matches,
+          odds.getPlayerOneWins(), 0.015);
+      assertEquals((double) result.getPlayerTwoWins() / matches,
+          odds.getPlayerTwoWins(), 0.015);
+      assertEquals((double) result.getDraws() / matches, odds.getDraw(), 0.015);
+      assertEquals(result.getAverageTurns(), odds.getExpectedTurns(),
+          0.03 * odds.getExpectedTurns());
+    }
+  }
+
+  /**
+   * Testing that the odds of every outcome add up to 1.
+   */
+  @Test
+  public void testOddsAddUp() {
+    for (long seed = 0; seed < 20; seed++) {
+      MatchupOdds odds = this.calculator.calculate(
+          Matchup.of(this.prepareBattle(seed)));
+      assertEquals(1.0, odds.getPlayerOneWins() + odds.getPlayerTwoWins()
+          + odds.getDraw(), 1e-9);
+    }
+  }
+
+  /**
+   * Testing that the matchup of a battle is the same before and after it
+   * starts, and the same for battles prepared alike.
+   */
+  @Test
+  public void testMatchupEquality() {
+    BattleModel battle = this.prepareBattle(3);
+    Matchup prepared = Matchup.of(battle);
+    battle.startGame();
+    assertEquals(prepared, Matchup.of(battle));
+    assertEquals(prepared, Matchup.of(this.prepareBattle(3)));
+    assertEquals(prepared.hashCode(), Matchup.of(this.prepareBattle(3)).hashCode());
+    assertNotEquals(prepared, Matchup.of(this.prepareBattle(4)));
+  }
+
+  /**
+   * Testing if the matchup of a battle with turns played can be taken.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testMatchupAfterTurn() {
+    BattleModel battle = this.prepareBattle(5);
+    battle.startGame();
+    battle.playTurn();
+    Matchup.of(battle);
+  }
+
+  /**
+   * Testing if the odds of a null matchup can be calculated.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testNullMatchup() {
+    this.calculator.calculate(null);
+  }
+}
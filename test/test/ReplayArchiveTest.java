@@ -0,0 +1,171 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import battle.BattleModel;
+import battle.RandomNumberGenerator;
+import battle.RecordingRandomNumberGenerator;
+import battle.ReplayArchive;
+import battle.SplittableRandomNumberGenerator;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A JUnit test case of the ReplayArchive class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class ReplayArchiveTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Play a whole match and return its final result and turn count.
+   *
+   * @param rand random number generator of the match
+   * @return result of the match
+   */
+  private String playMatch(RandomNumberGenerator rand) {
+    BattleModel battle = new BattleModel(rand);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    battle.startGame();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+    }
+    return battle.getFinalResult() + " in " + battle.getTurnCount() + " turns";
+  }
+
+  /**
+   * Record a match played with a seed into a replay log in memory.
+   *
+   * @param seed seed of the match
+   * @return replay log
+   */
+  private ByteBuffer recordMatch(long seed) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (RecordingRandomNumberGenerator recorder = new RecordingRandomNumberGenerator(
+        new SplittableRandomNumberGenerator(seed), seed, Channels.newChannel(out))) {
+      this.playMatch(recorder);
+    }
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  /**
+   * Testing that matches appended to an archive are replayed exactly,
+   * after the archive is closed and opened again.
+   */
+  @Test
+  public void testReplayAfterReopen() throws Exception {
+    Path directory = this.folder.newFolder("archive").toPath();
+    List<String> results = new ArrayList<>();
+    try (ReplayArchive archive = new ReplayArchive(directory, 4096)) {
+      for (long seed = 0; seed < 20; seed++) {
+        assertEquals(seed, archive.append(this.recordMatch(seed)));
+        results.add(this.playMatch(new SplittableRandomNumberGenerator(seed)));
+      }
+    }
+
+    try (ReplayArchive archive = new ReplayArchive(directory, 4096)) {
+      assertEquals(20, archive.size());
+      for (int id = 0; id < 20; id++) {
+        assertEquals(id, archive.replay(id).getSeed());
+        assertEquals(results.get(id), this.playMatch(archive.replay(id)));
+      }
+      assertEquals(20, archive.append(this.recordMatch(20)));
+    }
+  }
+
+  /**
+   * Testing that logs appended from several threads at once are all
+   * kept whole under their match ids, and scanned in order.
+   */
+  @Test
+  public void testConcurrentAppends() throws Exception {
+    Path directory = this.folder.newFolder("concurrent").toPath();
+    ConcurrentHashMap<Long, Integer> appended = new ConcurrentHashMap<>();
+    ExecutorService workers = Executors.newFixedThreadPool(4);
+    try (ReplayArchive archive = new ReplayArchive(directory, 1024)) {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int w = 0; w < 4; w++) {
+        int worker = w;
+        tasks.add(workers.submit(() -> {
+          for (int i = 0; i < 250; i++) {
+            int tag = worker * 1000 + i;
+            ByteBuffer log = ByteBuffer.allocate(4 + (tag % 97) * 4);
+            while (log.hasRemaining()) {
+              log.putInt(tag);
+            }
+            log.flip();
+            appended.put(archive.append(log), tag);
+          }
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+
+      assertEquals(1000, archive.size());
+      long[] visited = new long[1];
+      archive.forEach((log, id) -> {
+        assertEquals(visited[0]++, id);
+        int tag = appended.get(id);
+        assertEquals(4 + (tag % 97) * 4, log.remaining());
+        while (log.hasRemaining()) {
+          assertEquals(tag, log.getInt());
+        }
+      });
+      assertEquals(1000, visited[0]);
+    } finally {
+      workers.shutdown();
+    }
+  }
+
+  /**
+   * Testing if an archive can be opened with another segment size than
+   * it was created with.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testReopenWithOtherSegmentSize() throws Exception {
+    Path directory = this.folder.newFolder("resized").toPath();
+    try (ReplayArchive archive = new ReplayArchive(directory, 4096)) {
+      archive.append(this.recordMatch(1));
+    }
+    new ReplayArchive(directory, 1024);
+  }
+
+  /**
+   * Testing if a log larger than a segment can be appended.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testAppendTooLarge() throws Exception {
+    try (ReplayArchive archive = new ReplayArchive(
+        this.folder.newFolder("large").toPath(), 64)) {
+      archive.append(ByteBuffer.allocate(65));
+    }
+  }
+
+  /**
+   * Testing if a match that was never appended can be read.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetUnknownMatch() throws Exception {
+    try (ReplayArchive archive = new ReplayArchive(
+        this.folder.newFolder("empty").toPath(), 64)) {
+      archive.get(0);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import battle.BattleModel;
+import battle.RandomNumberGenerator;
+import battle.RecordingRandomNumberGenerator;
+import battle.ReplayRandomNumberGenerator;
+import battle.SplittableRandomNumberGenerator;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * A JUnit test case of the RecordingRandomNumberGenerator and
+ * ReplayRandomNumberGenerator classes.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class ReplayRandomNumberGeneratorTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Play a whole match and keep the details of every turn.
+   *
+   * @param rand random number generator of the match
+   * @return details of the match
+   */
+  private List<String> playMatch(RandomNumberGenerator rand) {
+    BattleModel battle = new BattleModel(rand);
+    battle.callPlayers(1, 2);
+    battle.preparePlayers();
+    List<String> details = new ArrayList<>();
+    details.add(battle.getPlayersDescription());
+    battle.startGame();
+    while (battle.getWinner().isEmpty()) {
+      battle.playTurn();
+      details.add(battle.getTurnDetails());
+    }
+    details.add(battle.getFinalResult());
+    return details;
+  }
+
+  /**
+   * Testing that a match recorded to a file is played again exactly from
+   * the replay log.
+   */
+  @Test
+  public void testReplayFromFile() throws Exception {
+    Path log = this.folder.newFile("match.replay").toPath();
+    List<String> recorded;
+    try (RecordingRandomNumberGenerator recorder =
+        new RecordingRandomNumberGenerator(log, 42L)) {
+      recorded = this.playMatch(recorder);
+    }
+
+    try (ReplayRandomNumberGenerator replay = new ReplayRandomNumberGenerator(log)) {
+      assertEquals(42L, replay.getSeed());
+      assertEquals(recorded, this.playMatch(replay));
+      assertTrue(replay.isExhausted());
+    }
+    assertEquals(this.playMatch(new SplittableRandomNumberGenerator(42L)), recorded);
+  }
+
+  /**
+   * Testing that every kind of call is replayed from a log held in memory,
+   * with most numbers taking a single byte.
+   */
+  @Test
+  public void testReplayFromBuffer() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    RecordingRandomNumberGenerator recorder = new RecordingRandomNumberGenerator(
+        new SplittableRandomNumberGenerator(7L), -7L, Channels.newChannel(out));
+    int number = recorder.getRandomNumber(-100, 100);
+    List<Integer> unique = recorder.getUniqueRandomNumbersList(20, 0, 80);
+    List<Integer> repeated = recorder.getRepeatedRandomNumbersList(5, 0, 3);
+    int[] uniqueArray = recorder.getUniqueRandomNumbers(20, 0, 60);
+    int[] filled = new int[1000];
+    recorder.fillRandom(filled, 0, 3);
+    recorder.close();
+    assertTrue(out.size() < 1100);
+
+    ReplayRandomNumberGenerator replay = new ReplayRandomNumberGenerator(
+        ByteBuffer.wrap(out.toByteArray()));
+    assertEquals(-7L, replay.getSeed());
+    assertEquals(number, replay.getRandomNumber(-100, 100));
+    assertEquals(unique, replay.getUniqueRandomNumbersList(20, 0, 80));
+    assertEquals(repeated, replay.getRepeatedRandomNumbersList(5, 0, 3));
+    assertArrayEquals(uniqueArray, replay.getUniqueRandomNumbers(20, 0, 60));
+    int[] refilled = new int[1000];
+    replay.fillRandom(refilled, 0, 3);
+    assertArrayEquals(filled, refilled);
+    assertTrue(replay.isExhausted());
+  }
+
+  /**
+   * Testing if a replay can go on after the match diverged from the log.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testReplayDiverged() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    RecordingRandomNumberGenerator recorder = new RecordingRandomNumberGenerator(
+        new SplittableRandomNumberGenerator(7L), 7L, Channels.newChannel(out));
+    recorder.getRandomNumber(0, 10);
+    recorder.close();
+
+    ReplayRandomNumberGenerator replay = new ReplayRandomNumberGenerator(
+        ByteBuffer.wrap(out.toByteArray()));
+    replay.fillRandom(new int[1], 0, 10);
+  }
+
+  /**
+   * Testing if a file that is not a replay log can be replayed.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testReplayNotALog() throws Exception {
+    Path file = this.folder.newFile("notes.txt").toPath();
+    Files.writeString(file, "Round 1");
+    new ReplayRandomNumberGenerator(file);
+  }
+}
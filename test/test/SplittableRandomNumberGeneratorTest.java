@@ -0,0 +1,170 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import battle.RandomNumberGenerator;
+import battle.SplittableRandomNumberGenerator;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the SplittableRandomNumberGenerator class.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class SplittableRandomNumberGeneratorTest {
+
+  /**
+   * Testing that the random numbers stay within the lower (inclusive)
+   * and upper (exclusive) bounds.
+   */
+  @Test
+  public void testRandomNumberBounds() {
+    SplittableRandomNumberGenerator rand = new SplittableRandomNumberGenerator(1L);
+    for (int i = 0; i < 1000; i++) {
+      int number = rand.getRandomNumber(1, 6);
+      assertTrue(number >= 1 && number < 6);
+    }
+  }
+
+  /**
+   * Testing that two generators with the same seed produce the same
+   * numbers.
+   */
+  @Test
+  public void testSameSeedSameNumbers() {
+    SplittableRandomNumberGenerator first = new SplittableRandomNumberGenerator(5L);
+    SplittableRandomNumberGenerator second = new SplittableRandomNumberGenerator(5L);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.getRandomNumber(0, 100), second.getRandomNumber(0, 100));
+    }
+  }
+
+  /**
+   * Testing that splitting is reproducible from the seed of the parent
+   * generator.
+   */
+  @Test
+  public void testSplitReproducible() {
+    SplittableRandomNumberGenerator first = new SplittableRandomNumberGenerator(9L)
+        .split();
+    SplittableRandomNumberGenerator second = new SplittableRandomNumberGenerator(9L)
+        .split();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.getRandomNumber(0, 100), second.getRandomNumber(0, 100));
+    }
+  }
+
+  /**
+   * Testing that the unique random numbers list has no repeated numbers.
+   */
+  @Test
+  public void testUniqueRandomNumbersList() {
+    SplittableRandomNumberGenerator rand = new SplittableRandomNumberGenerator(3L);
+    List<Integer> numbers = rand.getUniqueRandomNumbersList(20, 0, 40);
+
+    assertEquals(20, numbers.size());
+    assertEquals(20, new HashSet<>(numbers).size());
+  }
+
+  /**
+   * Testing that drawing the whole range without repetition gives every
+   * number of the range exactly once.
+   */
+  @Test
+  public void testUniqueRandomNumbersWholeRange() {
+    SplittableRandomNumberGenerator rand = new SplittableRandomNumberGenerator(4L);
+    int[] numbers = rand.getUniqueRandomNumbers(50, 10, 60);
+
+    Arrays.sort(numbers);
+    for (int i = 0; i < numbers.length; i++) {
+      assertEquals(10 + i, numbers[i]);
+    }
+  }
+
+  /**
+   * Testing if more unique numbers than the range holds can be drawn.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testUniqueRandomNumbersTooMany() {
+    new SplittableRandomNumberGenerator(4L).getUniqueRandomNumbers(11, 0, 10);
+  }
+
+  /**
+   * Testing that filling an array keeps every number within the bounds.
+   */
+  @Test
+  public void testFillRandom() {
+    SplittableRandomNumberGenerator rand = new SplittableRandomNumberGenerator(6L);
+    int[] numbers = new int[500];
+    rand.fillRandom(numbers, 0, 3);
+
+    for (int number : numbers) {
+      assertTrue(number >= 0 && number < 3);
+    }
+  }
+
+  /**
+   * Build a generator with only the methods that have no default,
+   * drawing from a generator of a seed.
+   *
+   * @param seed seed of the generator
+   * @return generator using the default methods
+   */
+  private RandomNumberGenerator withDefaults(long seed) {
+    SplittableRandomNumberGenerator rand = new SplittableRandomNumberGenerator(seed);
+    return new RandomNumberGenerator() {
+      @Override
+      public int getRandomNumber(int lowerBound, int upperBound) {
+        return rand.getRandomNumber(lowerBound, upperBound);
+      }
+
+      @Override
+      public List<Integer> getUniqueRandomNumbersList(int length, int lowerBound,
+          int upperBound) {
+        return rand.getUniqueRandomNumbersList(length, lowerBound, upperBound);
+      }
+
+      @Override
+      public List<Integer> getRepeatedRandomNumbersList(int length, int lowerBound,
+          int upperBound) {
+        return rand.getRepeatedRandomNumbersList(length, lowerBound, upperBound);
+      }
+    };
+  }
+
+  /**
+   * Testing that a generator without the array methods draws the same
+   * numbers through their defaults as through the list methods.
+   */
+  @Test
+  public void testDefaultArrayMethods() {
+    List<Integer> unique = new SplittableRandomNumberGenerator(7L)
+        .getUniqueRandomNumbersList(20, 0, 40);
+    int[] numbers = this.withDefaults(7L).getUniqueRandomNumbers(20, 0, 40);
+    for (int i = 0; i < numbers.length; i++) {
+      assertEquals((int) unique.get(i), numbers[i]);
+    }
+
+    List<Integer> repeated = new SplittableRandomNumberGenerator(8L)
+        .getRepeatedRandomNumbersList(50, 0, 6);
+    numbers = new int[50];
+    this.withDefaults(8L).fillRandom(numbers, 0, 6);
+    for (int i = 0; i < numbers.length; i++) {
+      assertEquals((int) repeated.get(i), numbers[i]);
+    }
+  }
+
+  /**
+   * Testing if the default array method draws more unique numbers than
+   * the range holds.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testDefaultUniqueRandomNumbersTooMany() {
+    this.withDefaults(4L).getUniqueRandomNumbers(11, 0, 10);
+  }
+}
@@ -0,0 +1,176 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import battle.ArenaConfig;
+import battle.Players;
+import battle.SplittableRandomNumberGenerator;
+import battle.TeamBattleModel;
+import battle.TurnEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * A JUnit test case of the TeamBattleModel and ArenaConfig classes.
+ *
+ * @author Ashwini Shaktivel Kumar
+ *
+ */
+public class TeamBattleModelTest {
+
+  /**
+   * Set up a battle ready to play its first turn.
+   *
+   * @param config arena setup
+   * @param seed seed of the random number generator
+   * @return started battle
+   */
+  private TeamBattleModel startBattle(ArenaConfig config, long seed) {
+    TeamBattleModel battle = new TeamBattleModel(config,
+        new SplittableRandomNumberGenerator(seed));
+    int[] ids = new int[config.getNumberOfPlayers()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = i + 1;
+    }
+    battle.callPlayers(ids);
+    battle.preparePlayers();
+    battle.startGame();
+    return battle;
+  }
+
+  /**
+   * Testing the arena setup of a free-for-all and a team battle.
+   */
+  @Test
+  public void testArenaConfig() {
+    ArenaConfig freeForAll = new ArenaConfig(7);
+    assertTrue(freeForAll.isFreeForAll());
+    assertEquals(4, freeForAll.getEquipmentBagScale());
+    assertEquals(7, freeForAll.getArmoryScale());
+
+    ArenaConfig teams = new ArenaConfig(7, 3);
+    assertFalse(teams.isFreeForAll());
+    assertEquals(0, teams.getTeam(0));
+    assertEquals(1, teams.getTeam(4));
+    assertEquals(0, teams.getTeam(6));
+  }
+
+  /**
+   * Testing if an arena can be set up with more teams than players.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidArenaConfig() {
+    new ArenaConfig(3, 4);
+  }
+
+  /**
+   * Testing if a different number of players than the setup can be
+   * called to the arena.
+   */
+  @Test (expected = IllegalArgumentException.class)
+  public void testCallWrongNumberOfPlayers() {
+    TeamBattleModel battle = new TeamBattleModel(new ArenaConfig(4),
+        new SplittableRandomNumberGenerator(1L));
+    battle.callPlayers(1, 2, 3);
+  }
+
+  /**
+   * Testing if a turn can be played before the battle starts.
+   */
+  @Test (expected = IllegalStateException.class)
+  public void testPlayTurnBeforeStart() {
+    TeamBattleModel battle = new TeamBattleModel(new ArenaConfig(4),
+        new SplittableRandomNumberGenerator(1L));
+    battle.callPlayers(1, 2, 3, 4);
+    battle.playTurn();
+  }
+
+  /**
+   * Testing a free-for-all battle of 200 players until it is over. The
+   * winners are the players standing, a single one unless it is a draw.
+   */
+  @Test
+  public void testFreeForAll() {
+    TeamBattleModel battle = this.startBattle(new ArenaConfig(200), 11L);
+    while (!battle.isGameOver()) {
+      battle.playTurn();
+    }
+
+    List<Players> winner = battle.getWinner();
+    assertEquals(battle.getLivingPlayers(), winner.size());
+    if (!battle.isDraw()) {
+      assertEquals(1, winner.size());
+    }
+    for (Players p : winner) {
+      assertTrue(p.getCurrentHealth() > 0);
+    }
+  }
+
+  /**
+   * Testing that in a team battle the players never strike their own
+   * team, and that the winners all belong to the same team.
+   */
+  @Test
+  public void testTeamBattle() {
+    ArenaConfig config = new ArenaConfig(60, 3);
+    TeamBattleModel battle = this.startBattle(config, 5L);
+    List<TurnEvent> events = new ArrayList<>();
+    battle.addTurnListener(events::add);
+    while (!battle.isGameOver()) {
+      battle.playTurn();
+    }
+
+    for (TurnEvent e : events) {
+      assertTrue(config.getTeam(e.getAttackerIndex())
+          != config.getTeam(e.getDefenderIndex()));
+    }
+    if (!battle.isDraw()) {
+      int team = battle.getPlayers().indexOf(battle.getWinner().get(0))
+          % config.getNumberOfTeams();
+      for (Players p : battle.getWinner()) {
+        assertEquals(team, battle.getPlayers().indexOf(p) % config.getNumberOfTeams());
+      }
+    }
+  }
+
+  /**
+   * Testing that the players get the same weapons for the same seed.
+   */
+  @Test
+  public void testReproducibleWeapons() {
+    ArenaConfig config = new ArenaConfig(40, 4);
+    List<Players> first = this.startBattle(config, 8L).getPlayers();
+    List<Players> second = this.startBattle(config, 8L).getPlayers();
+    for (int i = 0; i < first.size(); i++) {
+      assertEquals(first.get(i).getWeaponIdUsed(), second.get(i).getWeaponIdUsed());
+    }
+  }
+
+  /**
+   * Testing that every player attacks once in the first round, players
+   * with greater charisma first.
+   */
+  @Test
+  public void testTurnOrderByCharisma() {
+    TeamBattleModel battle = this.startBattle(new ArenaConfig(50), 3L);
+    List<TurnEvent> events = new ArrayList<>();
+    battle.addTurnListener(events::add);
+    for (int i = 0; i < 50 && !battle.isGameOver(); i++) {
+      battle.playTurn();
+    }
+
+    List<Players> players = battle.getPlayers();
+    int previousCharisma = Integer.MAX_VALUE;
+    List<Integer> attackers = new ArrayList<>();
+    for (TurnEvent e : events) {
+      assertFalse(attackers.contains(e.getAttackerIndex()));
+      attackers.add(e.getAttackerIndex());
+      int charisma = players.get(e.getAttackerIndex()).getCharisma();
+      assertTrue(charisma <= previousCharisma);
+      previousCharisma = charisma;
+    }
+  }
+}
@@ -14,6 +14,7 @@ import battle.Players;
 import battle.RandomNumberGenerator;
 import battle.RandomNumberGeneratorTest;
 import battle.TwoHandedSwords;
+import battle.WeaponKind;
 import battle.Weapons;
 import java.util.Arrays;
 import org.junit.Before;
@@ -391,4 +392,38 @@ public class WeaponsTest {
                      .contains(ths.getStrikePower(p1)));
     assertEquals(8, p1.getStrength());
   }
+  
+  /**
+   * Test that every weapon reports its kind.
+   */
+  @Test
+  public void testWeaponKinds() {
+    assertEquals(WeaponKind.AXE, axe.getWeaponKind());
+    assertEquals(WeaponKind.BROAD_SWORD, bs.getWeaponKind());
+    assertEquals(WeaponKind.KATANA, katana.getWeaponKind());
+    assertEquals(WeaponKind.FLAIL, flail.getWeaponKind());
+    assertEquals(WeaponKind.TWO_HANDED_SWORD, ths.getWeaponKind());
+  }
+  
+  /**
+   * Test that the damage range of every weapon kind matches the strike 
+   * power of its weapons, which draw 1 with the test generator.
+   */
+  @Test
+  public void testWeaponKindDamage() {
+    Players p1 = new BattlePlayer(1, new RandomNumberGeneratorTest(2));
+    assertEquals(8, p1.getStrength());
+    assertEquals(8, p1.getDexterity());
+    
+    for (Weapons w : Arrays.asList(axe, bs, katana, flail, ths)) {
+      WeaponKind kind = w.getWeaponKind();
+      boolean full = kind.canWieldFully(p1.getStrength(), p1.getDexterity());
+      assertEquals(kind.getMinimumDamage(full) + 1, w.getStrikePower(p1));
+    }
+    assertTrue(WeaponKind.FLAIL.canWieldFully(8, 15));
+    assertFalse(WeaponKind.FLAIL.canWieldFully(15, 14));
+    assertTrue(WeaponKind.TWO_HANDED_SWORD.canWieldFully(15, 8));
+    assertEquals(4, WeaponKind.TWO_HANDED_SWORD.getDamageSpan(true));
+    assertEquals(2, WeaponKind.TWO_HANDED_SWORD.getDamageSpan(false));
+  }
 }